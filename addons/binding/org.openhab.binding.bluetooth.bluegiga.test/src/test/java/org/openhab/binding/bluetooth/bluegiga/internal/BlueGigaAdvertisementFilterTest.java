@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+
+public class BlueGigaAdvertisementFilterTest {
+
+    private static final int CONNECTABLE_ADVERTISEMENT = 0x00;
+    private static final int SCAN_RESPONSE = 0x04;
+
+    private final BlueGigaAdvertisementFilter filter = new BlueGigaAdvertisementFilter(1000);
+
+    private BlueGigaScanResponseEvent scanResponse(int address, int packetType, int... data) {
+        int[] frame = new int[15 + data.length];
+        frame[0] = 0x80;
+        frame[1] = 11 + data.length;
+        frame[2] = 0x06;
+        frame[3] = 0x00;
+        frame[4] = 0xC0;
+        frame[5] = packetType;
+        frame[6] = address;
+        frame[14] = data.length;
+        System.arraycopy(data, 0, frame, 15, data.length);
+        return new BlueGigaScanResponseEvent(frame);
+    }
+
+    private long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void testRepeatIsDropped() {
+        assertTrue(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(0)));
+        assertFalse(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(100)));
+        assertFalse(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(999)));
+
+        // The window starts with the last accepted advertisement
+        assertTrue(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(1000)));
+        assertFalse(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(1500)));
+    }
+
+    @Test
+    public void testChangedDataIsAccepted() {
+        assertTrue(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(0)));
+        assertTrue(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x05), millis(100)));
+        assertFalse(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x05), millis(200)));
+    }
+
+    @Test
+    public void testDevicesAndPacketTypesAreSeparate() {
+        assertTrue(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(0)));
+        assertTrue(filter.accept(scanResponse(2, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(0)));
+        assertTrue(filter.accept(scanResponse(1, SCAN_RESPONSE, 0x02, 0x01, 0x06), millis(0)));
+        assertFalse(filter.accept(scanResponse(1, SCAN_RESPONSE, 0x02, 0x01, 0x06), millis(100)));
+    }
+
+    @Test
+    public void testNoWindow() {
+        BlueGigaAdvertisementFilter filter = new BlueGigaAdvertisementFilter(0);
+        assertTrue(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(0)));
+        assertTrue(filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), millis(0)));
+    }
+
+    @Test
+    public void testStatistics() {
+        long start = System.nanoTime();
+        for (int i = 0; i < 600; i++) {
+            filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), start + millis(i * 100));
+        }
+        filter.accept(scanResponse(1, CONNECTABLE_ADVERTISEMENT, 0x02, 0x01, 0x06), start + millis(60000));
+
+        assertEquals(10, filter.getAdvertisementRate(), 0.1);
+        assertEquals(0.9, filter.getDropRatio(), 0.01);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class BlueGigaFrameDecoderTest {
+
+    private static final int[] DISCONNECTED_EVENT = { 0x80, 0x03, 0x03, 0x04, 0x01, 0x00, 0x00 };
+    private static final int[] HELLO_RESPONSE = { 0x00, 0x00, 0x00, 0x01 };
+
+    private final BlueGigaFrameDecoder decoder = new BlueGigaFrameDecoder();
+    private final List<int[]> frames = new ArrayList<>();
+
+    private void decode(int... data) {
+        ByteBuffer buffer = ByteBuffer.allocate(data.length);
+        for (int b : data) {
+            buffer.put((byte) b);
+        }
+        buffer.flip();
+        decoder.decode(buffer, frames::add);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testMultipleFramesInOneBlock() {
+        decode(0x80, 0x03, 0x03, 0x04, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x01);
+
+        assertEquals(2, frames.size());
+        assertArrayEquals(DISCONNECTED_EVENT, frames.get(0));
+        assertArrayEquals(HELLO_RESPONSE, frames.get(1));
+    }
+
+    @Test
+    public void testFrameSplitOverBlocks() {
+        for (int b : DISCONNECTED_EVENT) {
+            assertTrue(frames.isEmpty());
+            decode(b);
+        }
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(DISCONNECTED_EVENT, frames.get(0));
+    }
+
+    @Test
+    public void testResynchronisation() {
+        // Invalid technology type, length too large, class ID too large
+        decode(0x40, 0x80, 0xC0, 0x00, 0x01, 0xFF);
+        decode(DISCONNECTED_EVENT);
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(DISCONNECTED_EVENT, frames.get(0));
+        assertEquals(3, decoder.getFramingErrors());
+    }
+
+    @Test
+    public void testReset() {
+        decode(0x80, 0x03, 0x03);
+        decoder.reset();
+        decode(HELLO_RESPONSE);
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(HELLO_RESPONSE, frames.get(0));
+    }
+}
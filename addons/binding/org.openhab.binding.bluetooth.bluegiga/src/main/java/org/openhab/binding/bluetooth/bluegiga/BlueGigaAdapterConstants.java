@@ -31,4 +31,7 @@ public class BlueGigaAdapterConstants {
     public static final String PROPERTY_LINKLAYER = "linklayer";
     public static final String PROPERTY_PROTOCOL = "protocol";
     public static final String PROPERTY_DISCOVERY = "discovery";
+    public static final String CONFIGURATION_ADVERTISEMENT_FILTER_WINDOW = "advertisementFilterWindow";
+
+    public static final long DEFAULT_ADVERTISEMENT_FILTER_WINDOW = 1000;
 }
@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.bluetooth.bluegiga;
 
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.openhab.binding.bluetooth.BluetoothAddress;
@@ -56,6 +59,10 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
     // Used to correlate the scans so we get as much information as possible before calling the device "discovered"
     private final Set<ScanResponseType> scanResponses = new HashSet<ScanResponseType>();
 
+    // The last data and manufacturer data of each scan response type, to only process changed data
+    private final Map<ScanResponseType, int[]> scanData = new EnumMap<>(ScanResponseType.class);
+    private final Map<ScanResponseType, byte[]> scanManufacturerData = new EnumMap<>(ScanResponseType.class);
+
     // The dongle handler
     private final BlueGigaBridgeHandler bgHandler;
 
@@ -169,13 +176,65 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
         return true;
     }
 
+    /**
+     * Process the EIR data of a scan response and add anything relevant to the device.
+     *
+     * @param data the EIR data of the scan response
+     * @return the manufacturer specific data or null
+     */
+    private byte[] processEirData(int[] data) {
+        byte[] manufacturerData = null;
+        if (data != null) {
+            EirPacket eir = new EirPacket(data);
+            for (EirDataType record : eir.getRecords().keySet()) {
+                switch (record) {
+                    case EIR_FLAGS:
+                        break;
+                    case EIR_MANUFACTURER_SPECIFIC:
+                        manufacturerData = (byte[]) eir.getRecord(EirDataType.EIR_MANUFACTURER_SPECIFIC);
+                        if (manufacturerData.length > 2) {
+                            int id = manufacturerData[0] + (manufacturerData[1] << 8);
+                            manufacturer = id;
+                        }
+                        break;
+                    case EIR_NAME_LONG:
+                    case EIR_NAME_SHORT:
+                        name = (String) eir.getRecord(record);
+                        break;
+                    case EIR_SLAVEINTERVALRANGE:
+                        break;
+                    case EIR_SVC_DATA_UUID128:
+                        break;
+                    case EIR_SVC_DATA_UUID16:
+                        break;
+                    case EIR_SVC_DATA_UUID32:
+                        break;
+                    case EIR_SVC_UUID128_INCOMPLETE:
+                    case EIR_SVC_UUID16_COMPLETE:
+                    case EIR_SVC_UUID16_INCOMPLETE:
+                    case EIR_SVC_UUID32_COMPLETE:
+                    case EIR_SVC_UUID32_INCOMPLETE:
+                    case EIR_SVC_UUID128_COMPLETE:
+                        // addServices((List<UUID>) eir.getRecord(record));
+                        break;
+                    case EIR_TXPOWER:
+                        txPower = (int) eir.getRecord(EirDataType.EIR_TXPOWER);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return manufacturerData;
+    }
+
     @Override
     public void bluegigaEventReceived(BlueGigaResponse event) {
         if (event instanceof BlueGigaScanResponseEvent) {
             BlueGigaScanResponseEvent scanEvent = (BlueGigaScanResponseEvent) event;
 
             // Check if this is addressed to this device
-            if (!address.equals(new BluetoothAddress(scanEvent.getSender()))) {
+            if (!address.toString().equals(scanEvent.getSender())) {
                 return;
             }
 
@@ -183,49 +242,17 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
             rssi = scanEvent.getRssi();
             addressType = scanEvent.getAddressType();
 
-            byte[] manufacturerData = null;
-
-            // If the packet contains data, then process it and add anything relevant to the device...
-            if (scanEvent.getData() != null) {
-                EirPacket eir = new EirPacket(scanEvent.getData());
-                for (EirDataType record : eir.getRecords().keySet()) {
-                    switch (record) {
-                        case EIR_FLAGS:
-                            break;
-                        case EIR_MANUFACTURER_SPECIFIC:
-                            manufacturerData = (byte[]) eir.getRecord(EirDataType.EIR_MANUFACTURER_SPECIFIC);
-                            if (manufacturerData.length > 2) {
-                                int id = manufacturerData[0] + (manufacturerData[1] << 8);
-                                manufacturer = id;
-                            }
-                            break;
-                        case EIR_NAME_LONG:
-                        case EIR_NAME_SHORT:
-                            name = (String) eir.getRecord(record);
-                            break;
-                        case EIR_SLAVEINTERVALRANGE:
-                            break;
-                        case EIR_SVC_DATA_UUID128:
-                            break;
-                        case EIR_SVC_DATA_UUID16:
-                            break;
-                        case EIR_SVC_DATA_UUID32:
-                            break;
-                        case EIR_SVC_UUID128_INCOMPLETE:
-                        case EIR_SVC_UUID16_COMPLETE:
-                        case EIR_SVC_UUID16_INCOMPLETE:
-                        case EIR_SVC_UUID32_COMPLETE:
-                        case EIR_SVC_UUID32_INCOMPLETE:
-                        case EIR_SVC_UUID128_COMPLETE:
-                            // addServices((List<UUID>) eir.getRecord(record));
-                            break;
-                        case EIR_TXPOWER:
-                            txPower = (int) eir.getRecord(EirDataType.EIR_TXPOWER);
-                            break;
-                        default:
-                            break;
-                    }
-                }
+            // If the packet contains data, then process it and add anything relevant to the device.
+            // Devices repeat their packets, so the data is only processed if it has changed.
+            byte[] manufacturerData;
+            int[] data = scanEvent.getData();
+            ScanResponseType packetType = scanEvent.getPacketType();
+            if (scanData.containsKey(packetType) && Arrays.equals(scanData.get(packetType), data)) {
+                manufacturerData = scanManufacturerData.get(packetType);
+            } else {
+                manufacturerData = processEirData(data);
+                scanData.put(packetType, data);
+                scanManufacturerData.put(packetType, manufacturerData);
             }
 
             if (connectionState == ConnectionState.DISCOVERING) {
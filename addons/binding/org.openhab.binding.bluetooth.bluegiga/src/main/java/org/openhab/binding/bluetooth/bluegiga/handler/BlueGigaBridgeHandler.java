@@ -45,6 +45,7 @@ import org.openhab.binding.bluetooth.BluetoothDeviceListener;
 import org.openhab.binding.bluetooth.BluetoothDiscoveryListener;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaAdapterConstants;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaBluetoothDevice;
+import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaAdvertisementFilter;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaCommand;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaEventListener;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaHandlerListener;
@@ -177,6 +178,12 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
             logger.debug("Deactivated discovery participation.");
         }
 
+        long advertisementFilterWindow = BlueGigaAdapterConstants.DEFAULT_ADVERTISEMENT_FILTER_WINDOW;
+        Object window = getConfig().get(BlueGigaAdapterConstants.CONFIGURATION_ADVERTISEMENT_FILTER_WINDOW);
+        if (window instanceof Number) {
+            advertisementFilterWindow = ((Number) window).longValue();
+        }
+
         final String portId = (String) getConfig().get(BlueGigaAdapterConstants.CONFIGURATION_PORT);
 
         if (portId == null) {
@@ -185,6 +192,7 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         }
         if (openSerialPort(portId, 115200)) {
             BlueGigaSerialHandler bgh = new BlueGigaSerialHandler(inputStream, outputStream);
+            bgh.setAdvertisementFilter(new BlueGigaAdvertisementFilter(advertisementFilterWindow));
             // Create and send the reset command to the dongle
             bgh.addEventListener(this);
             bgh.addHandlerListener(this);
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link BlueGigaAdvertisementFilter} drops advertisements which repeat the last advertisement of the same device
+ * and packet type within a time window. Beacons send the same advertisement many times per second, the repeats don't
+ * need to be dispatched to the devices.
+ * <p>
+ * The filter also measures the rate of advertisements and the ratio of dropped repeats. These are logged periodically.
+ * <p>
+ * The filter is not thread safe, it is used by the parser thread of the {@link BlueGigaSerialHandler}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class BlueGigaAdvertisementFilter {
+
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(BlueGigaAdvertisementFilter.class);
+
+    private final long window;
+
+    /**
+     * The last accepted advertisement of each device, indexed by the packet type
+     */
+    private final Map<String, Advertisement[]> advertisements = new HashMap<>();
+
+    private long statisticsStart;
+    private long received = 0;
+    private long dropped = 0;
+    private volatile double advertisementRate = 0;
+    private volatile double dropRatio = 0;
+
+    private static class Advertisement {
+        int dataHash;
+        int[] data;
+        long time;
+    }
+
+    /**
+     * Creates a filter.
+     *
+     * @param window the time window in milliseconds. Repeated advertisements are not dropped if this is 0.
+     */
+    public BlueGigaAdvertisementFilter(long window) {
+        this.window = TimeUnit.MILLISECONDS.toNanos(window);
+        this.statisticsStart = System.nanoTime();
+    }
+
+    /**
+     * Check if an advertisement should be dispatched.
+     *
+     * @param event the received advertisement
+     * @return false if the advertisement repeats the last advertisement of the device within the time window
+     */
+    public boolean accept(BlueGigaScanResponseEvent event) {
+        return accept(event, System.nanoTime());
+    }
+
+    boolean accept(BlueGigaScanResponseEvent event, long now) {
+        updateStatistics(now);
+        received++;
+
+        int[] data = event.getData();
+        int dataHash = Arrays.hashCode(data);
+        Advertisement[] deviceAdvertisements = advertisements.computeIfAbsent(event.getSender(),
+                sender -> new Advertisement[ScanResponseType.values().length]);
+        int index = event.getPacketType().ordinal();
+        Advertisement last = deviceAdvertisements[index];
+        if (last == null) {
+            last = new Advertisement();
+            deviceAdvertisements[index] = last;
+        } else if (now - last.time < window && last.dataHash == dataHash && Arrays.equals(last.data, data)) {
+            dropped++;
+            return false;
+        }
+
+        last.dataHash = dataHash;
+        last.data = data;
+        last.time = now;
+        return true;
+    }
+
+    private void updateStatistics(long now) {
+        long elapsed = now - statisticsStart;
+        if (elapsed < STATISTICS_INTERVAL) {
+            return;
+        }
+
+        advertisementRate = received * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        dropRatio = received == 0 ? 0 : (double) dropped / received;
+        logger.debug("BlueGiga received {} advertisements/s from {} devices, {}% dropped as repeats",
+                String.format("%.1f", advertisementRate), advertisements.size(),
+                String.format("%.1f", dropRatio * 100));
+
+        // Forget the devices which were not heard during the interval
+        advertisements.values().removeIf(deviceAdvertisements -> Arrays.stream(deviceAdvertisements)
+                .allMatch(advertisement -> advertisement == null || advertisement.time < statisticsStart));
+
+        statisticsStart = now;
+        received = 0;
+        dropped = 0;
+    }
+
+    /**
+     * Return the rate of received advertisements during the last statistics interval.
+     *
+     * @return the advertisements per second
+     */
+    public double getAdvertisementRate() {
+        return advertisementRate;
+    }
+
+    /**
+     * Return the ratio of advertisements dropped as repeats during the last statistics interval.
+     *
+     * @return the ratio between 0 and 1
+     */
+    public double getDropRatio() {
+        return dropRatio;
+    }
+}
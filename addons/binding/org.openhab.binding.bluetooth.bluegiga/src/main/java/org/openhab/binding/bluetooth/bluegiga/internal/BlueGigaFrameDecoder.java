@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the serial byte stream of a BlueGiga dongle into BGAPI frames. The bytes are decoded in blocks as they are
+ * read from the serial port, a frame may be split over several blocks.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class BlueGigaFrameDecoder {
+
+    /**
+     * The header is 4 bytes, the payload length is checked to be less than 64 bytes
+     */
+    static final int MAX_FRAME_LENGTH = 4 + 63;
+
+    /**
+     * The BGAPI protocol has no packet framing, and no error detection, so we do a few sanity checks on the header
+     * to try and allow resyncronisation should there be an error.
+     * Byte 0: Check technology type is bluetooth and high length is 0
+     * Byte 1: Check length is less than 64 bytes
+     * Byte 2: Check class ID is less than 8
+     * Byte 3: Check command ID is less than 32
+     */
+    private static final int[] FRAME_CHECK = new int[] { 0x7F, 0xC0, 0xF8, 0xE0 };
+
+    private final Logger logger = LoggerFactory.getLogger(BlueGigaFrameDecoder.class);
+
+    private final int[] frame = new int[MAX_FRAME_LENGTH];
+    private int frameCount = 0;
+    private int frameLength = 0;
+    private long framingErrors = 0;
+
+    /**
+     * Decodes all remaining bytes of the buffer. The bytes of an incomplete frame are kept until the next call.
+     *
+     * @param buffer the received bytes
+     * @param frameConsumer is called with each complete frame. The array has the length of the frame.
+     */
+    void decode(ByteBuffer buffer, Consumer<int[]> frameConsumer) {
+        while (buffer.hasRemaining()) {
+            if (frameCount < 4) {
+                int val = buffer.get() & 0xFF;
+                if ((val & FRAME_CHECK[frameCount]) != 0) {
+                    logger.debug("BlueGiga framing error byte {} = {}", frameCount, val);
+                    framingErrors++;
+                    frameCount = 0;
+                    continue;
+                }
+                frame[frameCount++] = val;
+                if (frameCount == 4) {
+                    // Process the header to get the length
+                    frameLength = frame[1] + 4;
+                }
+            } else {
+                // Copy as much of the payload as available
+                int count = Math.min(buffer.remaining(), frameLength - frameCount);
+                for (int i = 0; i < count; i++) {
+                    frame[frameCount++] = buffer.get() & 0xFF;
+                }
+            }
+
+            if (frameCount >= 4 && frameCount == frameLength) {
+                // End of packet reached - process
+                frameCount = 0;
+                frameConsumer.accept(Arrays.copyOf(frame, frameLength));
+            }
+        }
+    }
+
+    /**
+     * Discard the bytes of an incomplete frame.
+     */
+    void reset() {
+        frameCount = 0;
+    }
+
+    /**
+     * Return the number of bytes discarded because of framing errors.
+     */
+    long getFramingErrors() {
+        return framingErrors;
+    }
+}
@@ -15,12 +15,15 @@ package org.openhab.binding.bluetooth.bluegiga.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -31,6 +34,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,8 +47,10 @@ import org.slf4j.LoggerFactory;
  */
 public class BlueGigaSerialHandler {
 
-    private static final int BLE_MAX_LENGTH = 64;
     private static final int TRANSACTION_TIMEOUT_PERIOD = 50;
+    private static final int READ_BUFFER_SIZE = 256;
+    private static final int EMPTY_READ_DELAY = 10;
+    private static final int EVENT_QUEUE_SIZE = 1024;
 
     private final Logger logger = LoggerFactory.getLogger(BlueGigaSerialHandler.class);
 
@@ -56,7 +62,21 @@ public class BlueGigaSerialHandler {
     private final Timer timer = new Timer();
     private TimerTask timerTask = null;
     private Thread parserThread = null;
+    private Thread eventThread = null;
     private final ExecutorService executor = ThreadPoolManager.getPool("bluegiga");
+    private final BlueGigaFrameDecoder frameDecoder = new BlueGigaFrameDecoder();
+
+    /**
+     * Ring buffer between the parser thread and the event listeners. The parser thread does not wait for the
+     * listeners, so slow listeners don't stall the serial line.
+     */
+    private final BlockingQueue<BlueGigaResponse> eventQueue = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
+    private volatile long droppedEvents = 0;
+
+    /**
+     * Drops repeated advertisements before they are queued for the event listeners.
+     */
+    private volatile BlueGigaAdvertisementFilter advertisementFilter = new BlueGigaAdvertisementFilter(0);
 
     /**
      * Transaction listeners are used internally to correlate the commands and responses
@@ -77,82 +97,73 @@ public class BlueGigaSerialHandler {
      * Flag reflecting that parser has been closed and parser parserThread
      * should exit.
      */
-    private boolean close = false;
+    private volatile boolean close = false;
 
     public BlueGigaSerialHandler(final InputStream inputStream, final OutputStream outputStream) {
         this.outputStream = outputStream;
 
-        final int framecheckParams[] = new int[] { 0x00, 0x7F, 0xC0, 0xF8, 0xE0 };
-
         parserThread = new Thread("BlueGigaBLEHandler") {
             @Override
             public void run() {
                 int exceptionCnt = 0;
                 logger.trace("BlueGiga BLE thread started");
-                int[] inputBuffer = new int[BLE_MAX_LENGTH];
-                int inputCount = 0;
-                int inputLength = 0;
+                ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
 
                 while (!close) {
                     try {
-                        int val = inputStream.read();
-                        if (val == -1) {
-                            continue;
-                        }
-
-                        inputBuffer[inputCount++] = val;
-
-                        if (inputCount < 4) {
-                            // The BGAPI protocol has no packet framing, and no error detection, so we do a few
-                            // sanity checks on the header to try and allow resyncronisation should there be an
-                            // error.
-                            // Byte 0: Check technology type is bluetooth and high length is 0
-                            // Byte 1: Check length is less than 64 bytes
-                            // Byte 2: Check class ID is less than 8
-                            // Byte 3: Check command ID is less than 16
-                            if ((val & framecheckParams[inputCount]) != 0) {
-                                logger.debug("BlueGiga framing error byte {} = {}", inputCount, val);
-                                inputCount = 0;
-                                continue;
+                        long readStart = System.nanoTime();
+                        int count = inputStream.read(readBuffer.array(), 0, readBuffer.capacity());
+                        if (count <= 0) {
+                            // The serial port returns without data after the receive timeout. Don't spin if the
+                            // stream returns immediately, e.g. at the end of the stream.
+                            if (System.nanoTime() - readStart < TimeUnit.MILLISECONDS.toNanos(EMPTY_READ_DELAY)) {
+                                Thread.sleep(EMPTY_READ_DELAY);
                             }
-                        } else if (inputCount == 4) {
-                            // Process the header to get the length
-                            inputLength = inputBuffer[1] + (inputBuffer[0] & 0x02 << 8) + 4;
-                            if (inputLength > 64) {
-                                logger.error("BLE length larger than 64 bytes ({})", inputLength);
-                            }
-                        }
-                        if (inputCount == inputLength) {
-                            // End of packet reached - process
-                            BlueGigaResponse responsePacket = BlueGigaResponsePackets.getPacket(inputBuffer);
-
-                            logger.trace("BLE RX: {}", printHex(inputBuffer, inputLength));
-                            logger.trace("BLE RX: {}", responsePacket);
-                            if (responsePacket != null) {
-                                if (responsePacket.isEvent()) {
-                                    notifyEventListeners(responsePacket);
-                                } else {
-                                    notifyTransactionComplete(responsePacket);
-                                }
-                            }
-
-                            inputCount = 0;
+                            continue;
                         }
 
+                        readBuffer.clear();
+                        readBuffer.limit(count);
+                        frameDecoder.decode(readBuffer, frame -> processFrame(frame));
                     } catch (final IOException e) {
                         logger.error("BlueGiga BLE IOException: ", e);
+                        frameDecoder.reset();
 
                         if (exceptionCnt++ > 10) {
                             logger.error("BlueGiga BLE exception count exceeded");
                             close = true;
                             notifyClosed(e);
                         }
+                    } catch (InterruptedException e) {
+                        // The handler is closed
                     }
                 }
                 logger.debug("BlueGiga BLE exited.");
             }
         };
 
+        eventThread = new Thread("BlueGigaBLEEvents") {
+            @Override
+            public void run() {
+                while (!close) {
+                    try {
+                        BlueGigaResponse event = eventQueue.take();
+                        for (final BlueGigaEventListener listener : eventListeners) {
+                            try {
+                                listener.bluegigaEventReceived(event);
+                            } catch (RuntimeException e) {
+                                logger.warn("Execution error of a BlueGigaEventListener listener.", e);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        // The handler is closed
+                    }
+                }
+            }
+        };
+        eventThread.setDaemon(true);
+        eventThread.start();
+
         parserThread.setDaemon(true);
         parserThread.start();
         int tries = 0;
@@ -189,6 +200,10 @@ public class BlueGigaSerialHandler {
             timerTask = null;
         }
         timer.cancel();
+        eventThread.interrupt();
+        eventQueue.clear();
+        logger.debug("BlueGiga BLE dropped {} events, {} framing errors", droppedEvents,
+                frameDecoder.getFramingErrors());
         try {
             parserThread.interrupt();
             parserThread.join(timeout);
@@ -419,19 +434,84 @@ public class BlueGigaSerialHandler {
     }
 
     /**
-     * Notify any transaction listeners when we receive a response.
-     * This uses a separate thread to separate the processing of the event.
+     * Process a frame received from the serial port.
+     *
+     * @param frame the frame
+     */
+    private void processFrame(int[] frame) {
+        BlueGigaResponse responsePacket = BlueGigaResponsePackets.getPacket(frame);
+
+        logger.trace("BLE RX: {}", printHex(frame, frame.length));
+        logger.trace("BLE RX: {}", responsePacket);
+        if (responsePacket != null) {
+            if (responsePacket instanceof BlueGigaScanResponseEvent
+                    && !advertisementFilter.accept((BlueGigaScanResponseEvent) responsePacket)) {
+                return;
+            }
+            if (responsePacket.isEvent()) {
+                notifyEventListeners(responsePacket);
+            } else {
+                notifyTransactionComplete(responsePacket);
+            }
+        }
+    }
+
+    /**
+     * Notify any event listeners when we receive an event.
+     * The event is queued and the listeners are notified by a separate thread in the order of the events.
+     * If the listeners can't keep up, scan responses are dropped, these are repeated by the devices anyway. Other
+     * events are only dropped if the queue holds no scan response to make room.
      *
      * @param response the response data received
-     * @return true if the response was processed
      */
     private void notifyEventListeners(final BlueGigaResponse response) {
-        synchronized (this) {
-            // Notify the listeners
-            for (final BlueGigaEventListener listener : eventListeners) {
-                executor.submit(() -> listener.bluegigaEventReceived(response));
+        if (eventQueue.offer(response)) {
+            return;
+        }
+        if (response instanceof BlueGigaScanResponseEvent) {
+            droppedEvents++;
+            logger.trace("BlueGiga BLE event queue full, dropped {}", response);
+            return;
+        }
+        // Make room by dropping the oldest queued scan response
+        if (removeScanResponse()) {
+            droppedEvents++;
+            logger.trace("BlueGiga BLE event queue full, dropped the oldest scan response");
+            if (eventQueue.offer(response)) {
+                return;
+            }
+        }
+        // Never block the parser thread, it also receives the responses the event listeners might wait for
+        droppedEvents++;
+        logger.warn("BlueGiga BLE event queue full, dropped {}", response);
+    }
+
+    private boolean removeScanResponse() {
+        for (BlueGigaResponse event : eventQueue) {
+            // The event may have been taken by the event thread in the meantime
+            if (event instanceof BlueGigaScanResponseEvent && eventQueue.remove(event)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Return the number of events dropped because the event listeners couldn't keep up.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * Set the filter for repeated advertisements.
+     *
+     * @param advertisementFilter the {@link BlueGigaAdvertisementFilter}
+     */
+    public void setAdvertisementFilter(BlueGigaAdvertisementFilter advertisementFilter) {
+        this.advertisementFilter = advertisementFilter;
     }
 
     public void addEventListener(BlueGigaEventListener listener) {
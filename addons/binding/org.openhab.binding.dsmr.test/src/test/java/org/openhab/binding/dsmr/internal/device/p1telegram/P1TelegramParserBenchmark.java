@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.p1telegram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeter;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterDescriptor;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterType;
+
+/**
+ * Replays the recorded DSMR 4 and 5 telegrams through the {@link P1TelegramParser} and reports the parsed telegrams
+ * per second and the allocated bytes per telegram. Each telegram is parsed with all objects and with only the objects
+ * of an electricity meter, as the bridge does when only such a meter is configured.
+ *
+ * This is not run as part of the unit tests, start it with
+ * <code>java ... P1TelegramParserBenchmark [repetitions]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class P1TelegramParserBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    /**
+     * Size of the blocks read from the serial port
+     */
+    private static final int READ_SIZE = 64;
+
+    private static final String[] TELEGRAMS = { "dsmr_40", "dsmr_42", "dsmr_50" };
+
+    private static long allocatedBytes(ThreadMXBean threadBean, Method method) {
+        if (method == null) {
+            return 0;
+        }
+        try {
+            return (long) method.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    private static void run(String name, byte[] telegram, Set<OBISIdentifier> filter, int repetitions,
+            ThreadMXBean threadBean, Method allocatedBytesMethod) {
+        long[] counts = new long[2];
+        P1TelegramParser parser = new P1TelegramParser(t -> {
+            counts[0]++;
+            counts[1] += t.getCosemObjects().size();
+        });
+
+        parser.setObisIdentifierFilter(filter);
+        for (int round = 0; round < ROUNDS; round++) {
+            counts[0] = 0;
+            counts[1] = 0;
+            long allocated = allocatedBytes(threadBean, allocatedBytesMethod);
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                for (int offset = 0; offset < telegram.length; offset += READ_SIZE) {
+                    parser.parseData(telegram, offset, Math.min(READ_SIZE, telegram.length - offset));
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            allocated = allocatedBytes(threadBean, allocatedBytesMethod) - allocated;
+
+            System.out.printf(
+                    "Round %d %s (%s): %.0f telegrams/s, %d objects/telegram, %.0f bytes allocated/telegram%n",
+                    round + 1, name, filter == null ? "all objects" : "electricity meter", counts[0] * 1e9 / elapsed,
+                    counts[0] == 0 ? 0 : counts[1] / counts[0], counts[0] == 0 ? 0.0 : (double) allocated / counts[0]);
+        }
+    }
+
+    public static void main(String[] args) {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        // getThreadAllocatedBytes is only available on HotSpot
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Method allocatedBytesMethod = null;
+        try {
+            allocatedBytesMethod = Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            System.out.println("Allocations can not be measured on this JVM");
+        }
+
+        Set<OBISIdentifier> electricityMeter = new HashSet<>(
+                new DSMRMeter(new DSMRMeterDescriptor(DSMRMeterType.ELECTRICITY_V5_0, 0)).getSupportedIdentifiers());
+
+        for (String name : TELEGRAMS) {
+            byte[] telegram = TelegramReaderUtil.readRawTelegram(name);
+
+            run(name, telegram, null, repetitions, threadBean, allocatedBytesMethod);
+            run(name, telegram, electricityMeter, repetitions, threadBean, allocatedBytesMethod);
+        }
+    }
+}
@@ -12,10 +12,14 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -23,6 +27,7 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 
 /**
@@ -62,4 +67,44 @@ public class P1TelegramParserTest {
         assertEquals("Expected number of objects", numberOfCosemObjects,
             telegram.getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
     }
+
+    @Test
+    public void testParsingByteByByte() {
+        P1Telegram telegram = parse(null, 1);
+
+        assertEquals("Expected TelegramState should be as expected", TelegramState.OK, telegram.getTelegramState());
+        assertEquals("Expected number of objects", numberOfCosemObjects,
+            telegram.getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
+    }
+
+    @Test
+    public void testFilteredParsing() {
+        P1Telegram telegram = TelegramReaderUtil.readTelegram(telegramName, TelegramState.OK);
+        int numberOfObjects = telegram.getCosemObjects().size();
+        Set<OBISIdentifier> identifiers = telegram.getCosemObjects().stream()
+            .map(o -> o.getObisIdentifier().getReducedOBISIdentifier()).collect(Collectors.toSet());
+
+        P1Telegram skipped = parse(Collections.emptySet(), Integer.MAX_VALUE);
+        assertEquals("Expected TelegramState should be as expected", TelegramState.OK, skipped.getTelegramState());
+        assertEquals("Expected no objects", 0, skipped.getCosemObjects().size());
+        // Objects with an unknown OBIS identifier are also counted as skipped
+        assertTrue("Expected all objects skipped", skipped.getSkippedCosemObjects() >= numberOfObjects);
+
+        P1Telegram filtered = parse(identifiers, Integer.MAX_VALUE);
+        assertEquals("Expected all objects", numberOfObjects, filtered.getCosemObjects().size());
+        assertEquals("Expected only unknown objects skipped", skipped.getSkippedCosemObjects() - numberOfObjects,
+            filtered.getSkippedCosemObjects());
+    }
+
+    private P1Telegram parse(Set<OBISIdentifier> filter, int chunkSize) {
+        AtomicReference<P1Telegram> p1Telegram = new AtomicReference<>(null);
+        byte[] telegram = TelegramReaderUtil.readRawTelegram(telegramName);
+        P1TelegramParser parser = new P1TelegramParser(p1Telegram::set);
+
+        parser.setObisIdentifierFilter(filter);
+        for (int offset = 0; offset < telegram.length; offset += chunkSize) {
+            parser.parseData(telegram, offset, Math.min(chunkSize, telegram.length - offset));
+        }
+        return p1Telegram.get();
+    }
 }
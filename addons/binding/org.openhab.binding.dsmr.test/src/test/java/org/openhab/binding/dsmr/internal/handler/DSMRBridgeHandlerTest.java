@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.handler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.openhab.binding.dsmr.internal.DSMRBindingConstants.BINDING_ID;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeter;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterDescriptor;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterType;
+
+/**
+ * Test class for the routing of received Cosem Objects to the meters in {@link DSMRBridgeHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DSMRBridgeHandlerTest {
+
+    private static final String TELEGRAM_NAME = "dsmr_50";
+    private static final int GAS_METER_CHANNEL = 1;
+
+    @Mock
+    private Bridge bridge;
+    @Mock
+    private SerialPortManager serialPortManager;
+    @Mock
+    private ThingHandlerCallback callback;
+
+    private final List<Thing> children = new ArrayList<>();
+    private DSMRBridgeHandler bridgeHandler;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        when(bridge.getThings()).thenReturn(children);
+        bridgeHandler = new DSMRBridgeHandler(bridge, serialPortManager);
+        bridgeHandler.setCallback(callback);
+    }
+
+    /**
+     * Test if each meter only gets the Cosem Objects it handles.
+     */
+    @Test
+    public void testObjectsAreRoutedToTheirMeter() {
+        P1Telegram telegram = TelegramReaderUtil.readTelegram(TELEGRAM_NAME, TelegramState.OK);
+        DSMRMeterHandler electricity = addMeter(DSMRMeterType.ELECTRICITY_V5_0, 0);
+        DSMRMeterHandler gas = addMeter(DSMRMeterType.M3_V5_0, GAS_METER_CHANNEL);
+
+        bridgeHandler.handleTelegramReceived(telegram);
+
+        List<CosemObject> electricityValues = expectedValues(DSMRMeterType.ELECTRICITY_V5_0, 0, telegram);
+        List<CosemObject> gasValues = expectedValues(DSMRMeterType.M3_V5_0, GAS_METER_CHANNEL, telegram);
+        assertFalse("Telegram should contain electricity values", electricityValues.isEmpty());
+        assertFalse("Telegram should contain gas values", gasValues.isEmpty());
+        verify(electricity).meterValuesReceived(electricityValues);
+        verify(gas).meterValuesReceived(gasValues);
+    }
+
+    /**
+     * Test if a meter that is disposed doesn't get any values anymore, while the other meters still get their values.
+     */
+    @Test
+    public void testDisposedMeterIsRemovedFromRouting() {
+        P1Telegram telegram = TelegramReaderUtil.readTelegram(TELEGRAM_NAME, TelegramState.OK);
+        DSMRMeterHandler electricity = addMeter(DSMRMeterType.ELECTRICITY_V5_0, 0);
+        DSMRMeterHandler gas = addMeter(DSMRMeterType.M3_V5_0, GAS_METER_CHANNEL);
+
+        // The framework calls childHandlerDisposed while the thing is still a child of the bridge
+        bridgeHandler.childHandlerDisposed(gas, gas.getThing());
+        bridgeHandler.handleTelegramReceived(telegram);
+
+        verify(electricity).meterValuesReceived(expectedValues(DSMRMeterType.ELECTRICITY_V5_0, 0, telegram));
+        verify(gas, never()).meterValuesReceived(anyList());
+    }
+
+    private DSMRMeterHandler addMeter(DSMRMeterType meterType, int channel) {
+        DSMRMeterHandler meterHandler = mock(DSMRMeterHandler.class);
+        Thing meterThing = mock(Thing.class);
+
+        when(meterThing.getHandler()).thenReturn(meterHandler);
+        when(meterThing.getThingTypeUID()).thenReturn(new ThingTypeUID(BINDING_ID, meterType.name().toLowerCase()));
+        when(meterHandler.getThing()).thenReturn(meterThing);
+        when(meterHandler.getSupportedIdentifiers())
+                .thenReturn(new DSMRMeter(new DSMRMeterDescriptor(meterType, channel)).getSupportedIdentifiers());
+        children.add(meterThing);
+        bridgeHandler.childHandlerInitialized(meterHandler, meterThing);
+        return meterHandler;
+    }
+
+    private static List<CosemObject> expectedValues(DSMRMeterType meterType, int channel, P1Telegram telegram) {
+        return new DSMRMeter(new DSMRMeterDescriptor(meterType, channel)).filterMeterValues(telegram.getCosemObjects());
+    }
+}
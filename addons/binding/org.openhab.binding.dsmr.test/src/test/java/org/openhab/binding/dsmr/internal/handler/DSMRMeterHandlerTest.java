@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.handler;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.openhab.binding.dsmr.internal.DSMRBindingConstants.BINDING_ID;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectType;
+
+/**
+ * Test class for the channel updates of {@link DSMRMeterHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DSMRMeterHandlerTest {
+
+    private static final CosemObjectType TYPE = CosemObjectType.EMETER_ACTUAL_DELIVERY;
+
+    @Mock
+    private ThingHandlerCallback callback;
+
+    private DSMRMeterHandler meterHandler;
+    private ChannelUID channelUID;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+    }
+
+    @After
+    public void tearDown() {
+        if (meterHandler != null) {
+            meterHandler.dispose();
+        }
+    }
+
+    /**
+     * Test if an unchanged value is not sent again to the channel, while a changed value is.
+     */
+    @Test
+    public void testUnchangedValueIsSkipped() throws ParseException {
+        initializeHandler(0);
+
+        meterHandler.meterValuesReceived(values("01.193"));
+        meterHandler.meterValuesReceived(values("01.193"));
+        verify(callback, times(1)).stateUpdated(eq(channelUID), any());
+
+        meterHandler.meterValuesReceived(values("01.200"));
+        verify(callback, times(2)).stateUpdated(eq(channelUID), any());
+    }
+
+    /**
+     * Test if an unchanged value is sent again when it was not sent for the maximum silence time.
+     */
+    @Test
+    public void testUnchangedValueIsSentAfterMaxSilence() throws ParseException, InterruptedException {
+        initializeHandler(1);
+
+        meterHandler.meterValuesReceived(values("01.193"));
+        meterHandler.meterValuesReceived(values("01.193"));
+        verify(callback, times(1)).stateUpdated(eq(channelUID), any());
+
+        Thread.sleep(1100);
+        meterHandler.meterValuesReceived(values("01.193"));
+        verify(callback, times(2)).stateUpdated(eq(channelUID), any());
+    }
+
+    private void initializeHandler(int maxSilence) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("channel", BigDecimal.ZERO);
+        properties.put("refresh", BigDecimal.valueOf(60));
+        properties.put("maxSilence", BigDecimal.valueOf(maxSilence));
+        Thing thing = ThingBuilder.create(new ThingTypeUID(BINDING_ID, "electricity_v5_0"), "meter")
+                .withConfiguration(new Configuration(properties)).build();
+
+        channelUID = new ChannelUID(thing.getUID(), TYPE.name().toLowerCase());
+        meterHandler = new DSMRMeterHandler(thing);
+        meterHandler.setCallback(callback);
+        // The thing never becomes online with a mocked callback, therefore received values are sent immediately
+        meterHandler.initialize();
+    }
+
+    private static List<CosemObject> values(String kiloWatt) throws ParseException {
+        CosemObject cosemObject = new CosemObject(TYPE, TYPE.obisId);
+
+        cosemObject.parseCosemValues("(" + kiloWatt + "*kW)");
+        return Collections.singletonList(cosemObject);
+    }
+}
@@ -12,6 +12,11 @@
  */
 package org.openhab.binding.dsmr.internal.device;
 
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
+
 /**
  * Interface for classes controlling DSMR devices.
  *
@@ -38,4 +43,9 @@ public interface DSMRDevice {
      * @param lenientMode the lenientMode to set
      */
     void setLenientMode(boolean lenientMode);
+
+    /**
+     * @param obisIdentifierFilter reduced OBIS identifiers of the objects to parse, or null to parse all objects
+     */
+    void setObisIdentifierFilter(@Nullable Set<OBISIdentifier> obisIdentifierFilter);
 }
@@ -12,10 +12,14 @@
  */
 package org.openhab.binding.dsmr.internal.device;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRSerialConnector;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRSerialSettings;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 
 /**
  * Implementation of a DSMRDevice with fixed serial port settings. With fixed port settings the code is much simpler
@@ -64,4 +68,9 @@ public class DSMRFixedConfigDevice implements DSMRDevice {
     public void setLenientMode(boolean lenientMode) {
         telegramListener.setLenientMode(lenientMode);
     }
+
+    @Override
+    public void setObisIdentifierFilter(@Nullable Set<OBISIdentifier> obisIdentifierFilter) {
+        telegramListener.setObisIdentifierFilter(obisIdentifierFilter);
+    }
 }
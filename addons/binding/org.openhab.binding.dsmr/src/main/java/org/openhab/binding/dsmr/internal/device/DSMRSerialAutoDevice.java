@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.dsmr.internal.device;
 
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -22,6 +23,7 @@ import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRConnectorErrorEvent;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRSerialConnector;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRSerialSettings;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -176,7 +178,7 @@ public class DSMRSerialAutoDevice implements DSMRDevice, DSMREventListener {
      */
     @Override
     public void handleTelegramReceived(P1Telegram telegram) {
-        if (!telegram.getCosemObjects().isEmpty()) {
+        if (!telegram.getCosemObjects().isEmpty() || telegram.getSkippedCosemObjects() > 0) {
             stopDiscover(DeviceState.NORMAL);
             parentListener.handleTelegramReceived(telegram);
             logger.info("Start receiving telegrams on port {} with settings: {}", dsmrConnector.getPortName(),
@@ -210,6 +212,11 @@ public class DSMRSerialAutoDevice implements DSMRDevice, DSMREventListener {
         telegramListener.setLenientMode(lenientMode);
     }
 
+    @Override
+    public void setObisIdentifierFilter(@Nullable Set<OBISIdentifier> obisIdentifierFilter) {
+        telegramListener.setObisIdentifierFilter(obisIdentifierFilter);
+    }
+
     /**
      * @return Returns the state of the instance. Used for testing only.
      */
@@ -13,12 +13,15 @@
 package org.openhab.binding.dsmr.internal.device;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRConnectorErrorEvent;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRConnectorListener;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramListener;
@@ -101,4 +104,11 @@ class DSMRTelegramListener implements P1TelegramListener, DSMRConnectorListener
     public void setLenientMode(boolean lenientMode) {
         parser.setLenientMode(lenientMode);
     }
+
+    /**
+     * @param obisIdentifierFilter reduced OBIS identifiers of the objects to parse, or null to parse all objects
+     */
+    public void setObisIdentifierFilter(@Nullable Set<OBISIdentifier> obisIdentifierFilter) {
+        parser.setObisIdentifierFilter(obisIdentifierFilter);
+    }
 }
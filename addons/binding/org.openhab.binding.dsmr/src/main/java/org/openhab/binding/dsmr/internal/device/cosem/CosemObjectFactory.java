@@ -98,14 +98,29 @@ public class CosemObjectFactory {
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
+        return getCosemObject(obisId, reducedObisId, cosemStringValues);
+    }
+
+    /**
+     * Return Cosem Object for the already parsed OBIS identifier or null if the values couldn't be parsed correctly or
+     * no corresponding Cosem Object was found
+     *
+     * @param obisId the OBIS message identifier
+     * @param reducedObisId the reduced OBIS message identifier (see {@link OBISIdentifier#getReducedOBISIdentifier()})
+     * @param cosemStringValues String containing Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public CosemObject getCosemObject(OBISIdentifier obisId, OBISIdentifier reducedObisId, String cosemStringValues) {
         CosemObject cosemObject = null;
+        CosemObjectType fixedType = obisLookupTableFixed.get(reducedObisId);
+        CosemObjectType dynamicType = fixedType == null ? obisLookupTableDynamic.get(reducedObisId) : null;
 
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
+        if (fixedType != null) {
+            cosemObject = getCosemObjectInternal(fixedType, obisId, cosemStringValues);
             logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
+        } else if (dynamicType != null) {
             logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
+            cosemObject = getCosemObjectInternal(dynamicType, obisId, cosemStringValues);
         } else {
             for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
                 if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.p1telegram;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Trie keyed on the numeric groups (A-B:C.D.E*F) of an OBIS identifier. Each level of the trie is indexed directly by
+ * the value of a group, so looking up an identifier that was seen before does not allocate.
+ *
+ * Groups B and F are optional, an absent group is passed as -1. Identifiers with group values outside 0..255 are not
+ * stored.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> type of the values stored
+ */
+@NonNullByDefault
+class OBISIdentifierTrie<T> {
+
+    /**
+     * Number of OBIS groups (A to F)
+     */
+    static final int GROUPS = 6;
+
+    /**
+     * Group values are shifted by one, so an absent group (-1) is stored at index 0
+     */
+    private static final int MAX_INDEX = 256;
+
+    private static class Node {
+        Node @Nullable [] children;
+        @Nullable
+        Object value;
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Returns the value stored for the given groups.
+     *
+     * @param groups the values of the groups A to F, -1 for an absent group
+     * @return the value or null if no value is stored for these groups
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(int[] groups) {
+        Node node = root;
+
+        for (int i = 0; i < GROUPS; i++) {
+            Node[] children = node.children;
+            int index = groups[i] + 1;
+
+            if (children == null || index < 0 || index >= children.length || children[index] == null) {
+                return null;
+            }
+            node = children[index];
+        }
+        return (T) node.value;
+    }
+
+    /**
+     * Stores a value for the given groups.
+     *
+     * @param groups the values of the groups A to F, -1 for an absent group
+     * @param value the value to store
+     * @return true if stored, false if a group value is out of range
+     */
+    public boolean put(int[] groups, T value) {
+        for (int i = 0; i < GROUPS; i++) {
+            if (groups[i] + 1 < 0 || groups[i] + 1 > MAX_INDEX) {
+                return false;
+            }
+        }
+        Node node = root;
+
+        for (int i = 0; i < GROUPS; i++) {
+            int index = groups[i] + 1;
+            Node[] children = node.children;
+
+            if (children == null) {
+                children = new Node[index + 1];
+            } else if (index >= children.length) {
+                children = Arrays.copyOf(children, index + 1);
+            }
+            node.children = children;
+            Node child = children[index];
+            if (child == null) {
+                child = new Node();
+                children[index] = child;
+            }
+            node = child;
+        }
+        node.value = value;
+        return true;
+    }
+}
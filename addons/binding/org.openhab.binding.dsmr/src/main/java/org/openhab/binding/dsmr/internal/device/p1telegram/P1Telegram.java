@@ -61,11 +61,18 @@ public class P1Telegram {
     private final List<CosemObject> cosemObjects;
     private final TelegramState telegramState;
     private final String rawTelegram;
+    private final int skippedCosemObjects;
 
     public P1Telegram(List<CosemObject> cosemObjects, TelegramState telegramState, String rawTelegram) {
+        this(cosemObjects, telegramState, rawTelegram, 0);
+    }
+
+    public P1Telegram(List<CosemObject> cosemObjects, TelegramState telegramState, String rawTelegram,
+            int skippedCosemObjects) {
         this.cosemObjects = cosemObjects;
         this.telegramState = telegramState;
         this.rawTelegram = rawTelegram;
+        this.skippedCosemObjects = skippedCosemObjects;
     }
 
     /**
@@ -82,6 +89,13 @@ public class P1Telegram {
         return rawTelegram;
     }
 
+    /**
+     * @return The number of objects in the telegram that were not parsed, because no meter is interested in them
+     */
+    public int getSkippedCosemObjects() {
+        return skippedCosemObjects;
+    }
+
     /**
      * @return The state of the telegram
      */
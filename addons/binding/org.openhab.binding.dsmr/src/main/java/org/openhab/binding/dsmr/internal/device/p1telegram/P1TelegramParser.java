@@ -14,12 +14,17 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectFactory;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +35,10 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The data is tokenized byte by byte without intermediate strings. OBIS identifiers are parsed into their numeric
+ * groups and resolved through a {@link OBISIdentifierTrie}, the CRC16 is calculated while parsing. Only the values of
+ * objects passing the OBIS identifier filter are converted into {@link CosemObject}s.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -59,21 +68,83 @@ public class P1TelegramParser {
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
+     */
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Maximum number of numbers in an OBIS identifier (A-B:C.D.E*F)
+     */
+    private static final int MAX_OBIS_NUMBERS = OBISIdentifierTrie.GROUPS;
+
+    /**
+     * Group values above do not fit in an int
+     */
+    private static final int MAX_OBIS_GROUP_VALUE = (Integer.MAX_VALUE - 9) / 10;
+
+    /**
+     * Initial size of the cosem object values buffer, grown if needed
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int INITIAL_VALUES_BUFFER_SIZE = 256;
+
+    /**
+     * Filter marker to parse all Cosem Objects
+     */
+    private static final Set<OBISIdentifier> ACCEPT_ALL = Collections.emptySet();
+
+    /**
+     * A parsed OBIS identifier with the result of the filter
+     */
+    private static class ObisEntry {
+        final OBISIdentifier obisId;
+        final OBISIdentifier reducedObisId;
+
+        /**
+         * The filter {@link #accepted} was determined for, null if not determined yet
+         */
+        @Nullable
+        Set<OBISIdentifier> filter;
+        boolean accepted;
+
+        ObisEntry(OBISIdentifier obisId) {
+            this.obisId = obisId;
+            this.reducedObisId = obisId.getReducedOBISIdentifier();
+        }
+    }
 
     /* internal state variables */
 
     /**
-     * current obisId buffer.
+     * Numbers of the current OBIS identifier and the character following each number.
+     */
+    private final int[] obisNumbers = new int[MAX_OBIS_NUMBERS];
+    private final char[] obisSeparators = new char[MAX_OBIS_NUMBERS];
+    private int obisNumberCount;
+    private int obisNumber;
+    private int obisNumberDigits;
+    private boolean obisIdValid = true;
+    private boolean obisIdEmpty = true;
+
+    /**
+     * Groups A to F of the current OBIS identifier, -1 for absent groups
+     */
+    private final int[] obisGroups = new int[OBISIdentifierTrie.GROUPS];
+
+    /**
+     * Already seen OBIS identifiers
+     */
+    private final OBISIdentifierTrie<ObisEntry> obisIdentifiers = new OBISIdentifierTrie<>();
+
+    /**
+     * Current cosem object, null if the object is skipped or the OBIS identifier is not complete yet.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private @Nullable ObisEntry currentObisEntry;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder cosemObjectValuesString = new StringBuilder();
+    private byte[] cosemObjectValues = new byte[INITIAL_VALUES_BUFFER_SIZE];
+    private int cosemObjectValuesLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
@@ -83,7 +154,9 @@ public class P1TelegramParser {
     /**
      * Current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+    private int crcValueLength;
+    private boolean crcValueValid = true;
 
     /**
      * CRC calculation helper
@@ -115,6 +188,16 @@ public class P1TelegramParser {
      */
     private List<CosemObject> cosemObjects = new ArrayList<>();
 
+    /**
+     * Number of Cosem Objects in the P1Telegram that is currently received that were skipped by the filter
+     */
+    private int skippedCosemObjects;
+
+    /**
+     * Reduced OBIS identifiers of the Cosem Objects to parse, {@link #ACCEPT_ALL} to parse all objects
+     */
+    private volatile Set<OBISIdentifier> obisIdentifierFilter = ACCEPT_ALL;
+
     /**
      * Listener for new P1 telegrams
      */
@@ -236,18 +319,16 @@ public class P1TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcValueLength > 0) {
+                            if (crcValueValid && crcValueLength == CRC_LENGTH) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                        String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -256,8 +337,8 @@ public class P1TelegramParser {
                                 telegramState = TelegramState.CRC_ERROR;
                             }
                         }
-                        telegramListener.telegramReceived(
-                            new P1Telegram(new ArrayList<>(cosemObjects), telegramState, rawData.toString()));
+                        telegramListener.telegramReceived(new P1Telegram(new ArrayList<>(cosemObjects),
+                                telegramState, rawData.toString(), skippedCosemObjects));
                         setState(State.WAIT_FOR_START);
                         if (c == '/') {
                             /*
@@ -310,22 +391,21 @@ public class P1TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
+                handleObisIdCharacter(c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
-                cosemObjectValuesString.append(c);
-                crc.processByte((byte) c);
-                break;
             case DATA_OBIS_VALUE_END:
-                cosemObjectValuesString.append(c);
+                if (currentObisEntry != null) {
+                    appendCosemObjectValue((byte) c);
+                }
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    handleCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -334,16 +414,156 @@ public class P1TelegramParser {
         }
     }
 
+    /**
+     * Adds a character to the numbers of the current OBIS identifier.
+     *
+     * @param c the character to process
+     */
+    private void handleObisIdCharacter(char c) {
+        obisIdEmpty = false;
+        if (c >= '0' && c <= '9') {
+            if (obisNumber > MAX_OBIS_GROUP_VALUE) {
+                obisIdValid = false;
+            } else {
+                obisNumber = obisNumber * 10 + (c - '0');
+            }
+            obisNumberDigits++;
+        } else if (obisNumberDigits == 0 || obisNumberCount == MAX_OBIS_NUMBERS - 1 || c == '\r' || c == '\n') {
+            // Separator without number, too many numbers or line break within the identifier
+            obisIdValid = false;
+        } else {
+            obisNumbers[obisNumberCount] = obisNumber;
+            obisSeparators[obisNumberCount] = c;
+            obisNumberCount++;
+            obisNumber = 0;
+            obisNumberDigits = 0;
+        }
+    }
+
+    /**
+     * Completes the current OBIS identifier when its value starts. Looks up the identifier and determines if the value
+     * of the cosem object must be parsed.
+     */
+    private void completeObisId() {
+        currentObisEntry = null;
+        if (obisIdEmpty) {
+            return;
+        }
+        if (!obisIdValid || obisNumberDigits == 0 || !resolveObisGroups()) {
+            logger.debug("Received invalid OBIS identifier: {}", obisIdToString());
+            return;
+        }
+        ObisEntry entry = obisIdentifiers.get(obisGroups);
+
+        if (entry == null) {
+            entry = new ObisEntry(new OBISIdentifier(obisGroups[0], obisGroups[1] < 0 ? null : obisGroups[1],
+                    obisGroups[2], obisGroups[3], obisGroups[4], obisGroups[5] < 0 ? null : obisGroups[5]));
+            obisIdentifiers.put(obisGroups, entry);
+        }
+        Set<OBISIdentifier> filter = obisIdentifierFilter;
+
+        if (entry.filter != filter) {
+            entry.accepted = filter == ACCEPT_ALL || filter.contains(entry.reducedObisId);
+            entry.filter = filter;
+        }
+        if (entry.accepted) {
+            currentObisEntry = entry;
+        } else {
+            skippedCosemObjects++;
+        }
+    }
+
+    /**
+     * Assigns the numbers of the current OBIS identifier to the groups A-B:C.D.E*F. The groups A, B, E and F are
+     * optional, B is only present if followed by ':'.
+     *
+     * @return true if the numbers form a valid OBIS identifier
+     */
+    private boolean resolveObisGroups() {
+        int count = obisNumberCount + 1;
+        int i = 0;
+
+        obisNumbers[obisNumberCount] = obisNumber;
+        obisSeparators[obisNumberCount] = 0;
+        Arrays.fill(obisGroups, 0);
+        obisGroups[1] = -1;
+        obisGroups[5] = -1;
+
+        if (obisSeparators[i] == '-') {
+            obisGroups[0] = obisNumbers[i++];
+        }
+        if (obisSeparators[i] == ':') {
+            obisGroups[1] = obisNumbers[i++];
+        }
+        if (obisSeparators[i] != '.' || i + 1 >= count) {
+            return false;
+        }
+        obisGroups[2] = obisNumbers[i++];
+        obisGroups[3] = obisNumbers[i];
+        if (obisSeparators[i] == '.' && i + 1 < count) {
+            obisGroups[4] = obisNumbers[++i];
+        }
+        if (obisSeparators[i] != 0 && i + 1 < count) {
+            obisGroups[5] = obisNumbers[++i];
+        }
+        return i == count - 1;
+    }
+
+    /**
+     * @return the current OBIS identifier as received, for logging
+     */
+    private String obisIdToString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < obisNumberCount; i++) {
+            sb.append(obisNumbers[i]).append(obisSeparators[i]);
+        }
+        if (obisNumberDigits > 0) {
+            sb.append(obisNumber);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends a character to the values of the current cosem object
+     *
+     * @param b the character to append
+     */
+    private void appendCosemObjectValue(byte b) {
+        if (cosemObjectValuesLength == cosemObjectValues.length) {
+            cosemObjectValues = Arrays.copyOf(cosemObjectValues, cosemObjectValues.length * 2);
+        }
+        cosemObjectValues[cosemObjectValuesLength++] = b;
+    }
+
+    /**
+     * Adds a character to the CRC value.
+     *
+     * @param c the hexadecimal digit to process
+     */
+    private void handleCrcCharacter(char c) {
+        int digit = Character.digit(c, 16);
+
+        crcValueLength++;
+        if (digit < 0 || Character.isLowerCase(c)) {
+            crcValueValid = false;
+        } else {
+            crcValue = (crcValue << 4) | digit;
+        }
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        clearObisData();
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcValueLength = 0;
+        crcValueValid = true;
         crc.initialize();
         cosemObjects.clear();
+        skippedCosemObjects = 0;
     }
 
     /**
@@ -353,18 +573,24 @@ public class P1TelegramParser {
      * - current OBIS data object
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisNumberCount = 0;
+        obisNumber = 0;
+        obisNumberDigits = 0;
+        obisIdValid = true;
+        obisIdEmpty = true;
+        currentObisEntry = null;
+        cosemObjectValuesLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
+        ObisEntry entry = currentObisEntry;
 
-        if (!obisIdString.isEmpty()) {
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, cosemObjectValuesString.toString());
+        if (entry != null) {
+            CosemObject cosemObject = factory.getCosemObject(entry.obisId, entry.reducedObisId,
+                    new String(cosemObjectValues, 0, cosemObjectValuesLength, StandardCharsets.ISO_8859_1));
 
             if (cosemObject != null) {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -399,6 +625,11 @@ public class P1TelegramParser {
                     storeCurrentCosemObject();
                     clearObisData();
                     break;
+                case DATA_OBIS_VALUE:
+                    if (state == State.DATA_OBIS_ID) {
+                        completeObisId();
+                    }
+                    break;
                 default:
                     break;
             }
@@ -412,4 +643,15 @@ public class P1TelegramParser {
     public void setLenientMode(boolean lenientMode) {
         this.lenientMode = lenientMode;
     }
+
+    /**
+     * Sets the OBIS identifiers of the Cosem Objects to parse. The values of other objects are skipped without
+     * parsing them.
+     *
+     * @param obisIdentifierFilter reduced OBIS identifiers of the objects to parse, or null to parse all objects
+     */
+    public void setObisIdentifierFilter(@Nullable Set<OBISIdentifier> obisIdentifierFilter) {
+        this.obisIdentifierFilter = obisIdentifierFilter == null ? ACCEPT_ALL
+                : Collections.unmodifiableSet(new HashSet<>(obisIdentifierFilter));
+    }
 }
@@ -13,7 +13,13 @@
 package org.openhab.binding.dsmr.internal.handler;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -22,8 +28,10 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.openhab.binding.dsmr.internal.device.DSMRDevice;
@@ -34,6 +42,8 @@ import org.openhab.binding.dsmr.internal.device.DSMRFixedConfigDevice;
 import org.openhab.binding.dsmr.internal.device.DSMRSerialAutoDevice;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRConnectorErrorEvent;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRSerialSettings;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramListener;
 import org.slf4j.Logger;
@@ -62,6 +72,16 @@ public class DSMRBridgeHandler extends BaseBridgeHandler implements DSMREventLis
      */
     private final List<P1TelegramListener> meterListeners = new ArrayList<>();
 
+    /**
+     * Meter handlers of the children of this bridge.
+     */
+    private List<DSMRMeterHandler> meterHandlers = Collections.emptyList();
+
+    /**
+     * Meter handlers per reduced OBIS identifier of the Cosem Objects they handle.
+     */
+    private Map<OBISIdentifier, List<DSMRMeterHandler>> meterRouting = Collections.emptyMap();
+
     /**
      * Serial Port Manager.
      */
@@ -137,6 +157,7 @@ public class DSMRBridgeHandler extends BaseBridgeHandler implements DSMREventLis
             DSMRDevice dsmrDevice = createDevice(deviceConfig);
             resetLastReceivedState();
             this.dsmrDevice = dsmrDevice; // otherwise Eclipse will give a null pointer error on the next line :-(
+            updateMeters();
             dsmrDeviceRunnable = new DSMRDeviceRunnable(dsmrDevice, this);
             dsmrDeviceThread = new Thread(dsmrDeviceRunnable);
             dsmrDeviceThread.start();
@@ -178,7 +199,10 @@ public class DSMRBridgeHandler extends BaseBridgeHandler implements DSMREventLis
      */
     public boolean registerDSMRMeterListener(P1TelegramListener meterListener) {
         logger.trace("Register DSMRMeterListener");
-        return meterListeners.add(meterListener);
+        boolean added = meterListeners.add(meterListener);
+
+        updateMeters();
+        return added;
     }
 
     /**
@@ -189,7 +213,71 @@ public class DSMRBridgeHandler extends BaseBridgeHandler implements DSMREventLis
      */
     public boolean unregisterDSMRMeterListener(P1TelegramListener meterListener) {
         logger.trace("Unregister DSMRMeterListener");
-        return meterListeners.remove(meterListener);
+        boolean removed = meterListeners.remove(meterListener);
+
+        updateMeters();
+        return removed;
+    }
+
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        updateMeters();
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        updateMeters(childHandler);
+    }
+
+    /**
+     * Collects the meters of the children of this bridge.
+     *
+     * @see #updateMeters(ThingHandler)
+     */
+    private void updateMeters() {
+        updateMeters(null);
+    }
+
+    /**
+     * Collects the meters of the children of this bridge. Determines to which meters the Cosem Objects are routed and
+     * sets the OBIS identifiers of the Cosem Objects the parser converts. When meter listeners are registered all
+     * objects are needed, otherwise only the objects of the initialized meters. Values of other objects in the telegram
+     * are skipped without parsing them.
+     *
+     * @param disposedHandler handler of a child that is disposed and must not be used anymore, or null
+     */
+    private synchronized void updateMeters(@Nullable ThingHandler disposedHandler) {
+        List<DSMRMeterHandler> handlers = new ArrayList<>();
+        Map<OBISIdentifier, List<DSMRMeterHandler>> routing = new HashMap<>();
+
+        for (Thing child : getThing().getThings()) {
+            ThingHandler handler = child.getHandler();
+
+            if (handler instanceof DSMRMeterHandler && handler != disposedHandler) {
+                DSMRMeterHandler meterHandler = (DSMRMeterHandler) handler;
+
+                handlers.add(meterHandler);
+                for (OBISIdentifier obisId : meterHandler.getSupportedIdentifiers()) {
+                    routing.computeIfAbsent(obisId, k -> new ArrayList<>(1)).add(meterHandler);
+                }
+            }
+        }
+        meterHandlers = handlers;
+        meterRouting = routing;
+        DSMRDevice localDevice = dsmrDevice;
+
+        if (localDevice == null) {
+            return;
+        }
+        if (meterListeners.isEmpty()) {
+            Set<OBISIdentifier> filter = new HashSet<>(routing.keySet());
+
+            logger.trace("OBIS identifier filter set to: {}", filter);
+            localDevice.setObisIdentifierFilter(filter);
+        } else {
+            logger.trace("OBIS identifier filter cleared, meter listeners need all objects");
+            localDevice.setObisIdentifierFilter(null);
+        }
     }
 
     /**
@@ -228,7 +316,7 @@ public class DSMRBridgeHandler extends BaseBridgeHandler implements DSMREventLis
 
     @Override
     public synchronized void handleTelegramReceived(P1Telegram telegram) {
-        if (telegram.getCosemObjects().isEmpty()) {
+        if (telegram.getCosemObjects().isEmpty() && telegram.getSkippedCosemObjects() == 0) {
             logger.debug("Parsing worked but something went wrong, so there were no CosemObjects:{}",
                 telegram.getTelegramState().stateDetails);
             deviceOffline(ThingStatusDetail.COMMUNICATION_ERROR, telegram.getTelegramState().stateDetails);
@@ -246,22 +334,38 @@ public class DSMRBridgeHandler extends BaseBridgeHandler implements DSMREventLis
     }
 
     /**
-     * Method to forward the last received messages to the bound meters and to the meterListeners.
+     * Method to forward the last received messages to the bound meters and to the meterListeners. Each meter only gets
+     * the Cosem Objects it handles.
      *
      * @param telegram received meter values.
      */
     private void meterValueReceived(P1Telegram telegram) {
         updateStatus(ThingStatus.ONLINE);
-        getThing().getThings().forEach(child -> {
-            if (logger.isTraceEnabled()) {
-                logger.trace("Update child:{} with {} objects", child.getThingTypeUID().getId(),
-                    telegram.getCosemObjects().size());
-            }
-            DSMRMeterHandler dsmrMeterHandler = (DSMRMeterHandler) child.getHandler();
+        Map<DSMRMeterHandler, List<CosemObject>> meterValues = new LinkedHashMap<>();
+
+        for (DSMRMeterHandler meterHandler : meterHandlers) {
+            meterValues.put(meterHandler, new ArrayList<>());
+        }
+        for (CosemObject cosemObject : telegram.getCosemObjects()) {
+            List<DSMRMeterHandler> handlers = meterRouting
+                .get(cosemObject.getObisIdentifier().getReducedOBISIdentifier());
 
-            if (dsmrMeterHandler instanceof DSMRMeterHandler) {
-                dsmrMeterHandler.telegramReceived(telegram);
+            if (handlers != null) {
+                for (DSMRMeterHandler meterHandler : handlers) {
+                    List<CosemObject> values = meterValues.get(meterHandler);
+
+                    if (values != null) {
+                        values.add(cosemObject);
+                    }
+                }
+            }
+        }
+        meterValues.forEach((meterHandler, values) -> {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Update child:{} with {} objects", meterHandler.getThing().getThingTypeUID().getId(),
+                    values.size());
             }
+            meterHandler.meterValuesReceived(values);
         });
         meterListeners.forEach(m -> m.telegramReceived(telegram));
     }
@@ -13,7 +13,9 @@
 package org.openhab.binding.dsmr.internal.handler;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +33,7 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramListener;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeter;
@@ -61,6 +64,16 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     private List<CosemObject> lastReceivedValues = Collections.emptyList();
 
+    /**
+     * Last state sent per channel id. Used to only send changed states.
+     */
+    private final Map<String, PublishedState> publishedStates = new HashMap<>();
+
+    /**
+     * Number of nanoseconds after which an unchanged state is sent again, 0 to only send changed states.
+     */
+    private long maxSilenceNanos;
+
     /**
      * Reference to the meter watchdog.
      */
@@ -76,12 +89,26 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     }
 
     /**
-     * DSMR Meter don't support handling commands
+     * State sent to a channel and the time it was sent.
+     */
+    private static class PublishedState {
+        final State state;
+        final long publishedNanos;
+
+        PublishedState(State state, long publishedNanos) {
+            this.state = state;
+            this.publishedNanos = publishedNanos;
+        }
+    }
+
+    /**
+     * DSMR Meter don't support handling commands. On refresh the last sent state of the channel is sent again.
      */
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command == RefreshType.REFRESH) {
             updateState();
+            refreshState(channelUID);
         }
     }
 
@@ -108,6 +135,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
         DSMRMeterConfiguration meterConfig = getConfigAs(DSMRMeterConfiguration.class);
         DSMRMeterDescriptor meterDescriptor = new DSMRMeterDescriptor(meterType, meterConfig.channel);
         meter = new DSMRMeter(meterDescriptor);
+        maxSilenceNanos = TimeUnit.SECONDS.toNanos(meterConfig.maxSilence);
         meterWatchdog = scheduler.scheduleWithFixedDelay(this::updateState, meterConfig.refresh, meterConfig.refresh,
             TimeUnit.SECONDS);
         updateStatus(ThingStatus.UNKNOWN);
@@ -119,6 +147,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
             meterWatchdog.cancel(false);
             meterWatchdog = null;
         }
+        clearPublishedStates();
     }
 
     /**
@@ -129,6 +158,8 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     private synchronized void updateState() {
         logger.trace("Update state for device: {}", getThing().getThingTypeUID().getId());
         if (!lastReceivedValues.isEmpty()) {
+            long now = System.nanoTime();
+
             for (CosemObject cosemObject : lastReceivedValues) {
                 String channel = cosemObject.getType().name().toLowerCase();
 
@@ -137,9 +168,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
                         /* CosemObject has a specific sub channel */
                         channel += "_" + entry.getKey();
                     }
-                    State newState = entry.getValue();
-                    logger.debug("Updating state for channel {} to value {}", channel, newState);
-                    updateState(channel, newState);
+                    publishState(channel, entry.getValue(), now);
                 }
             }
             if (getThing().getStatus() != ThingStatus.ONLINE) {
@@ -149,6 +178,47 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
         }
     }
 
+    /**
+     * Sends the state to the channel if it differs from the state last sent to the channel, or if the state was not
+     * sent for longer than the maximum silence time.
+     *
+     * @param channel id of the channel to update
+     * @param newState the new state of the channel
+     * @param now current time in nanoseconds
+     */
+    private void publishState(String channel, State newState, long now) {
+        PublishedState published = publishedStates.get(channel);
+
+        if (published == null || !published.state.equals(newState)
+            || (maxSilenceNanos > 0 && now - published.publishedNanos >= maxSilenceNanos)) {
+            logger.debug("Updating state for channel {} to value {}", channel, newState);
+            updateState(channel, newState);
+            publishedStates.put(channel, new PublishedState(newState, now));
+        } else {
+            logger.trace("State for channel {} unchanged: {}", channel, newState);
+        }
+    }
+
+    /**
+     * Sends the state last sent to the channel again.
+     *
+     * @param channelUID the channel to refresh
+     */
+    private synchronized void refreshState(ChannelUID channelUID) {
+        PublishedState published = publishedStates.get(channelUID.getId());
+
+        if (published != null) {
+            updateState(channelUID, published.state);
+        }
+    }
+
+    /**
+     * Forgets the states sent, so the next received values are sent to all channels.
+     */
+    private synchronized void clearPublishedStates() {
+        publishedStates.clear();
+    }
+
     /**
      * Callback for received meter values. When this method is called but the telegram has no values for this meter this
      * meter is set to offline because something is wrong, possible the meter has been removed.
@@ -157,14 +227,26 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     @Override
     public void telegramReceived(P1Telegram telegram) {
-        lastReceivedValues = Collections.emptyList();
         DSMRMeter localMeter = meter;
 
         if (localMeter == null) {
+            lastReceivedValues = Collections.emptyList();
             return;
         }
-        List<CosemObject> filteredValues = localMeter.filterMeterValues(telegram.getCosemObjects());
+        meterValuesReceived(localMeter.filterMeterValues(telegram.getCosemObjects()));
+    }
 
+    /**
+     * Callback for the received values of this meter, as routed by the bridge. When this method is called with no
+     * values this meter is set to offline because something is wrong, possible the meter has been removed.
+     *
+     * @param filteredValues the received Cosem Objects of this meter
+     */
+    public void meterValuesReceived(List<CosemObject> filteredValues) {
+        lastReceivedValues = Collections.emptyList();
+        if (meter == null) {
+            return;
+        }
         if (filteredValues.isEmpty()) {
             if (getThing().getStatus() == ThingStatus.ONLINE) {
                 setDeviceOffline(ThingStatusDetail.COMMUNICATION_ERROR, "@text/error.thing.nodata");
@@ -198,6 +280,13 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
         return meter == null ? null : meter.getMeterDescriptor();
     }
 
+    /**
+     * @return Returns the reduced OBIS identifiers of the Cosem Objects the meter of this handler handles
+     */
+    public List<OBISIdentifier> getSupportedIdentifiers() {
+        return meter == null ? Collections.emptyList() : meter.getSupportedIdentifiers();
+    }
+
     /**
      * Convenience method to set the meter off line.
      *
@@ -207,5 +296,6 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     private void setDeviceOffline(ThingStatusDetail status, @Nullable String details) {
         updateStatus(ThingStatus.OFFLINE, status, details);
         getThing().getChannels().forEach(c -> updateState(c.getUID(), UnDefType.NULL));
+        clearPublishedStates();
     }
 }
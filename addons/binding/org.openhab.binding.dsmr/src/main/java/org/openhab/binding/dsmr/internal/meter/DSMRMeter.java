@@ -13,6 +13,7 @@
 package org.openhab.binding.dsmr.internal.meter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -80,6 +81,13 @@ public class DSMRMeter {
         return filteredValues;
     }
 
+    /**
+     * @return Returns the reduced OBIS identifiers of the Cosem Objects this meter handles
+     */
+    public List<OBISIdentifier> getSupportedIdentifiers() {
+        return Collections.unmodifiableList(supportedIdentifiers);
+    }
+
     /**
      * @return Returns the {@link DSMRMeterDescriptor} this object is configured with
      */
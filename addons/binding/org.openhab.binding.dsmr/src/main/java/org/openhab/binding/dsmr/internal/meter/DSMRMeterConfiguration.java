@@ -29,8 +29,13 @@ public class DSMRMeterConfiguration {
      */
     public int refresh;
 
+    /**
+     * Time in seconds after which an unchanged value is sent again. 0 to only send changed values.
+     */
+    public int maxSilence;
+
     @Override
     public String toString() {
-        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ")";
+        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ",maxSilence=" + maxSilence + ")";
     }
 }
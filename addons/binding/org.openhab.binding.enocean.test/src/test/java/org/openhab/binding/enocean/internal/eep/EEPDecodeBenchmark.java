@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
+
+/**
+ * Measures the decode path of received telegrams of the most common EEPs: resolving the {@link EEPType} of the
+ * telegram, building the {@link EEP} and converting it into a channel state or event.
+ *
+ * This is not run as part of the unit tests, start it with <code>java ... EEPDecodeBenchmark [iterations]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class EEPDecodeBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private static class Telegram {
+        final String name;
+        final ERP1Message message;
+        final int func;
+        final int type;
+        final String channelId;
+        final boolean trigger;
+
+        Telegram(String name, int func, int type, String channelId, boolean trigger, byte... payload) {
+            this.name = name;
+            this.func = func;
+            this.type = type;
+            this.channelId = channelId;
+            this.trigger = trigger;
+            this.message = new ERP1Message(payload.length, 0, payload);
+        }
+    }
+
+    private static final Telegram[] TELEGRAMS = new Telegram[] {
+            // temperature sensor 0..40°C, 20.9°C
+            new Telegram("A5-02-05", 0x02, 0x05, CHANNEL_TEMPERATURE, false, (byte) 0xA5, 0x00, 0x00, 0x7A, 0x08,
+                    0x01, (byte) 0x82, 0x3C, 0x41, 0x00),
+            // window contact closed
+            new Telegram("D5-00-01", 0x00, 0x01, CHANNEL_CONTACT, false, (byte) 0xD5, 0x09, 0x01, (byte) 0x81, 0x3F,
+                    0x12, 0x00),
+            // rocker switch A0 pressed
+            new Telegram("F6-02-01", 0x02, 0x01, CHANNEL_ROCKERSWITCH_CHANNELA, true, (byte) 0xF6, 0x30, (byte) 0xFE,
+                    (byte) 0xF8, 0x12, 0x34, 0x30) };
+
+    private static int decode(Telegram telegram, Configuration config) {
+        EEPType eepType = EEPType.getType(telegram.message.getRORG(), telegram.func, telegram.type, 0);
+        EEP eep = EEPFactory.buildEEP(eepType, telegram.message);
+
+        if (telegram.trigger) {
+            String event = eep.convertToEvent(telegram.channelId, telegram.channelId, null, config);
+            return event != null ? 1 : 0;
+        }
+
+        return eep.convertToState(telegram.channelId, telegram.channelId, config, UnDefType.UNDEF) != UnDefType.UNDEF
+                ? 1
+                : 0;
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        Configuration config = new Configuration();
+
+        for (Telegram telegram : TELEGRAMS) {
+            if (telegram.message.getRORG() == RORG.Unknown || decode(telegram, config) == 0) {
+                throw new IllegalStateException("Telegram " + telegram.name + " could not be decoded");
+            }
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Telegram telegram : TELEGRAMS) {
+                int decoded = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    decoded += decode(telegram, config);
+                }
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("Round %d %s: %.0f ns/telegram, %.0f telegrams/s (%d decoded)%n", round + 1,
+                        telegram.name, (double) elapsed / iterations, iterations * 1e9 / elapsed, decoded);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import static org.junit.Assert.*;
+import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
+
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_05;
+import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
+
+/**
+ * Tests cases for the lookups of {@link EEPType}
+ *
+ * @author agent - Initial contribution
+ */
+public class EEPTypeTest {
+
+    @Test
+    public void getTypeByEEP() {
+        assertEquals(EEPType.TemperatureSensor_A5_02_05, EEPType.getType(RORG._4BS, 0x02, 0x05, 0));
+        assertEquals(EEPType.ContactAndSwitch01, EEPType.getType(RORG._1BS, 0x00, 0x01, 0));
+        assertEquals(EEPType.RockerSwitch2RockerStyle1, EEPType.getType(RORG.RPS, 0x02, 0x01, 0));
+        assertNull(EEPType.getType(RORG._4BS, 0x3E, 0x01, 0));
+        assertNull(EEPType.getType(RORG._4BS, -2, 0x05, 0));
+    }
+
+    @Test
+    public void getTypeByManufacturer() {
+        assertEquals(EEPType.SwitchWithEnergyMeasurment_0F_NODON, EEPType.getType(RORG.VLD, 0x01, 0x0F, NODONID));
+        assertEquals(EEPType.SwitchWithEnergyMeasurment_0F, EEPType.getType(RORG.VLD, 0x01, 0x0F, 0));
+
+        // Unknown manufacturer falls back to the first matching EEP
+        assertEquals(EEPType.SwitchWithEnergyMeasurment_0F_NODON, EEPType.getType(RORG.VLD, 0x01, 0x0F, 0x123));
+    }
+
+    @Test
+    public void getTypeByIdAndClass() {
+        assertEquals(EEPType.TemperatureSensor_A5_02_05, EEPType.getType("A5_02_05"));
+        assertEquals(EEPType.TemperatureSensor_A5_02_05, EEPType.getType(A5_02_05.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getTypeByUnknownId() {
+        EEPType.getType("A5_3E_01");
+    }
+
+    @Test
+    public void isChannelSupported() {
+        assertTrue(EEPType.TemperatureSensor_A5_02_05.isChannelSupported(CHANNEL_TEMPERATURE, CHANNEL_TEMPERATURE));
+        assertTrue(EEPType.TemperatureSensor_A5_02_05.isChannelSupported("otherId", CHANNEL_TEMPERATURE));
+        assertTrue(EEPType.TemperatureSensor_A5_02_05.isChannelSupported(CHANNEL_RSSI, "otherType"));
+        assertFalse(EEPType.ContactAndSwitch01.isChannelSupported("otherId", CHANNEL_TEMPERATURE));
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Replays a recorded ESP3 byte stream through the {@link ESP3PacketDecoder} and reports the decoded packets per
+ * second and the allocated bytes per packet.
+ *
+ * This is not run as part of the unit tests, start it with
+ * <code>java ... ESP3PacketDecoderBenchmark [capture file] [repetitions]</code>. The capture file contains the raw
+ * bytes received from the gateway, without it a stream of RPS, 1BS, 4BS and VLD telegrams is generated.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3PacketDecoderBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final int READ_SIZE = 64;
+
+    private static byte[] generateStream() {
+        byte[][] telegrams = new byte[][] { ESP3PacketDecoderTest.RPS_TELEGRAM,
+                ESP3PacketDecoderTest.esp3Packet(0x01,
+                        new byte[] { (byte) 0xD5, 0x09, 0x01, (byte) 0x81, 0x3F, 0x12, 0x00 },
+                        new byte[] { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x44, 0x00 }),
+                ESP3PacketDecoderTest.esp3Packet(0x01,
+                        new byte[] { (byte) 0xA5, 0x00, 0x00, 0x7A, 0x08, 0x01, (byte) 0x82, 0x3C, 0x41, 0x00 },
+                        new byte[] { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x3A, 0x00 }),
+                ESP3PacketDecoderTest.esp3Packet(0x01,
+                        new byte[] { (byte) 0xD2, 0x04, 0x60, (byte) 0x80, 0x01, (byte) 0x94, 0x1E, 0x2F, 0x00 },
+                        new byte[] { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x50, 0x00 }),
+                ESP3PacketDecoderTest.RESPONSE };
+
+        byte[] stream = new byte[0];
+        for (int i = 0; i < 1000; i++) {
+            stream = Helper.concatAll(stream, telegrams);
+        }
+        return stream;
+    }
+
+    private static long allocatedBytes(ThreadMXBean threadBean, Method method) {
+        if (method == null) {
+            return 0;
+        }
+        try {
+            return (long) method.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    private static long replay(ESP3PacketDecoder decoder, byte[] stream) throws IOException {
+        long[] packets = new long[1];
+        try (InputStream inputStream = new ByteArrayInputStream(stream)) {
+            int bytesRead;
+            while ((bytesRead = inputStream.read(decoder.getReceiveBuffer(), decoder.getReceiveOffset(),
+                    Math.min(READ_SIZE, decoder.getReceiveLength()))) > 0) {
+                decoder.decode(bytesRead, packet -> packets[0]++);
+            }
+        }
+        return packets[0];
+    }
+
+    public static void main(String[] args) throws Exception {
+        byte[] stream = args.length > 0 ? Files.readAllBytes(Paths.get(args[0])) : generateStream();
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        // getThreadAllocatedBytes is only available on HotSpot
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Method allocatedBytesMethod = null;
+        try {
+            allocatedBytesMethod = Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            System.out.println("Allocations can not be measured on this JVM");
+        }
+
+        ESP3PacketDecoder decoder = new ESP3PacketDecoder();
+        for (int round = 0; round < ROUNDS; round++) {
+            long packets = 0;
+            long allocated = allocatedBytes(threadBean, allocatedBytesMethod);
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                packets += replay(decoder, stream);
+            }
+            long elapsed = System.nanoTime() - start;
+            allocated = allocatedBytes(threadBean, allocatedBytesMethod) - allocated;
+
+            System.out.printf("Round %d: %d packets, %.0f packets/s, %.1f bytes allocated/packet%n", round + 1,
+                    packets, packets * 1e9 / elapsed, packets == 0 ? 0.0 : (double) allocated / packets);
+        }
+    }
+}
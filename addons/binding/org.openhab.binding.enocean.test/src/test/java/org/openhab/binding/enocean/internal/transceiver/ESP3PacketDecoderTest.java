@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet.ESPPacketType;
+import org.openhab.binding.enocean.internal.messages.Response;
+
+/**
+ * Tests cases for {@link ESP3PacketDecoder}
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3PacketDecoderTest {
+
+    /**
+     * RPS telegram of a rocker switch, sender 0xFEF81234
+     */
+    static final byte[] RPS_TELEGRAM = esp3Packet(0x01,
+            new byte[] { (byte) 0xF6, 0x30, (byte) 0xFE, (byte) 0xF8, 0x12, 0x34, 0x30 },
+            new byte[] { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x2D, 0x00 });
+
+    /**
+     * RET_OK response
+     */
+    static final byte[] RESPONSE = esp3Packet(0x02, new byte[] { 0x00 }, new byte[0]);
+
+    private final ESP3PacketDecoder decoder = new ESP3PacketDecoder();
+    private final List<ESP3Packet> packets = new ArrayList<>();
+
+    /**
+     * Creates a serialized ESP3 packet
+     */
+    static byte[] esp3Packet(int packetType, byte[] data, byte[] optionalData) {
+        byte[] result = new byte[7 + data.length + optionalData.length];
+        result[0] = Helper.ENOCEAN_SYNC_BYTE;
+        result[1] = (byte) (data.length >> 8);
+        result[2] = (byte) data.length;
+        result[3] = (byte) optionalData.length;
+        result[4] = (byte) packetType;
+        result[5] = Helper.calcCRC8(result, 1, 4);
+        System.arraycopy(data, 0, result, 6, data.length);
+        System.arraycopy(optionalData, 0, result, 6 + data.length, optionalData.length);
+        result[result.length - 1] = Helper.calcCRC8(result, 6, data.length + optionalData.length);
+        return result;
+    }
+
+    private void receive(byte[]... chunks) {
+        for (byte[] chunk : chunks) {
+            assertTrue(decoder.getReceiveLength() >= chunk.length);
+            System.arraycopy(chunk, 0, decoder.getReceiveBuffer(), decoder.getReceiveOffset(), chunk.length);
+            decoder.decode(chunk.length, packets::add);
+        }
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        byte[] result = new byte[0];
+        for (byte[] array : arrays) {
+            result = Helper.concatAll(result, array);
+        }
+        return result;
+    }
+
+    @Test
+    public void decodesPackets() {
+        receive(concat(RPS_TELEGRAM, RESPONSE));
+
+        assertEquals(2, packets.size());
+        ERP1Message message = (ERP1Message) packets.get(0);
+        assertEquals(RORG.RPS, message.getRORG());
+        assertArrayEquals(new byte[] { (byte) 0xFE, (byte) 0xF8, 0x12, 0x34 }, message.getSenderId());
+        assertEquals(7, message.getPayload().length);
+        assertEquals(7, message.getOptionalPayload().length);
+        assertEquals(ESPPacketType.RESPONSE, packets.get(1).getPacketType());
+        assertTrue(((Response) packets.get(1)).isOK());
+        assertEquals(2L, decoder.getPacketCount());
+    }
+
+    @Test
+    public void packetSplitOverReads() {
+        for (byte b : RPS_TELEGRAM) {
+            assertEquals(0, packets.size());
+            receive(new byte[] { b });
+        }
+
+        assertEquals(1, packets.size());
+        assertEquals(RORG.RPS, ((ERP1Message) packets.get(0)).getRORG());
+    }
+
+    @Test
+    public void resynchronizesAfterGarbage() {
+        receive(new byte[] { 0x00, 0x55, 0x00, 0x07 }, concat(new byte[] { 0x55, 0x12 }, RPS_TELEGRAM));
+
+        assertEquals(1, packets.size());
+        assertEquals(RORG.RPS, ((ERP1Message) packets.get(0)).getRORG());
+    }
+
+    @Test
+    public void dataCrcError() {
+        byte[] corrupted = RPS_TELEGRAM.clone();
+        corrupted[8] ^= 0x01;
+        receive(corrupted, RESPONSE);
+
+        assertEquals(1, packets.size());
+        assertEquals(ESPPacketType.RESPONSE, packets.get(0).getPacketType());
+        assertEquals(1L, decoder.getCrcErrorCount());
+    }
+
+    @Test
+    public void unknownPacketTypeIsSkipped() {
+        receive(concat(esp3Packet(0x0B, new byte[] { 0x01 }, new byte[0]), RESPONSE));
+
+        assertEquals(1, packets.size());
+        assertEquals(ESPPacketType.RESPONSE, packets.get(0).getPacketType());
+    }
+}
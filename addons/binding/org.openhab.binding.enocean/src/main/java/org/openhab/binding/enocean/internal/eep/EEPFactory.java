@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.enocean.internal.eep;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -35,6 +38,28 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
+    /**
+     * Constructors of the EEPs which can be built from a received message. Resolved once, so that decoding a
+     * message does not have to look up the constructor again.
+     */
+    private static final Map<EEPType, Constructor<? extends EEP>> RECEIVING_CONSTRUCTORS = new EnumMap<>(
+            EEPType.class);
+
+    static {
+        for (EEPType eepType : EEPType.values()) {
+            Class<? extends EEP> cl = eepType.getEEPClass();
+            if (cl == null) {
+                continue;
+            }
+
+            try {
+                RECEIVING_CONSTRUCTORS.put(eepType, cl.getConstructor(ERP1Message.class));
+            } catch (NoSuchMethodException | SecurityException e) {
+                // EEP can only be sent
+            }
+        }
+    }
+
     public static EEP createEEP(EEPType eepType) {
 
         try {
@@ -50,13 +75,17 @@ public class EEPFactory {
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
+            if (eepType.getEEPClass() == null) {
                 throw new IllegalArgumentException("Message " + eepType + " not implemented");
             }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
+
+            Constructor<? extends EEP> constructor = RECEIVING_CONSTRUCTORS.get(eepType);
+            if (constructor == null) {
+                throw new NoSuchMethodException(eepType.getEEPClass().getName() + " cannot be built from a message");
+            }
+            return constructor.newInstance(packet);
         } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+                | NoSuchMethodException e) {
             logger.error("Cannot instantiate EEP {}-{}-{}: {}",
                     HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
                     HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
@@ -15,8 +15,11 @@ package org.openhab.binding.enocean.internal.eep;
 import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.smarthome.config.core.Configuration;
@@ -433,6 +436,29 @@ public enum EEPType {
 
     private boolean supportsRefresh;
 
+    private Set<String> supportedChannelTypeIds = new HashSet<>();
+
+    // Lookup tables, built once after all constants have been created
+    private static final Map<String, EEPType> TYPES_BY_ID = new HashMap<>();
+    private static final Map<Class<? extends EEP>, EEPType> TYPES_BY_CLASS = new HashMap<>();
+    private static final Map<Long, EEPType> TYPES_BY_EEP = new HashMap<>();
+    private static final Map<Long, EEPType> TYPES_BY_EEP_ANY_MANUFACTURER = new HashMap<>();
+
+    static {
+        // The first constant wins on duplicates, as the former linear searches did
+        for (EEPType eep : values()) {
+            TYPES_BY_ID.putIfAbsent(eep.getId(), eep);
+            if (eep.eepClass != null) {
+                TYPES_BY_CLASS.putIfAbsent(eep.eepClass, eep);
+            }
+            TYPES_BY_EEP.putIfAbsent(eepKey(eep.rorg, eep.func, eep.type, eep.manufactorId), eep);
+            TYPES_BY_EEP_ANY_MANUFACTURER.putIfAbsent(eepKey(eep.rorg, eep.func, eep.type, -1), eep);
+            for (EnOceanChannelDescription channel : eep.supportedChannels.values()) {
+                eep.supportedChannelTypeIds.add(channel.channelTypeUID.getId());
+            }
+        }
+    }
+
     EEPType(RORG rorg, int func, int type, boolean supportsRefresh, Class<? extends EEP> eepClass,
             ThingTypeUID thingTypeUID, String... channelIds) {
         this(rorg, func, type, supportsRefresh, eepClass, thingTypeUID, -1, channelIds);
@@ -532,8 +558,7 @@ public enum EEPType {
     }
 
     public boolean isChannelSupported(String channelId, String channelTypeId) {
-        return supportedChannels.containsKey(channelId)
-                || supportedChannels.values().stream().anyMatch(c -> c.channelTypeUID.getId().equals(channelTypeId));
+        return supportedChannels.containsKey(channelId) || supportedChannelTypeIds.contains(channelTypeId);
     }
 
     public ThingTypeUID getThingTypeUID() {
@@ -567,37 +592,40 @@ public enum EEPType {
     }
 
     public static EEPType getType(String receivingEEPId) {
-        for (EEPType eep : values()) {
-            if (eep.getId().equals(receivingEEPId)) {
-                return eep;
-            }
+        EEPType eep = TYPES_BY_ID.get(receivingEEPId);
+        if (eep != null) {
+            return eep;
         }
 
         throw new IllegalArgumentException(String.format("EEP with id {} could not be found", receivingEEPId));
     }
 
     public static EEPType getType(Class<? extends EEP> eepClass) {
-        for (EEPType eep : values()) {
-            if (eep.eepClass != null && eep.eepClass.equals(eepClass)) {
-                return eep;
-            }
+        EEPType eep = TYPES_BY_CLASS.get(eepClass);
+        if (eep != null) {
+            return eep;
         }
 
         throw new IllegalArgumentException(String.format("EEP with class {} could not be found", eepClass));
     }
 
     public static EEPType getType(RORG rorg, int func, int type, int manufId) {
-        EEPType fallback = null;
+        if (func < 0 || func > 0xFF || type < 0 || type > 0xFF) {
+            return null;
+        }
 
-        for (EEPType eep : values()) {
-            if (eep.rorg == rorg && eep.func == func && eep.type == type && eep.manufactorId == manufId) {
-                return eep;
-            } else if (fallback == null && eep.rorg == rorg && eep.func == func && eep.type == type) {
-                fallback = eep;
-            }
+        EEPType eep = TYPES_BY_EEP.get(eepKey(rorg, func, type, manufId));
+        if (eep != null) {
+            return eep;
         }
 
-        return fallback;
+        // fall back to the first EEP with a matching RORG, func and type
+        return TYPES_BY_EEP_ANY_MANUFACTURER.get(eepKey(rorg, func, type, -1));
+    }
+
+    private static long eepKey(RORG rorg, int func, int type, int manufId) {
+        return ((rorg.getValue() & 0xFFL) << 40) | ((func & 0xFFL) << 32) | ((type & 0xFFL) << 24)
+                | (manufId & 0xFFFFFFL);
     }
 
 }
@@ -149,8 +149,10 @@ public class EnOceanBaseSensorHandler extends EnOceanBaseThingHandler implements
             }
 
             EEP eep = EEPFactory.buildEEP(receivingEEPType, (ERP1Message) packet);
-            logger.debug("ESP Packet payload {} for {} received", HexUtils.bytesToHex(packet.getPayload()),
-                    config.enoceanId);
+            if (logger.isDebugEnabled()) {
+                logger.debug("ESP Packet payload {} for {} received", HexUtils.bytesToHex(packet.getPayload()),
+                        config.enoceanId);
+            }
 
             if (eep.isValid()) {
 
@@ -35,6 +35,8 @@ public class ERP1Message extends ESP3Packet {
         UTE((byte) 0xD4, -1),
         MSC((byte) 0xD1, -1);
 
+        private static final RORG[] VALUES = values();
+
         private byte value;
         private int dataLength;
 
@@ -52,7 +54,7 @@ public class ERP1Message extends ESP3Packet {
         }
 
         public static RORG getRORG(byte value) {
-            for (RORG t : RORG.values()) {
+            for (RORG t : VALUES) {
                 if (t.value == value) {
                     return t;
                 }
@@ -72,7 +74,11 @@ public class ERP1Message extends ESP3Packet {
     }
 
     public ERP1Message(int dataLength, int optionalDataLength, byte[] payload) {
-        super(dataLength, optionalDataLength, ESPPacketType.RADIO_ERP1, payload);
+        this(dataLength, optionalDataLength, payload, 0);
+    }
+
+    public ERP1Message(int dataLength, int optionalDataLength, byte[] buffer, int offset) {
+        super(dataLength, optionalDataLength, ESPPacketType.RADIO_ERP1, buffer, offset);
 
         teachIn = false;
         senderId = new byte[0];
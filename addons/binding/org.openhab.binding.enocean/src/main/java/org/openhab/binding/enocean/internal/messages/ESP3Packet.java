@@ -44,6 +44,8 @@ public abstract class ESP3Packet {
         RADIO_MESSAGE((byte) 0x09),
         RADIO_ERP2((byte) 0x0A);
 
+        private static final ESPPacketType[] VALUES = values();
+
         private byte value;
 
         private ESPPacketType(byte value) {
@@ -51,7 +53,7 @@ public abstract class ESP3Packet {
         }
 
         public static boolean hasValue(byte value) {
-            for (ESPPacketType p : ESPPacketType.values()) {
+            for (ESPPacketType p : VALUES) {
                 if (p.value == value) {
                     return true;
                 }
@@ -61,7 +63,7 @@ public abstract class ESP3Packet {
         }
 
         public static ESPPacketType getPacketType(byte packetType) {
-            for (ESPPacketType p : ESPPacketType.values()) {
+            for (ESPPacketType p : VALUES) {
                 if (p.value == packetType) {
                     return p;
                 }
@@ -77,30 +79,47 @@ public abstract class ESP3Packet {
     }
 
     public ESP3Packet(int dataLength, int optionalDataLength, byte packetType, byte[] payload) {
+        this(dataLength, optionalDataLength, packetType, payload, 0);
+    }
+
+    /**
+     * Creates a packet from the data and optional data in a receive buffer.
+     *
+     * @param dataLength length of the data
+     * @param optionalDataLength length of the optional data
+     * @param packetType the ESP3 packet type
+     * @param buffer buffer containing the data followed by the optional data
+     * @param offset position of the data in the buffer
+     */
+    public ESP3Packet(int dataLength, int optionalDataLength, byte packetType, byte[] buffer, int offset) {
 
         if (!ESPPacketType.hasValue(packetType)) {
             throw new InvalidParameterException("Packet type is unknown");
         }
 
-        if (dataLength + optionalDataLength > payload.length) {
+        if (dataLength + optionalDataLength > buffer.length - offset) {
             throw new InvalidParameterException("data length does not match provided lengths");
         }
 
         setPacketType(ESPPacketType.getPacketType(packetType));
 
         this.payload = new byte[dataLength];
-        System.arraycopy(payload, 0, this.payload, 0, dataLength);
+        System.arraycopy(buffer, offset, this.payload, 0, dataLength);
 
         if (optionalDataLength > 0) {
             this.optionalPayload = new byte[optionalDataLength];
-            System.arraycopy(payload, dataLength, optionalPayload, 0, optionalDataLength);
+            System.arraycopy(buffer, offset + dataLength, optionalPayload, 0, optionalDataLength);
         } else {
             this.optionalPayload = new byte[0];
         }
     }
 
     public ESP3Packet(int dataLength, int optionalDataLength, ESPPacketType packetType, byte[] payload) {
-        this(dataLength, optionalDataLength, packetType.value, payload);
+        this(dataLength, optionalDataLength, packetType.value, payload, 0);
+    }
+
+    public ESP3Packet(int dataLength, int optionalDataLength, ESPPacketType packetType, byte[] buffer, int offset) {
+        this(dataLength, optionalDataLength, packetType.value, buffer, offset);
     }
 
     public void setPacketType(ESPPacketType packetTye) {
@@ -50,13 +50,20 @@ public class ESP3PacketFactory {
     }
 
     public static ESP3Packet BuildPacket(int dataLength, int optionalDataLength, byte packetType, byte[] payload) {
-        ESPPacketType type = ESPPacketType.getPacketType(packetType);
+        return BuildPacket(dataLength, optionalDataLength, packetType, payload, 0);
+    }
+
+    public static ESP3Packet BuildPacket(int dataLength, int optionalDataLength, byte packetType, byte[] buffer,
+            int offset) {
+        if (!ESPPacketType.hasValue(packetType)) {
+            return null;
+        }
 
-        switch (type) {
+        switch (ESPPacketType.getPacketType(packetType)) {
             case RESPONSE:
-                return new Response(dataLength, optionalDataLength, payload);
+                return new Response(dataLength, optionalDataLength, buffer, offset);
             case RADIO_ERP1:
-                return new ERP1Message(dataLength, optionalDataLength, payload);
+                return new ERP1Message(dataLength, optionalDataLength, buffer, offset);
             default:
                 return null;
         }
@@ -33,6 +33,8 @@ public class Response extends ESP3Packet {
         RET_BASEID_OUT_OF_RANGE((byte) 0x90),
         RET_BASEID_MAX_REACHED((byte) 0x91);
 
+        private static final ResponseType[] VALUES = values();
+
         private byte value;
 
         ResponseType(byte value) {
@@ -44,7 +46,7 @@ public class Response extends ESP3Packet {
         }
 
         public static ResponseType getResponsetype(byte value) {
-            for (ResponseType t : ResponseType.values()) {
+            for (ResponseType t : VALUES) {
                 if (t.value == value) {
                     return t;
                 }
@@ -59,7 +61,11 @@ public class Response extends ESP3Packet {
     protected boolean _isValid = false;
 
     Response(int dataLength, int optionalDataLength, byte[] payload) {
-        super(dataLength, optionalDataLength, ESPPacketType.RESPONSE, payload);
+        this(dataLength, optionalDataLength, payload, 0);
+    }
+
+    Response(int dataLength, int optionalDataLength, byte[] buffer, int offset) {
+        super(dataLength, optionalDataLength, ESPPacketType.RESPONSE, buffer, offset);
 
         try {
             responseType = ResponseType.getResponsetype(payload[0]);
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import org.openhab.binding.enocean.internal.messages.ESP3Packet;
+import org.openhab.binding.enocean.internal.messages.ESP3PacketFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Assembles ESP3 packets from the bytes received from an EnOcean gateway.
+ *
+ * The bytes are read in blocks into a receive buffer, which is reused for all packets. Sync byte, header CRC8 and
+ * data CRC8 are checked in place, the data of a valid packet is copied once from the receive buffer into the
+ * {@link ESP3Packet}. After a CRC error the decoder resynchronizes at the next sync byte.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3PacketDecoder {
+
+    private static final int SYNC_LENGTH = 1;
+    private static final int HEADER_CRC_LENGTH = 1;
+    private static final int DATA_CRC_LENGTH = 1;
+    private static final int DATA_OFFSET = SYNC_LENGTH + Helper.ENOCEAN_HEADER_LENGTH + HEADER_CRC_LENGTH;
+
+    /**
+     * Fits the largest possible packet
+     */
+    static final int BUFFER_SIZE = DATA_OFFSET + Helper.ENOCEAN_MAX_DATA + DATA_CRC_LENGTH;
+
+    private final Logger logger = LoggerFactory.getLogger(ESP3PacketDecoder.class);
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private long packetCount = 0;
+    private long crcErrorCount = 0;
+
+    /**
+     * Returns the array to read the next bytes into.
+     *
+     * @see #getReceiveOffset()
+     * @see #getReceiveLength()
+     */
+    public byte[] getReceiveBuffer() {
+        return buffer.array();
+    }
+
+    /**
+     * Returns the position in the receive buffer for the next bytes.
+     */
+    public int getReceiveOffset() {
+        return buffer.position();
+    }
+
+    /**
+     * Returns the maximum number of bytes which can be read into the receive buffer.
+     */
+    public int getReceiveLength() {
+        return buffer.remaining();
+    }
+
+    /**
+     * Decodes all complete packets in the receive buffer after new bytes have been read into it. The bytes of an
+     * incomplete packet are kept for the next call.
+     *
+     * @param bytesRead the number of bytes which have been read into the receive buffer
+     * @param packetConsumer is called for each valid packet of a known type
+     */
+    public void decode(int bytesRead, Consumer<ESP3Packet> packetConsumer) {
+        buffer.position(buffer.position() + bytesRead);
+        buffer.flip();
+
+        byte[] data = buffer.array();
+        while (true) {
+            // Skip everything up to the next sync byte
+            int position = buffer.position();
+            int limit = buffer.limit();
+            while (position < limit && data[position] != Helper.ENOCEAN_SYNC_BYTE) {
+                position++;
+            }
+            buffer.position(position);
+
+            if (limit - position < DATA_OFFSET) {
+                break;
+            }
+
+            int headerPosition = position + SYNC_LENGTH;
+            if (Helper.calcCRC8(data, headerPosition, Helper.ENOCEAN_HEADER_LENGTH) != data[headerPosition
+                    + Helper.ENOCEAN_HEADER_LENGTH]) {
+                logger.trace("CrC8 header check not successful");
+                crcErrorCount++;
+                buffer.position(position + SYNC_LENGTH);
+                continue;
+            }
+
+            int dataLength = ((data[headerPosition] & 0xFF) << 8) | (data[headerPosition + 1] & 0xFF);
+            int optionalLength = data[headerPosition + 2] & 0xFF;
+            byte packetType = data[headerPosition + 3];
+            if (dataLength + optionalLength == 0) {
+                buffer.position(position + SYNC_LENGTH);
+                continue;
+            }
+
+            int packetLength = DATA_OFFSET + dataLength + optionalLength + DATA_CRC_LENGTH;
+            if (limit - position < packetLength) {
+                // Wait for the rest of the packet
+                break;
+            }
+
+            int dataPosition = position + DATA_OFFSET;
+            if (Helper.calcCRC8(data, dataPosition, dataLength + optionalLength) != data[dataPosition + dataLength
+                    + optionalLength]) {
+                logger.trace("esp packet malformed");
+                crcErrorCount++;
+                buffer.position(position + SYNC_LENGTH);
+                continue;
+            }
+
+            buffer.position(position + packetLength);
+            packetCount++;
+
+            ESP3Packet packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength, packetType, data,
+                    dataPosition);
+            if (packet != null) {
+                packetConsumer.accept(packet);
+            } else {
+                logger.trace("Unknown ESP3Packet type {}", packetType);
+            }
+        }
+
+        buffer.compact();
+    }
+
+    /**
+     * Returns the number of valid packets received.
+     */
+    public long getPacketCount() {
+        return packetCount;
+    }
+
+    /**
+     * Returns the number of header or data CRC errors.
+     */
+    public long getCrcErrorCount() {
+        return crcErrorCount;
+    }
+}
@@ -116,9 +116,9 @@ public class EnOceanSerialTransceiver extends EnOceanTransceiver implements Seri
     }
 
     @Override
-    protected int read(byte[] buffer, int length) {
+    protected int read(byte[] buffer, int offset, int length) {
         try {
-            return this.inputStream.read(buffer, 0, length);
+            return this.inputStream.read(buffer, offset, length);
         } catch (IOException e) {
             return 0;
         }
@@ -32,7 +32,6 @@ import org.openhab.binding.enocean.internal.EnOceanException;
 import org.openhab.binding.enocean.internal.messages.ERP1Message;
 import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
 import org.openhab.binding.enocean.internal.messages.ESP3Packet;
-import org.openhab.binding.enocean.internal.messages.ESP3PacketFactory;
 import org.openhab.binding.enocean.internal.messages.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -132,12 +131,6 @@ public abstract class EnOceanTransceiver {
     private byte[] filteredDeviceId;
     TransceiverErrorListener errorListener;
 
-    enum ReadingState {
-        WaitingForSyncByte,
-        ReadingHeader,
-        ReadingData
-    }
-
     public EnOceanTransceiver(TransceiverErrorListener errorListener, ScheduledExecutorService scheduler) {
 
         requestQueue = new RequestQueue(scheduler);
@@ -181,192 +174,85 @@ public abstract class EnOceanTransceiver {
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        ESP3PacketDecoder decoder = new ESP3PacketDecoder();
 
         while (readingTask != null && !readingTask.isCancelled()) {
-
-            int bytesRead = read(buffer, 1);
-            if (bytesRead > 0) {
-                // if byte == sync byte => processMessage
-                processMessage(buffer[0]);
-            }
-        }
-    }
-
-    protected abstract int read(byte[] buffer, int length);
-
-    byte[] dataBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
-    ReadingState state = ReadingState.WaitingForSyncByte; // we already received sync byte when we get called
-    int currentPosition = 0;
-    int dataLength = -1;
-    int optionalLength = -1;
-    byte packetType = -1;
-
-    private void processMessage(byte firstByte) {
-
-        byte[] readingBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
-        byte _byte;
-
-        try {
-
-            readingBuffer[0] = firstByte;
-
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
+            int bytesRead = read(decoder.getReceiveBuffer(), decoder.getReceiveOffset(), decoder.getReceiveLength());
             if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
+                errorListener.ErrorOccured(new IOException("could not read from inputstream"));
+                return;
             }
 
             if (readingTask == null || readingTask.isCancelled()) {
                 return;
             }
 
-            bytesRead++;
-            for (int p = 0; p < bytesRead; p++) {
-                _byte = readingBuffer[p];
+            if (bytesRead > 0) {
+                decoder.decode(bytesRead, this::handlePacket);
+            }
+        }
+    }
 
-                switch (state) {
-                    case WaitingForSyncByte:
-                        if (_byte == Helper.ENOCEAN_SYNC_BYTE) {
-                            state = ReadingState.ReadingHeader;
-                            logger.trace("Received Sync Byte");
-                        }
-                        break;
-                    case ReadingHeader:
-                        if (currentPosition == Helper.ENOCEAN_HEADER_LENGTH) {
-                            if (Helper.checkCRC8(dataBuffer, Helper.ENOCEAN_HEADER_LENGTH, _byte)
-                                    && ((dataBuffer[0] & 0xFF) << 8) + (dataBuffer[1] & 0xFF)
-                                            + (dataBuffer[2] & 0xFF) > 0) {
-
-                                state = ReadingState.ReadingData;
-
-                                dataLength = ((dataBuffer[0] & 0xFF << 8) | (dataBuffer[1] & 0xFF));
-                                optionalLength = dataBuffer[2] & 0xFF;
-                                packetType = dataBuffer[3];
-                                currentPosition = 0;
-
-                                if (packetType == 3) {
-                                    logger.trace("Received sub_msg");
-                                }
+    /**
+     * Reads the available bytes into the buffer. Blocks until at least one byte is available or the receive timeout
+     * elapses.
+     *
+     * @return the number of bytes read, 0 if no bytes are available and -1 at the end of the stream
+     */
+    protected abstract int read(byte[] buffer, int offset, int length);
+
+    private void handlePacket(ESP3Packet packet) {
+        switch (packet.getPacketType()) {
+            case COMMON_COMMAND:
+                break;
+            case EVENT:
+                break;
+            case RADIO_ERP1: {
+                ERP1Message msg = (ERP1Message) packet;
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("{} with RORG {} for {} payload {}{} received", packet.getPacketType().name(),
+                            msg.getRORG().name(), HexUtils.bytesToHex(msg.getSenderId()),
+                            HexUtils.bytesToHex(packet.getPayload()), HexUtils.bytesToHex(packet.getOptionalPayload()));
+                }
 
-                                logger.trace(">> Received header, data length {} optional length {} packet type {}",
-                                        dataLength, optionalLength, packetType);
-                            } else {
-                                // check if we find a sync byte in current buffer
-                                int copyFrom = -1;
-                                for (int i = 0; i < Helper.ENOCEAN_HEADER_LENGTH; i++) {
-                                    if (dataBuffer[i] == Helper.ENOCEAN_SYNC_BYTE) {
-                                        copyFrom = i + 1;
-                                        break;
-                                    }
-                                }
+                informListeners(msg);
+            }
+                break;
+            case RADIO_ERP2:
+                break;
+            case RADIO_MESSAGE:
+                break;
+            case RADIO_SUB_TEL:
+                break;
+            case REMOTE_MAN_COMMAND:
+                break;
+            case RESPONSE: {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("{} with code {} payload {}{} received", packet.getPacketType().name(),
+                            ((Response) packet).getResponseType().name(), HexUtils.bytesToHex(packet.getPayload()),
+                            HexUtils.bytesToHex(packet.getOptionalPayload()));
+                }
 
-                                if (copyFrom != -1) {
-                                    System.arraycopy(dataBuffer, copyFrom, dataBuffer, 0,
-                                            Helper.ENOCEAN_HEADER_LENGTH - copyFrom);
-                                    state = ReadingState.ReadingHeader;
-                                    currentPosition = Helper.ENOCEAN_HEADER_LENGTH - copyFrom;
-                                    dataBuffer[currentPosition++] = _byte;
-                                } else {
-                                    currentPosition = 0;
-                                    state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                            : ReadingState.WaitingForSyncByte;
-                                }
-                                logger.trace("CrC8 header check not successful");
-                            }
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
-                        }
-                        break;
-                    case ReadingData:
-                        if (currentPosition == dataLength + optionalLength) {
-                            if (Helper.checkCRC8(dataBuffer, dataLength + optionalLength, _byte)) {
-                                state = ReadingState.WaitingForSyncByte;
-                                ESP3Packet packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength,
-                                        packetType, dataBuffer);
-
-                                if (packet != null) {
-                                    switch (packet.getPacketType()) {
-                                        case COMMON_COMMAND:
-                                            break;
-                                        case EVENT:
-                                            break;
-                                        case RADIO_ERP1: {
-                                            ERP1Message msg = (ERP1Message) packet;
-
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
-
-                                            logger.debug("{} with RORG {} for {} payload {} received",
-                                                    packet.getPacketType().name(), msg.getRORG().name(),
-                                                    HexUtils.bytesToHex(msg.getSenderId()), HexUtils.bytesToHex(d));
-
-                                            informListeners(msg);
-                                        }
-                                            break;
-                                        case RADIO_ERP2:
-                                            break;
-                                        case RADIO_MESSAGE:
-                                            break;
-                                        case RADIO_SUB_TEL:
-                                            break;
-                                        case REMOTE_MAN_COMMAND:
-                                            break;
-                                        case RESPONSE: {
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
-
-                                            logger.debug("{} with code {} payload {} received",
-                                                    packet.getPacketType().name(),
-                                                    ((Response) packet).getResponseType().name(),
-                                                    HexUtils.bytesToHex(d));
-
-                                            if (currentRequest != null) {
-                                                if (currentRequest.ResponseListener != null) {
-                                                    currentRequest.ResponsePacket = (Response) packet;
-                                                    try {
-                                                        currentRequest.ResponseListener
-                                                                .handleResponse(currentRequest.ResponsePacket);
-                                                    } catch (Exception e) {
-                                                    }
-
-                                                    logger.trace("Response handled");
-                                                } else {
-                                                    logger.trace("Response without listener");
-                                                }
-                                            }
-                                        }
-                                            break;
-                                        case SMART_ACK_COMMAND:
-                                            break;
-                                        default:
-                                            break;
-                                    }
-                                } else {
-                                    logger.trace("Unknown ESP3Packet");
-                                    byte[] d = new byte[dataLength + optionalLength];
-                                    System.arraycopy(dataBuffer, 0, d, 0, d.length);
-                                    logger.trace("{}", HexUtils.bytesToHex(d));
-                                }
-                            } else {
-                                state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                        : ReadingState.WaitingForSyncByte;
-                                logger.trace("esp packet malformed");
-                            }
-
-                            currentPosition = 0;
-                            dataLength = optionalLength = packetType = -1;
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
+                if (currentRequest != null) {
+                    if (currentRequest.ResponseListener != null) {
+                        currentRequest.ResponsePacket = (Response) packet;
+                        try {
+                            currentRequest.ResponseListener.handleResponse(currentRequest.ResponsePacket);
+                        } catch (Exception e) {
                         }
-                        break;
-                    default:
-                        break;
+
+                        logger.trace("Response handled");
+                    } else {
+                        logger.trace("Response without listener");
+                    }
                 }
             }
-        } catch (IOException ioexception) {
-            errorListener.ErrorOccured(ioexception);
-            return;
+                break;
+            case SMART_ACK_COMMAND:
+                break;
+            default:
+                break;
         }
     }
 
@@ -412,7 +298,10 @@ public abstract class EnOceanTransceiver {
                     }
                 }
 
-                long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
+                long s = 0;
+                for (byte b : senderId) {
+                    s = (s << 8) | (b & 0xFF);
+                }
                 HashSet<ESP3PacketListener> pl = listeners.get(s);
                 if (pl != null) {
                     pl.forEach(l -> l.espPacketReceived(msg));
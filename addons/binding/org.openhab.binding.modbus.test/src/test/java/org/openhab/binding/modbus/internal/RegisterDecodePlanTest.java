@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan.DecodedValues;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+public class RegisterDecodePlanTest {
+
+    @Test
+    public void testSameValueSharesSlot() {
+        RegisterDecodePlan plan = new RegisterDecodePlan();
+        int slot1 = plan.register(0, ValueType.INT16);
+        int slot2 = plan.register(1, ValueType.INT16);
+        int slot3 = plan.register(0, ValueType.UINT16);
+        assertThat(plan.register(0, ValueType.INT16), is(equalTo(slot1)));
+        assertThat(slot2, is(not(equalTo(slot1))));
+        assertThat(slot3, is(not(equalTo(slot1))));
+        assertThat(plan.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testDecode() {
+        RegisterDecodePlan plan = new RegisterDecodePlan();
+        int int16Slot = plan.register(0, ValueType.INT16);
+        int uint16Slot = plan.register(0, ValueType.UINT16);
+        int int32Slot = plan.register(1, ValueType.INT32);
+        int bitSlot = plan.register(17, ValueType.BIT);
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(0xffff, 1, 2);
+
+        plan.decode(registers);
+
+        DecodedValues values = plan.getDecodedValues(registers);
+        assertNotNull(values);
+        assertThat(values.getRawValue(int16Slot), is(equalTo(-1L)));
+        assertThat(values.getRawValue(uint16Slot), is(equalTo(0xffffL)));
+        assertThat(values.getRawValue(int32Slot), is(equalTo(0x10002L)));
+        assertThat(values.getRawValue(bitSlot), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testValueOutOfBoundsIsNotDecoded() {
+        RegisterDecodePlan plan = new RegisterDecodePlan();
+        int inBoundsSlot = plan.register(0, ValueType.INT16);
+        int outOfBoundsSlot = plan.register(1, ValueType.INT32);
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(5, 6);
+
+        plan.decode(registers);
+
+        DecodedValues values = plan.getDecodedValues(registers);
+        assertNotNull(values);
+        assertTrue(values.isDecoded(inBoundsSlot));
+        assertFalse(values.isDecoded(outOfBoundsSlot));
+    }
+
+    @Test
+    public void testValueRegisteredAfterDecodeIsNotDecoded() {
+        RegisterDecodePlan plan = new RegisterDecodePlan();
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(5, 6);
+        plan.decode(registers);
+        int slot = plan.register(0, ValueType.INT16);
+
+        DecodedValues values = plan.getDecodedValues(registers);
+        assertNotNull(values);
+        assertFalse(values.isDecoded(slot));
+    }
+
+    @Test
+    public void testOnlyLastRegistersAreAvailable() {
+        RegisterDecodePlan plan = new RegisterDecodePlan();
+        plan.register(0, ValueType.INT16);
+        ModbusRegisterArray registers1 = new BasicModbusRegisterArray(5);
+        ModbusRegisterArray registers2 = new BasicModbusRegisterArray(5);
+        assertNull(plan.getDecodedValues(registers1));
+
+        plan.decode(registers1);
+        plan.decode(registers2);
+
+        assertNull(plan.getDecodedValues(registers1));
+        assertNotNull(plan.getDecodedValues(registers2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetRawValueOfUndecodedSlot() {
+        RegisterDecodePlan plan = new RegisterDecodePlan();
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(5);
+        plan.decode(registers);
+        DecodedValues values = plan.getDecodedValues(registers);
+        assertNotNull(values);
+        values.getRawValue(0);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Values read by the data things of a single poller.
+ *
+ * Data things register the value they read (index and value type) and receive a slot. The poller decodes all
+ * registered values from each response in one pass with
+ * {@link ModbusBitUtilities#extractRawValueFromRegisters(ModbusRegisterArray, int, ValueType)}, before passing the
+ * response to the data things. Data things can then look up their raw value from the slot, without extracting the
+ * value themselves.
+ *
+ * Data things reading the same value share the slot. Slots are not released when data things are disposed, instead
+ * the poller creates a new plan on initialization.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RegisterDecodePlan {
+
+    /**
+     * Raw values decoded from a single response
+     *
+     * @author agent - Initial contribution
+     */
+    public static class DecodedValues {
+        private final ModbusRegisterArray registers;
+        private final long[] rawValues;
+        private final boolean[] decoded;
+
+        private DecodedValues(ModbusRegisterArray registers, long[] rawValues, boolean[] decoded) {
+            this.registers = registers;
+            this.rawValues = rawValues;
+            this.decoded = decoded;
+        }
+
+        /**
+         * @param slot slot returned by {@link RegisterDecodePlan#register(int, ValueType)}
+         * @return whether the value of the slot was decoded. Values registered after decoding, or out of bounds of
+         *         the registers, are not decoded.
+         */
+        public boolean isDecoded(int slot) {
+            return slot >= 0 && slot < decoded.length && decoded[slot];
+        }
+
+        /**
+         * @param slot slot returned by {@link RegisterDecodePlan#register(int, ValueType)}
+         * @return raw value, see
+         *         {@link ModbusBitUtilities#extractRawValueFromRegisters(ModbusRegisterArray, int, ValueType)}
+         * @throws IllegalStateException when the value of the slot was not decoded
+         */
+        public long getRawValue(int slot) {
+            if (!isDecoded(slot)) {
+                throw new IllegalStateException(String.format("Slot %d not decoded from registers %s", slot,
+                        registers));
+            }
+            return rawValues[slot];
+        }
+    }
+
+    private int[] indices = new int[0];
+    private ValueType[] types = new ValueType[0];
+
+    private volatile @Nullable DecodedValues lastDecoded;
+
+    /**
+     * Register value to decode
+     *
+     * @param extractIndex index of the value in the response, see
+     *            {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     * @param type value type
+     * @return slot of the value, to be used with {@link DecodedValues#getRawValue(int)}
+     */
+    public synchronized int register(int extractIndex, ValueType type) {
+        for (int slot = 0; slot < indices.length; slot++) {
+            if (indices[slot] == extractIndex && types[slot] == type) {
+                return slot;
+            }
+        }
+        // copy on write, decode() is not synchronized
+        int[] newIndices = Arrays.copyOf(indices, indices.length + 1);
+        ValueType[] newTypes = Arrays.copyOf(types, types.length + 1);
+        newIndices[indices.length] = extractIndex;
+        newTypes[types.length] = type;
+        types = newTypes;
+        indices = newIndices;
+        return indices.length - 1;
+    }
+
+    /**
+     * Decode all registered values from the registers
+     *
+     * Values out of bounds of the registers are not decoded.
+     *
+     * @param registers registers received from the slave
+     */
+    public void decode(ModbusRegisterArray registers) {
+        int[] indices;
+        ValueType[] types;
+        synchronized (this) {
+            indices = this.indices;
+            types = this.types;
+        }
+        long[] rawValues = new long[indices.length];
+        boolean[] decoded = new boolean[indices.length];
+        for (int slot = 0; slot < indices.length; slot++) {
+            try {
+                rawValues[slot] = ModbusBitUtilities.extractRawValueFromRegisters(registers, indices[slot],
+                        types[slot]);
+                decoded[slot] = true;
+            } catch (IllegalArgumentException e) {
+                // out of bounds, data thing will report the error when extracting the value itself
+            }
+        }
+        lastDecoded = new DecodedValues(registers, rawValues, decoded);
+    }
+
+    /**
+     * Get the values decoded from the given registers
+     *
+     * @param registers registers passed to {@link #decode(ModbusRegisterArray)}
+     * @return decoded values, or <code>null</code> if the registers are not the ones decoded last
+     */
+    public @Nullable DecodedValues getDecodedValues(ModbusRegisterArray registers) {
+        DecodedValues lastDecoded = this.lastDecoded;
+        return lastDecoded != null && lastDecoded.registers == registers ? lastDecoded : null;
+    }
+
+    /**
+     * @return number of registered values
+     */
+    public synchronized int size() {
+        return indices.length;
+    }
+}
@@ -57,6 +57,8 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan.DecodedValues;
 import org.openhab.binding.modbus.internal.Transformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
 import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
@@ -132,6 +134,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile Optional<Integer> readSubIndex = Optional.empty();
     private volatile @Nullable Integer writeStart;
     private volatile int pollStart;
+    private volatile int extractIndex;
     private volatile int slaveId;
     private volatile long updateUnchangedValuesEveryMillis;
     private volatile @Nullable ModbusSlaveEndpoint slaveEndpoint;
@@ -145,6 +148,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile @Nullable RegisterDecodePlan decodePlan;
+    private volatile int decodeSlot = -1;
+    private volatile boolean hasLastRawValue;
+    private volatile long lastRawValue;
+    private volatile long oldestChannelUpdateMillis;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -377,6 +385,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             validateAndParseReadParameters();
             validateAndParseWriteParameters();
             validateMustReadOrWrite();
+            registerDecodedValue();
 
             updateStatusIfChanged(ThingStatus.ONLINE);
         } catch (ModbusConfigurationException | EndpointNotInitializedException e) {
@@ -399,6 +408,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         readSubIndex = Optional.empty();
         writeStart = null;
         pollStart = 0;
+        extractIndex = 0;
         slaveId = 0;
         slaveEndpoint = null;
         manager = null;
@@ -413,6 +423,18 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        decodePlan = null;
+        decodeSlot = -1;
+        hasLastRawValue = false;
+        lastRawValue = 0;
+        oldestChannelUpdateMillis = 0;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // Newly linked channel should receive the value even if it has not changed
+        hasLastRawValue = false;
+        super.channelLinked(channelUID);
     }
 
     @Override
@@ -653,8 +675,43 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         if (readValueType == null) {
             return;
         }
-        DecimalType numericState;
+        int extractIndex = this.extractIndex;
+        long rawValue = extractRawValue(registers, extractIndex, readValueType);
+        long now = System.currentTimeMillis();
+        if (hasLastRawValue && rawValue == lastRawValue && updateUnchangedValuesEveryMillis > 0L
+                && now - oldestChannelUpdateMillis <= updateUnchangedValuesEveryMillis) {
+            // Value has not changed and none of the channels is due for update. Skip the conversion and
+            // transformation, and update only the timestamp of last successful read.
+            updateLastReadSuccess(now);
+            logger.debug(
+                    "Thing {} value unchanged. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> raw value {}. Registers {} for request {}",
+                    thing.getUID(), readValueType, readIndex, readSubIndex.orElse(0), extractIndex, rawValue,
+                    registers, request);
+            return;
+        }
+        DecimalType numericState = ModbusBitUtilities.rawValueToState(rawValue, readValueType);
+        boolean boolValue = !numericState.equals(DecimalType.ZERO);
+        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        lastRawValue = rawValue;
+        hasLastRawValue = true;
+        oldestChannelUpdateMillis = getOldestChannelUpdateMillis(values);
+        logger.debug(
+                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
+                boolValue, registers, request);
+    }
 
+    /**
+     * Resolve the index of the value in the polled registers, and register the value to the decode plan of the poller
+     * so that the poller decodes the value together with the values of other data things.
+     */
+    private void registerDecodedValue() {
+        ValueType readValueType = this.readValueType;
+        ModbusPollerThingHandler pollerHandler = this.pollerHandler;
+        PollTask pollTask = this.pollTask;
+        if (!isReadEnabled || readValueType == null || !readIndex.isPresent()) {
+            return;
+        }
         // extractIndex:
         // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
         // of register 10)
@@ -664,9 +721,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
         // respectively.
         // with >=16 bit types, this is index of first register
-        int extractIndex;
         if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
+            // Invariant, checked in validateReadIndex
             assert readSubIndex.orElse(0) == 0;
             extractIndex = readIndex.get() - pollStart;
         } else {
@@ -674,13 +730,29 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType);
-        boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+        if (pollerHandler == null || pollTask == null) {
+            return;
+        }
+        ModbusReadFunctionCode functionCode = pollTask.getRequest().getFunctionCode();
+        RegisterDecodePlan decodePlan = pollerHandler.getDecodePlan();
+        if (decodePlan != null && (functionCode == ModbusReadFunctionCode.READ_INPUT_REGISTERS
+                || functionCode == ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS)) {
+            this.decodePlan = decodePlan;
+            decodeSlot = decodePlan.register(extractIndex, readValueType);
+        }
+    }
+
+    /**
+     * Get the raw value read by this thing, decoded by the poller when possible
+     */
+    private long extractRawValue(ModbusRegisterArray registers, int extractIndex, ValueType readValueType) {
+        RegisterDecodePlan decodePlan = this.decodePlan;
+        DecodedValues decodedValues = decodePlan == null ? null : decodePlan.getDecodedValues(registers);
+        int decodeSlot = this.decodeSlot;
+        if (decodedValues != null && decodedValues.isDecoded(decodeSlot)) {
+            return decodedValues.getRawValue(decodeSlot);
+        }
+        return ModbusBitUtilities.extractRawValueFromRegisters(registers, extractIndex, readValueType);
     }
 
     @Override
@@ -856,6 +928,32 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         return states;
     }
 
+    private void updateLastReadSuccess(long now) {
+        updateStatusIfChanged(ThingStatus.ONLINE);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            tryUpdateState(lastReadSuccessUID, new DateTimeType());
+            channelLastUpdated.put(lastReadSuccessUID, now);
+        }
+    }
+
+    /**
+     * Get the time of the least recent update of the given data channels
+     *
+     * @param states states of the data channels, and the timestamp of last successful read
+     * @return oldest update time of the channels, or 0 in case some channel has not been updated at all
+     */
+    private long getOldestChannelUpdateMillis(Map<ChannelUID, State> states) {
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        long oldest = Long.MAX_VALUE;
+        for (ChannelUID uid : states.keySet()) {
+            if (!uid.equals(lastReadSuccessUID)) {
+                oldest = Math.min(oldest, channelLastUpdated.getOrDefault(uid, 0L));
+            }
+        }
+        return oldest == Long.MAX_VALUE ? System.currentTimeMillis() : oldest;
+    }
+
     private void updateExpiredChannels(Map<ChannelUID, State> states) {
         synchronized (this) {
             updateStatusIfChanged(ThingStatus.ONLINE);
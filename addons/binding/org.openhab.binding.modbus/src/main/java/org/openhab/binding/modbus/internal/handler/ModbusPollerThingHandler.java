@@ -16,6 +16,7 @@ import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.PollTask;
 
@@ -37,6 +38,18 @@ public interface ModbusPollerThingHandler {
      */
     public @Nullable PollTask getPollTask();
 
+    /**
+     * Return {@link RegisterDecodePlan} of this poller.
+     *
+     * Child data things register the values they read, and the poller decodes them from each response before passing
+     * the response to the children.
+     *
+     * Note that the plan might be <code>null</code> in case initialization is not complete.
+     *
+     * @return decode plan of this poller
+     */
+    public @Nullable RegisterDecodePlan getDecodePlan();
+
     /**
      * Get {@link ModbusManager} supplier
      *
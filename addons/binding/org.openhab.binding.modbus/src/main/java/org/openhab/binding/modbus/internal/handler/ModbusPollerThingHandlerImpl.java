@@ -37,6 +37,7 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.AtomicStampedKeyValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.RegisterDecodePlan;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusManager;
@@ -92,6 +93,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received registers {} for request {}", thing.getUID(), registers, request);
             resetCommunicationError();
+            decode(registers);
             childCallbacks.forEach(handler -> handler.onRegisters(request, registers));
         }
 
@@ -134,6 +136,16 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
                     String.format("Error with read: %s: %s", error.getClass().getName(), error.getMessage()));
         }
 
+        /**
+         * Decode values of all child data things in one pass, before passing the registers to the children
+         */
+        private void decode(ModbusRegisterArray registers) {
+            RegisterDecodePlan decodePlan = ModbusPollerThingHandlerImpl.this.decodePlan;
+            if (decodePlan != null) {
+                decodePlan.decode(registers);
+            }
+        }
+
         private void resetCommunicationError() {
             ThingStatusInfo statusInfo = thing.getStatusInfo();
             if (ThingStatus.OFFLINE.equals(statusInfo.getStatus())
@@ -198,6 +210,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
                     atomicData.getValue(), request);
             if (atomicData.getValue() instanceof ModbusRegisterArray) {
                 ModbusRegisterArray registers = (ModbusRegisterArray) atomicData.getValue();
+                decode(registers);
                 childCallbacks.forEach(handler -> handler.onRegisters(atomicData.getKey(), registers));
             } else if (atomicData.getValue() instanceof BitArray) {
                 BitArray coils = (BitArray) atomicData.getValue();
@@ -252,6 +265,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     private ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable RegisterDecodePlan decodePlan;
     private Supplier<ModbusManager> managerRef;
     private volatile boolean disposed;
     private volatile List<ModbusReadCallback> childCallbacks = new CopyOnWriteArrayList<>();
@@ -297,6 +311,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     @Override
     public synchronized void initialize() {
         this.callbackDelegator.resetCache();
+        decodePlan = new RegisterDecodePlan();
         disposed = false;
         logger.trace("Initializing {} from status {}", this.getThing().getUID(), this.getThing().getStatus());
         try {
@@ -319,6 +334,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         disposed = true;
         unregisterPollTask();
         this.callbackDelegator.resetCache();
+        decodePlan = null;
     }
 
     /**
@@ -422,6 +438,11 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         return pollTask;
     }
 
+    @Override
+    public @Nullable RegisterDecodePlan getDecodePlan() {
+        return decodePlan;
+    }
+
     /**
      * Refresh the data
      *
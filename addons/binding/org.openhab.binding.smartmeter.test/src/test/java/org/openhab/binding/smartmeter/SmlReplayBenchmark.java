@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openhab.binding.smartmeter.internal.sml.SmlStreamDecoder;
+import org.openhab.binding.smartmeter.internal.sml.SmlTransportReader;
+import org.openhab.binding.smartmeter.internal.sml.SmlValueExtractor;
+import org.openmuc.jsml.structures.EMessageBody;
+import org.openmuc.jsml.structures.SmlFile;
+import org.openmuc.jsml.structures.SmlListEntry;
+import org.openmuc.jsml.structures.SmlMessage;
+import org.openmuc.jsml.structures.responses.SmlGetListRes;
+import org.openmuc.jsml.transport.Transport;
+
+/**
+ * Replays recorded SML streams through the jSML transport and message decoder as used before and through the
+ * {@link SmlTransportReader} and {@link SmlStreamDecoder}, and reports the decoded files per second and the allocated
+ * bytes per file. Without arguments the recording of the unit tests is replayed.
+ *
+ * This is not run as part of the unit tests, start it with
+ * <code>java ... SmlReplayBenchmark [repetitions] [recorded stream...]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class SmlReplayBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private interface Replay {
+        /**
+         * Decodes all files of the recording and returns the number of files
+         */
+        int run(byte[] recording) throws IOException;
+    }
+
+    private static long allocatedBytes(ThreadMXBean threadBean, Method method) {
+        if (method == null) {
+            return 0;
+        }
+        try {
+            return (long) method.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    private static int replayJsml(byte[] recording) throws IOException {
+        DataInputStream is = new DataInputStream(new ByteArrayInputStream(recording));
+        Transport transport = new Transport();
+        int files = 0;
+        int values = 0;
+
+        while (is.available() > 0) {
+            SmlFile smlFile = transport.getSMLFile(is);
+            for (SmlMessage message : smlFile.getMessages()) {
+                if (message.getMessageBody().getTag().id() == EMessageBody.GET_LIST_RESPONSE.id()) {
+                    SmlGetListRes listResponse = (SmlGetListRes) message.getMessageBody().getChoice();
+                    for (SmlListEntry entry : listResponse.getValList().getValListEntry()) {
+                        if (new SmlValueExtractor(entry).getSmlValue() != null) {
+                            values++;
+                        }
+                    }
+                }
+            }
+            files++;
+        }
+        return values > 0 ? files : 0;
+    }
+
+    private static int replayStream(byte[] recording, SmlStreamDecoder decoder) throws IOException {
+        SmlTransportReader reader = new SmlTransportReader(new ByteArrayInputStream(recording), 100);
+        int[] values = new int[1];
+        int files = 0;
+
+        while (reader.available() > 0) {
+            int length = reader.readFile();
+            decoder.decode(reader.getBuffer(), 0, length, value -> values[0]++);
+            files++;
+        }
+        return values[0] > 0 ? files : 0;
+    }
+
+    private static void run(String name, String decoderName, Replay replay, byte[] recording, int repetitions,
+            ThreadMXBean threadBean, Method allocatedBytesMethod) throws IOException {
+        for (int round = 0; round < ROUNDS; round++) {
+            long files = 0;
+            long allocated = allocatedBytes(threadBean, allocatedBytesMethod);
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                files += replay.run(recording);
+            }
+            long elapsed = System.nanoTime() - start;
+            allocated = allocatedBytes(threadBean, allocatedBytesMethod) - allocated;
+
+            System.out.printf("Round %d %s (%s): %.0f files/s, %.0f bytes allocated/file%n", round + 1, name,
+                    decoderName, files * 1e9 / elapsed, files == 0 ? 0.0 : (double) allocated / files);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+        // getThreadAllocatedBytes is only available on HotSpot
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Method allocatedBytesMethod = null;
+        try {
+            allocatedBytesMethod = Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            System.out.println("Allocations can not be measured on this JVM");
+        }
+
+        Map<String, byte[]> recordings = new LinkedHashMap<>();
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                recordings.put(args[i], Files.readAllBytes(Paths.get(args[i])));
+            }
+        } else {
+            recordings.put("ehz.sml", TestSmlStreamDecoder.readRecording());
+        }
+
+        SmlStreamDecoder decoder = new SmlStreamDecoder();
+        for (Map.Entry<String, byte[]> recording : recordings.entrySet()) {
+            run(recording.getKey(), "jSML", SmlReplayBenchmark::replayJsml, recording.getValue(), repetitions,
+                    threadBean, allocatedBytesMethod);
+            run(recording.getKey(), "stream decoder", r -> replayStream(r, decoder), recording.getValue(),
+                    repetitions, threadBean, allocatedBytesMethod);
+        }
+    }
+}
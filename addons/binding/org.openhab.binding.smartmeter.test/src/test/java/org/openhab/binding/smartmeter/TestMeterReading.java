@@ -12,13 +12,17 @@
  */
 package org.openhab.binding.smartmeter;
 
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -64,6 +68,63 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testStatistics() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        final int executionCount = 3;
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(executionCount * period.toMillis() + period.toMillis() / 2)
+                    .times(executionCount)).valueChanged(any());
+            assertEquals(executionCount, meter.getStatistics().getReads());
+            assertEquals(0, meter.getStatistics().getDroppedFrames());
+            assertTrue(meter.getStatistics().getReadsPerSecond() > 0);
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    public void testSlowListenerDropsOldestValues() throws Exception {
+        final Duration period = Duration.ofMillis(50);
+        AtomicInteger counter = new AtomicInteger();
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> counter.incrementAndGet());
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        List<String> values = new CopyOnWriteArrayList<>();
+        meter.addValueChangeListener(new MeterValueListener() {
+            @Override
+            public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+                values.add(value.getValue());
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                }
+            }
+
+            @Override
+            public <Q extends @NonNull Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
+            }
+
+            @Override
+            public void errorOccurred(Throwable e) {
+            }
+        });
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(4), period);
+        try {
+            Thread.sleep(2000);
+            assertTrue(meter.getStatistics().getDroppedFrames() > 0);
+            // the reading is not slowed down by the listener and the listener gets recent values
+            assertTrue(counter.get() > 2 * values.size());
+            assertTrue(Integer.parseInt(values.get(values.size() - 1)) > values.size());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     @Test
     public void testRetryHandling() {
         final Duration period = Duration.ofSeconds(1);
@@ -148,7 +209,7 @@ public class TestMeterReading {
 
             @Override
             protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("123", smlFile instanceof Integer ? smlFile.toString() : "333", null));
             }
 
         };
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openhab.binding.smartmeter.internal.MeterValue;
+import org.openhab.binding.smartmeter.internal.sml.SmlStreamDecoder;
+import org.openhab.binding.smartmeter.internal.sml.SmlTransportReader;
+import org.openhab.binding.smartmeter.internal.sml.SmlUnitConversion;
+import org.openhab.binding.smartmeter.internal.sml.SmlValueExtractor;
+import org.openmuc.jsml.EUnit;
+import org.openmuc.jsml.structures.EMessageBody;
+import org.openmuc.jsml.structures.SmlFile;
+import org.openmuc.jsml.structures.SmlListEntry;
+import org.openmuc.jsml.structures.SmlMessage;
+import org.openmuc.jsml.structures.responses.SmlGetListRes;
+import org.openmuc.jsml.transport.Transport;
+
+/**
+ * Tests the {@link SmlTransportReader} and the {@link SmlStreamDecoder} with a recorded stream of an eHZ meter. The
+ * recording starts in the middle of a SML file, followed by three complete files.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestSmlStreamDecoder {
+
+    private static final int FILES = 3;
+
+    static byte[] readRecording() throws IOException {
+        try (InputStream is = TestSmlStreamDecoder.class.getResourceAsStream("ehz.sml")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = is.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static Map<String, MeterValue<?>> decode(SmlStreamDecoder decoder, byte[] file, int length)
+            throws IOException {
+        Map<String, MeterValue<?>> values = new LinkedHashMap<>();
+        decoder.decode(file, 0, length, value -> values.put(value.getObisCode(), value));
+        return values;
+    }
+
+    @Test
+    public void testSameValuesAsJsml() throws IOException {
+        byte[] recording = readRecording();
+        SmlTransportReader reader = new SmlTransportReader(new ByteArrayInputStream(recording), 100);
+        SmlStreamDecoder decoder = new SmlStreamDecoder();
+        DataInputStream jsmlStream = new DataInputStream(new ByteArrayInputStream(recording));
+        Transport transport = new Transport();
+
+        for (int i = 0; i < FILES; i++) {
+            int length = reader.readFile();
+            List<MeterValue<?>> actual = new ArrayList<>(decode(decoder, reader.getBuffer(), length).values());
+
+            List<MeterValue<?>> expected = new ArrayList<>();
+            SmlFile smlFile = transport.getSMLFile(jsmlStream);
+            for (SmlMessage message : smlFile.getMessages()) {
+                if (message.getMessageBody().getTag().id() == EMessageBody.GET_LIST_RESPONSE.id()) {
+                    SmlGetListRes listResponse = (SmlGetListRes) message.getMessageBody().getChoice();
+                    for (SmlListEntry entry : listResponse.getValList().getValListEntry()) {
+                        expected.add(new SmlValueExtractor(entry).getSmlValue());
+                    }
+                }
+            }
+
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int k = 0; k < expected.size(); k++) {
+                Assert.assertEquals(expected.get(k).getObisCode(), actual.get(k).getObisCode());
+                Assert.assertEquals(expected.get(k).getValue(), actual.get(k).getValue());
+                Assert.assertEquals(expected.get(k).getUnit(), actual.get(k).getUnit());
+            }
+        }
+        Assert.assertEquals(0, reader.available());
+    }
+
+    @Test
+    public void testValues() throws IOException {
+        SmlTransportReader reader = new SmlTransportReader(new ByteArrayInputStream(readRecording()), 100);
+        SmlStreamDecoder decoder = new SmlStreamDecoder();
+
+        Map<String, MeterValue<?>> values = null;
+        for (int i = 0; i < FILES; i++) {
+            int length = reader.readFile();
+            values = decode(decoder, reader.getBuffer(), length);
+        }
+
+        Assert.assertEquals(12, values.size());
+        Assert.assertEquals("1.23456813E7", values.get("1-0:1.8.0").getValue());
+        Assert.assertEquals(SmlUnitConversion.getUnit(EUnit.WATT_HOUR), values.get("1-0:1.8.0").getUnit());
+        Assert.assertEquals("-250.0", values.get("1-0:16.7.0").getValue());
+        Assert.assertEquals(SmlUnitConversion.getUnit(EUnit.WATT), values.get("1-0:16.7.0").getUnit());
+        // the escape sequence inside of the value is removed by the transport
+        Assert.assertEquals("1B 1B 1B 1B", values.get("1-0:96.50.1").getValue());
+        Assert.assertNull(values.get("1-0:96.50.1").getUnit());
+    }
+
+    @Test
+    public void testWrongCrc() throws IOException {
+        byte[] recording = readRecording();
+        SmlTransportReader reader = new SmlTransportReader(new ByteArrayInputStream(recording), 100);
+        reader.readFile();
+        int fileEnd = recording.length - reader.available();
+
+        // change a byte in the second file
+        recording[fileEnd + 100] ^= 0x01;
+        reader = new SmlTransportReader(new ByteArrayInputStream(recording), 100);
+        reader.readFile();
+        try {
+            reader.readFile();
+            Assert.fail("Corrupted file was read");
+        } catch (IOException e) {
+            Assert.assertEquals("wrong crc", e.getMessage());
+        }
+        // the next file is read again
+        int length = reader.readFile();
+        Assert.assertEquals(12, decode(new SmlStreamDecoder(), reader.getBuffer(), length).size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedFile() throws IOException {
+        SmlTransportReader reader = new SmlTransportReader(new ByteArrayInputStream(readRecording()), 100);
+        int length = reader.readFile();
+
+        decode(new SmlStreamDecoder(), reader.getBuffer(), length / 2);
+    }
+}
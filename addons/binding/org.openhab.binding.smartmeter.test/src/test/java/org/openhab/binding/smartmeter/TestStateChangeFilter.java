@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter;
+
+import java.math.BigDecimal;
+
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openhab.binding.smartmeter.internal.StateChangeFilter;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestStateChangeFilter {
+
+    private static final String CHANNEL = "1-0_16-7-0";
+
+    @Test
+    public void testSameStateIsNotSentTwice() {
+        StateChangeFilter filter = new StateChangeFilter();
+
+        Assert.assertTrue(filter.isChanged(CHANNEL, new StringType("1234"), BigDecimal.ZERO));
+        Assert.assertFalse(filter.isChanged(CHANNEL, new StringType("1234"), BigDecimal.ZERO));
+        Assert.assertTrue(filter.isChanged(CHANNEL, new StringType("1235"), BigDecimal.ZERO));
+        Assert.assertTrue(filter.isChanged("1-0_1-8-0", new StringType("1235"), BigDecimal.ZERO));
+    }
+
+    @Test
+    public void testHysteresis() {
+        StateChangeFilter filter = new StateChangeFilter();
+        BigDecimal hysteresis = new BigDecimal("5");
+
+        Assert.assertTrue(filter.isChanged(CHANNEL, new QuantityType<>("100 W"), hysteresis));
+        Assert.assertFalse(filter.isChanged(CHANNEL, new QuantityType<>("104 W"), hysteresis));
+        Assert.assertFalse(filter.isChanged(CHANNEL, new QuantityType<>("95 W"), hysteresis));
+        Assert.assertTrue(filter.isChanged(CHANNEL, new QuantityType<>("106 W"), hysteresis));
+        // the hysteresis is relative to the last sent state
+        Assert.assertFalse(filter.isChanged(CHANNEL, new QuantityType<>("110 W"), hysteresis));
+        Assert.assertTrue(filter.isChanged(CHANNEL, new QuantityType<>("0.1 kW"), hysteresis));
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        StateChangeFilter filter = new StateChangeFilter();
+
+        Assert.assertTrue(filter.isChanged(CHANNEL, new StringType("1234"), BigDecimal.ZERO));
+        filter.remove(CHANNEL);
+        Assert.assertTrue(filter.isChanged(CHANNEL, new StringType("1234"), BigDecimal.ZERO));
+        filter.clear();
+        Assert.assertTrue(filter.isChanged(CHANNEL, new StringType("1234"), BigDecimal.ZERO));
+        filter.update(CHANNEL, new StringType("4321"));
+        Assert.assertFalse(filter.isChanged(CHANNEL, new StringType("4321"), BigDecimal.ZERO));
+    }
+}
@@ -35,6 +35,7 @@ import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -53,6 +54,11 @@ import io.reactivex.schedulers.Schedulers;
 public abstract class MeterDevice<T> {
 
     private final static int RETRY_DELAY = 2;
+    /**
+     * Number of read outs which are kept while the previous one is still processed. If more are read, the oldest
+     * ones are dropped.
+     */
+    private final static int FRAME_BUFFER_SIZE = 1;
     private final Logger logger = LoggerFactory.getLogger(MeterDevice.class);
     /**
      * Controls wether the device info is logged to the OSGi console.
@@ -72,6 +78,7 @@ public abstract class MeterDevice<T> {
      */
     IMeterReaderConnector<T> connector;
     private List<MeterValueListener> valueChangeListeners;
+    private final MeterReadStatistics statistics = new MeterReadStatistics();
 
     public MeterDevice(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId, String serialPort,
             byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
@@ -157,6 +164,10 @@ public abstract class MeterDevice<T> {
      * by {@code period} seconds.
      * If its still failing, the connection will be closed and opened again.
      *
+     * Read outs are processed on the executor, separate from the reading. If the processing can not keep up with the
+     * device, the oldest read outs are dropped, so the latest values are always processed.
+     * If a read out can not be processed, the error is reported to the listeners and the previous values are kept.
+     *
      * @return The {@link Disposable} which needs to be disposed whenever not used anymore.
      *
      */
@@ -178,10 +189,25 @@ public abstract class MeterDevice<T> {
                 }).doOnCancel(connector::closeConnection).doOnComplete(connector::closeConnection).share()
                 .retryWhen(
                         publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, Schedulers.from(executorService)))
-                .subscribeOn(Schedulers.from(executorService), true).subscribe((value) -> {
+                .subscribeOn(Schedulers.from(executorService), true)
+                .onBackpressureBuffer(FRAME_BUFFER_SIZE, () -> {
+                    statistics.frameDropped();
+                    logger.debug("Dropped read out of {}, previous one is still processed", getDeviceId());
+                }, BackpressureOverflowStrategy.DROP_OLDEST)
+                .observeOn(Schedulers.from(executorService), false, FRAME_BUFFER_SIZE).subscribe((value) -> {
+                    long start = System.nanoTime();
                     Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
                     clearValueCache();
-                    populateValueCache(value);
+                    try {
+                        populateValueCache(value);
+                    } catch (RuntimeException e) {
+                        logger.warn("Failed to process read out of {}: {}", getDeviceId(), e.getMessage());
+                        // keep the previous values, so they are not reported as removed
+                        obisCodes.forEach(valueCache::putIfAbsent);
+                        notifyReadingError(e);
+                        return;
+                    }
+                    statistics.readCompleted(System.nanoTime() - start);
                     printInfo();
                     Collection<String> newObisCodes = getObisCodes();
                     // notify every removed obis code.
@@ -190,6 +216,15 @@ public abstract class MeterDevice<T> {
                 });
     }
 
+    /**
+     * Gets the statistics of the read outs of this device.
+     *
+     * @return The {@link MeterReadStatistics} of this device.
+     */
+    public MeterReadStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Deletes all cached values.
      *
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of the read outs of a {@link MeterDevice}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class MeterReadStatistics {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+
+    /**
+     * Called whenever a read out of the device was processed.
+     *
+     * @param parseNanos The time in nanoseconds it took to convert the payload into meter values.
+     */
+    void readCompleted(long parseNanos) {
+        this.reads.incrementAndGet();
+        this.parseNanos.addAndGet(parseNanos);
+    }
+
+    /**
+     * Called whenever a read out was dropped, because the previous one was not processed yet.
+     */
+    void frameDropped() {
+        this.droppedFrames.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of processed read outs.
+     *
+     * @return the number of read outs.
+     */
+    public long getReads() {
+        return reads.get();
+    }
+
+    /**
+     * Gets the average number of processed read outs per second since the device was created.
+     *
+     * @return the read outs per second.
+     */
+    public double getReadsPerSecond() {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return elapsedNanos <= 0 ? 0 : getReads() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Gets the average time it took to convert the payload of a read out into meter values.
+     *
+     * @return the average parse time in milliseconds.
+     */
+    public double getAverageParseTimeMillis() {
+        long count = getReads();
+        return count == 0 ? 0 : parseNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1) / count;
+    }
+
+    /**
+     * Gets the number of read outs which were dropped, because the previous one was not processed yet.
+     *
+     * @return the number of dropped read outs.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MeterReadStatistics [reads=%d, readsPerSecond=%.3f, averageParseTime=%.3fms, dropped=%d]",
+                getReads(), getReadsPerSecond(), getAverageParseTimeMillis(), getDroppedFrames());
+    }
+}
@@ -21,6 +21,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -71,9 +73,15 @@ public class SmartMeterHandler extends BaseThingHandler {
 
     private static final long DEFAULT_TIMEOUT = 30000;
     private static final int DEFAULT_REFRESH_PERIOD = 30;
+    /**
+     * Interval in seconds in which the read statistics are logged.
+     */
+    private static final int STATISTICS_INTERVAL = 60;
     private Logger logger = LoggerFactory.getLogger(SmartMeterHandler.class);
     private MeterDevice<?> smlDevice;
     private Disposable valueReader;
+    private ScheduledFuture<?> statisticsJob;
+    private final StateChangeFilter stateChangeFilter = new StateChangeFilter();
     private Conformity conformity;
     private MeterValueListener valueChangeListener;
     private SmartMeterChannelTypeProvider channelTypeProvider;
@@ -138,6 +146,10 @@ public class SmartMeterHandler extends BaseThingHandler {
         if (this.valueReader != null) {
             this.valueReader.dispose();
         }
+        if (this.statisticsJob != null) {
+            this.statisticsJob.cancel(false);
+            this.statisticsJob = null;
+        }
     }
 
     @Override
@@ -159,8 +171,6 @@ public class SmartMeterHandler extends BaseThingHandler {
         valueChangeListener = new MeterValueListener() {
             @Override
             public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
-                ThingBuilder thingBuilder = editThing();
-
                 String obis = value.getObisCode();
 
                 String obisChannelString = SmartMeterBindingConstants.getObisChannelId(obis);
@@ -176,6 +186,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                         logger.debug("Adding channel: {} with item type: {}", obisChannelString, itemType);
 
                         // channel has not been created yet
+                        ThingBuilder thingBuilder = editThing();
                         ChannelBuilder channelBuilder = ChannelBuilder
                                 .create(new ChannelUID(thing.getUID(), obisChannelString), itemType)
                                 .withType(channelTypeId);
@@ -204,9 +215,14 @@ public class SmartMeterHandler extends BaseThingHandler {
                     if (!channel.getProperties().containsKey(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS)) {
                         addObisPropertyToChannel(obis, channel);
                     }
-                    updateState(channel.getUID(), state);
+                    // only send states which changed more than the hysteresis of the channel
+                    if (stateChangeFilter.isChanged(channel.getUID().getId(), state, getHysteresis(channel))) {
+                        updateState(channel.getUID(), state);
+                    }
 
-                    updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
+                    if (getThing().getStatus() != ThingStatus.ONLINE) {
+                        updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
+                    }
                 } else {
                     logger.warn("No ChannelType found for OBIS {}", obis);
                 }
@@ -230,6 +246,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                 // channels that are not available are removed
                 String obisChannelId = SmartMeterBindingConstants.getObisChannelId(value.getObisCode());
                 logger.debug("Removing channel: {}", obisChannelId);
+                stateChangeFilter.remove(obisChannelId);
                 ThingBuilder thingBuilder = editThing();
                 thingBuilder.withoutChannel(new ChannelUID(thing.getUID(), obisChannelId));
                 updateThing(thingBuilder.build());
@@ -237,6 +254,8 @@ public class SmartMeterHandler extends BaseThingHandler {
 
             @Override
             public void errorOccurred(Throwable e) {
+                // send all states again once the device is readable again
+                stateChangeFilter.clear();
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getLocalizedMessage());
             }
         };
@@ -244,7 +263,36 @@ public class SmartMeterHandler extends BaseThingHandler {
 
         SmartMeterConfiguration config = getConfigAs(SmartMeterConfiguration.class);
         int delay = config.refresh != null ? config.refresh : DEFAULT_REFRESH_PERIOD;
+        stateChangeFilter.clear();
         valueReader = this.smlDevice.readValues(DEFAULT_TIMEOUT, this.scheduler, Duration.ofSeconds(delay));
+        statisticsJob = this.scheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL,
+                STATISTICS_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Gets the read statistics of the meter device, e.g. to list them on the console.
+     *
+     * @return the read statistics or null if the device was not initialized
+     */
+    public @Nullable MeterReadStatistics getStatistics() {
+        MeterDevice<?> device = this.smlDevice;
+        return device == null ? null : device.getStatistics();
+    }
+
+    /**
+     * Logs the read statistics of the device. They are not published as thing properties, as every property update
+     * is persisted and sent as an event.
+     */
+    private void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} for {}", this.smlDevice.getStatistics(), getThing().getUID());
+        }
+    }
+
+    private BigDecimal getHysteresis(Channel channel) {
+        Number hysteresis = (Number) channel.getConfiguration()
+                .get(SmartMeterBindingConstants.CONFIGURATION_CHANNEL_HYSTERESIS);
+        return hysteresis == null ? BigDecimal.ZERO : new BigDecimal(hysteresis.toString());
     }
 
     private void updateOBISChannel(ChannelUID channelId) {
@@ -258,6 +306,7 @@ public class SmartMeterHandler extends BaseThingHandler {
 
                     State state = getStateForObisValue(value, channel);
                     updateState(channel.getUID(), state);
+                    stateChangeFilter.update(channel.getUID().getId(), state);
                 }
             }
         }
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * Remembers the last state sent for every OBIS channel and decides whether a new state needs to be sent.
+ * A {@link QuantityType} state is only considered changed if it differs more than the hysteresis from the last sent
+ * state. All other states are considered changed if they are not equal.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class StateChangeFilter {
+
+    private final Map<String, State> lastStates = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether the state differs from the last sent state of the channel. If so, the state is remembered as the
+     * last sent state.
+     *
+     * @param channelId The id of the channel.
+     * @param state The new state of the channel.
+     * @param hysteresis The minimal difference of a {@link QuantityType} state, in the unit of the last sent state.
+     * @return true if the state shall be sent, false otherwise.
+     */
+    public boolean isChanged(String channelId, State state, BigDecimal hysteresis) {
+        State lastState = lastStates.get(channelId);
+        if (lastState == null || differs(lastState, state, hysteresis)) {
+            lastStates.put(channelId, state);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers the state as the last sent state of the channel.
+     *
+     * @param channelId The id of the channel.
+     * @param state The sent state.
+     */
+    public void update(String channelId, State state) {
+        lastStates.put(channelId, state);
+    }
+
+    /**
+     * Forgets the last sent state of the channel.
+     *
+     * @param channelId The id of the channel.
+     */
+    public void remove(String channelId) {
+        lastStates.remove(channelId);
+    }
+
+    /**
+     * Forgets all last sent states, so the next states of all channels are sent.
+     */
+    public void clear() {
+        lastStates.clear();
+    }
+
+    private static boolean differs(State lastState, State state, BigDecimal hysteresis) {
+        if (hysteresis.signum() > 0 && lastState instanceof QuantityType && state instanceof QuantityType) {
+            QuantityType<?> lastQuantity = (QuantityType<?>) lastState;
+            QuantityType<?> quantity = ((QuantityType<?>) state).toUnit(lastQuantity.getUnit());
+            if (quantity != null) {
+                return quantity.toBigDecimal().subtract(lastQuantity.toBigDecimal()).abs().compareTo(hysteresis) > 0;
+            }
+        }
+        return !lastState.equals(state);
+    }
+}
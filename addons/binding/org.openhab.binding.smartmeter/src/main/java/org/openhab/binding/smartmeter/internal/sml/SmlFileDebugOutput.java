@@ -12,6 +12,9 @@
  */
 package org.openhab.binding.smartmeter.internal.sml;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -40,6 +43,30 @@ public class SmlFileDebugOutput {
         // there is no need of public constructor
     }
 
+    /**
+     * Decodes the SML_File with jSML and prints it
+     *
+     * @param smlFile
+     *            the content of the SML file, without the transport escape sequences
+     */
+    public static void printFile(byte[] smlFile, Consumer<String> consumer) {
+        SmlFile file = new SmlFile();
+
+        try (DataInputStream is = new DataInputStream(new ByteArrayInputStream(smlFile))) {
+            while (is.available() > 0) {
+                SmlMessage smlMessage = new SmlMessage();
+                if (!smlMessage.decode(is)) {
+                    consumer.accept("Could not decode message");
+                    break;
+                }
+                file.add(smlMessage);
+            }
+        } catch (IOException e) {
+            consumer.accept("Could not decode message: " + e.getMessage());
+        }
+        printFile(file, consumer);
+    }
+
     /**
      * Prints the whole SML_File
      *
@@ -12,7 +12,8 @@
  */
 package org.openhab.binding.smartmeter.internal.sml;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -22,14 +23,6 @@ import org.openhab.binding.smartmeter.connectors.IMeterReaderConnector;
 import org.openhab.binding.smartmeter.internal.MeterDevice;
 import org.openhab.binding.smartmeter.internal.MeterValue;
 import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
-import org.openmuc.jsml.structures.ASNObject;
-import org.openmuc.jsml.structures.EMessageBody;
-import org.openmuc.jsml.structures.SmlFile;
-import org.openmuc.jsml.structures.SmlList;
-import org.openmuc.jsml.structures.SmlListEntry;
-import org.openmuc.jsml.structures.SmlMessage;
-import org.openmuc.jsml.structures.SmlStatus;
-import org.openmuc.jsml.structures.responses.SmlGetListRes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,10 +33,12 @@ import org.slf4j.LoggerFactory;
  * @author Mathias Gilhuber - Also-By
  */
 @NonNullByDefault
-public final class SmlMeterReader extends MeterDevice<SmlFile> {
+public final class SmlMeterReader extends MeterDevice<byte[]> {
 
     protected final Logger logger = LoggerFactory.getLogger(SmlMeterReader.class);
 
+    private final SmlStreamDecoder decoder = new SmlStreamDecoder();
+
     /**
      * Static factory method to create a SmlDevice object with a serial connector member.
      *
@@ -83,74 +78,43 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
     /**
      * Decodes native SML informations from the device and stores them locally until the next read request.
      *
-     * @param smlFile the native SML informations from the device
+     * @param smlFile the content of the SML file read from the device
      */
     @Override
-    protected void populateValueCache(SmlFile smlFile) {
+    protected void populateValueCache(byte[] smlFile) {
         if (logger.isTraceEnabled()) {
             logger.trace("Read out following SML file: {}", System.lineSeparator());
             SmlFileDebugOutput.printFile(smlFile, (msg) -> logger.trace(msg));
         }
-        List<SmlMessage> smlMessages = smlFile.getMessages();
-
-        if (smlMessages != null) {
-            int messageCount = smlMessages.size();
-
-            if (messageCount <= 0) {
-                logger.warn("{}: no valid SML messages list retrieved.", this.toString());
-            }
-
-            for (int i = 0; i < messageCount; i++) {
-                SmlMessage smlMessage = smlMessages.get(i);
-
-                int tag = smlMessage.getMessageBody().getTag().id();
-
-                if (tag != EMessageBody.GET_LIST_RESPONSE.id()) {
-                    continue;
-                }
-
-                SmlGetListRes listResponse = (SmlGetListRes) smlMessage.getMessageBody().getChoice();
-                SmlList smlValueList = listResponse.getValList();
-                SmlListEntry[] smlListEntries = smlValueList.getValListEntry();
-
-                for (SmlListEntry entry : smlListEntries) {
-                    SmlValueExtractor valueExtractor = new SmlValueExtractor(entry);
-                    String obis = valueExtractor.getObisCode();
-
-                    MeterValue<?> smlValue = getMeterValue(obis);
-
-                    if (smlValue == null) {
-                        smlValue = valueExtractor.getSmlValue();
-                    }
-
-                    SmlStatus status = entry.getStatus();
-                    if (status != null) {
-                        String statusValue = readStatus(status, obis);
-                        if (statusValue != null) {
-                            smlValue.setStatus(statusValue);
-                        }
-                    }
-
-                    addObisCache(smlValue);
-                }
-            }
+        int messageCount;
+        try {
+            messageCount = decoder.decode(smlFile, 0, smlFile.length, this::addValue);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid SML file retrieved: " + e.getMessage(), e);
+        }
 
-        } else {
+        if (messageCount <= 0) {
             logger.warn("{}: no valid SML messages list retrieved.", this.toString());
         }
     }
 
-    private @Nullable String readStatus(SmlStatus status, String obis) {
-        ASNObject choice = status.getChoice();
-        if (choice != null) {
-            String statusValue = choice.toString();
-            return statusValue;
+    private void addValue(MeterValue<?> value) {
+        MeterValue<?> smlValue = getMeterValue(value.getObisCode());
+
+        if (smlValue == null) {
+            smlValue = value;
+        } else {
+            String status = value.getStatus();
+            if (status != null) {
+                smlValue.setStatus(status);
+            }
         }
-        return null;
+
+        addObisCache(smlValue);
     }
 
     @Override
-    protected IMeterReaderConnector<SmlFile> createConnector(Supplier<SerialPortManager> serialPortManagerSupplier,
+    protected IMeterReaderConnector<byte[]> createConnector(Supplier<SerialPortManager> serialPortManagerSupplier,
             String serialPort, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
         return new SmlSerialConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay);
     }
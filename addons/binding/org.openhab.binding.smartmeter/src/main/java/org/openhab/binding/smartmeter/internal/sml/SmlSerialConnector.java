@@ -12,13 +12,12 @@
  */
 package org.openhab.binding.smartmeter.internal.sml;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.MessageFormat;
-import java.util.Stack;
+import java.util.Arrays;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,25 +31,28 @@ import org.eclipse.smarthome.io.transport.serial.UnsupportedCommOperationExcepti
 import org.openhab.binding.smartmeter.connectors.ConnectorBase;
 import org.openhab.binding.smartmeter.internal.helper.Baudrate;
 import org.openhab.binding.smartmeter.internal.helper.SerialParameter;
-import org.openmuc.jsml.structures.SmlFile;
-import org.openmuc.jsml.transport.Transport;
 
 /**
- * Represents a serial SML device connector.
+ * Represents a serial SML device connector. The payload is the content of the most recent SML file.
  *
  * @author Matthias Steigenberger - Initial contribution
  * @author Mathias Gilhuber - Also-By
  */
 @NonNullByDefault
-public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
+public final class SmlSerialConnector extends ConnectorBase<byte[]> {
 
-    private static final Transport TRANSPORT = new Transport();
+    /**
+     * Time in milliseconds after which reading fails if no data was received
+     */
+    private static final int READ_TIMEOUT = 30000;
 
     private Supplier<SerialPortManager> serialManagerSupplier;
     @NonNullByDefault({})
     private SerialPort serialPort;
     @Nullable
-    private DataInputStream is;
+    private InputStream is;
+    @Nullable
+    private SmlTransportReader reader;
     @Nullable
     private DataOutputStream os;
     private int baudrate;
@@ -79,7 +81,7 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
     }
 
     @Override
-    protected SmlFile readNext(byte @Nullable [] initMessage) throws IOException {
+    protected byte[] readNext(byte @Nullable [] initMessage) throws IOException {
         if (initMessage != null) {
             logger.debug("Writing init message: {}", HexUtils.bytesToHex(initMessage, " "));
             if (os != null) {
@@ -88,17 +90,20 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             }
         }
 
-        // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
-        do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
-        } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
-            throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
+        SmlTransportReader reader = this.reader;
+        if (reader == null) {
+            throw new IOException(getPortName() + " : Connection is not open.");
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
+        // read out the whole buffer. We are only interested in the most recent SML file, so only that one is decoded.
+        int fileCount = 0;
+        int length;
+        do {
+            logger.trace("Reading {}. SML message", fileCount + 1);
+            length = reader.readFile();
+            fileCount++;
+        } while (reader.available() > 0);
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), fileCount);
+        return Arrays.copyOf(reader.getBuffer(), length);
     }
 
     @Override
@@ -131,7 +136,14 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             }
             // serialPort.setFlowControlMode(SerialPort.FLOWCONTROL_RTSCTS_IN | SerialPort.FLOWCONTROL_RTSCTS_OUT);
             serialPort.notifyOnDataAvailable(true);
-            is = new DataInputStream(new BufferedInputStream(serialPort.getInputStream()));
+            InputStream inputStream = serialPort.getInputStream();
+            if (inputStream == null) {
+                throw new IOException(MessageFormat.format(
+                        "Error at SerialConnector.openConnection: unable to get input stream of port {0}.",
+                        getPortName()));
+            }
+            is = inputStream;
+            reader = new SmlTransportReader(inputStream, READ_TIMEOUT);
             os = new DataOutputStream(new BufferedOutputStream(serialPort.getOutputStream()));
         } else {
             throw new IllegalStateException(MessageFormat.format("No provider for port {0} found", getPortName()));
@@ -144,6 +156,7 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
     @Override
     public void closeConnection() {
         try {
+            reader = null;
             if (is != null) {
                 is.close();
                 is = null;
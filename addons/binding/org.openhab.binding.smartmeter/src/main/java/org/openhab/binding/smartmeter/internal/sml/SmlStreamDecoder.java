@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.smartmeter.internal.MeterValue;
+import org.openmuc.jsml.EUnit;
+import org.openmuc.jsml.structures.EMessageBody;
+
+/**
+ * Decodes the values of the SML_GetList.Res messages of a SML file directly from the bytes of the file. All other
+ * messages and elements are skipped without decoding them, so no jSML message tree is built.
+ *
+ * The values are converted the same way as {@link SmlValueExtractor} does. The OBIS codes and units are cached, as
+ * meters send the same values with every file.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class SmlStreamDecoder {
+
+    private static final int TYPE_OCTET_STRING = 0;
+    private static final int TYPE_BOOLEAN = 4;
+    private static final int TYPE_INTEGER = 5;
+    private static final int TYPE_UNSIGNED = 6;
+    private static final int TYPE_LIST = 7;
+
+    private static final int OPTIONAL_NOT_SET = 0x01;
+    private static final int END_OF_MESSAGE = 0x00;
+
+    private static final int MESSAGE_ELEMENTS = 6;
+    private static final int MESSAGE_BODY_ELEMENTS = 2;
+    private static final int GET_LIST_RESPONSE_ELEMENTS = 7;
+    private static final int LIST_ENTRY_ELEMENTS = 7;
+
+    /**
+     * Nesting depth of elements that are skipped, to not overflow the stack on corrupt files
+     */
+    private static final int MAX_DEPTH = 32;
+
+    private static final int MAX_CACHED_OBIS_CODES = 64;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * 10 to the power of all possible scalers
+     */
+    private static final double[] SCALES = new double[256];
+
+    static {
+        for (int scaler = Byte.MIN_VALUE; scaler <= Byte.MAX_VALUE; scaler++) {
+            SCALES[scaler & 0xff] = Math.pow(10, scaler);
+        }
+    }
+
+    private final long[] obisKeys = new long[MAX_CACHED_OBIS_CODES];
+    private final String[] obisCodes = new String[MAX_CACHED_OBIS_CODES];
+    private int obisCount;
+
+    private final @Nullable Unit<?>[] units = new Unit<?>[256];
+    private final boolean[] unitsResolved = new boolean[256];
+
+    private byte[] buffer = new byte[0];
+    private int position;
+    private int limit;
+
+    /**
+     * Type of the last TL field read
+     */
+    private int type;
+
+    /**
+     * Length of the value of the last TL field read or the number of elements for a list
+     */
+    private int length;
+
+    /**
+     * Decodes the values of all SML_GetList.Res messages in the SML file.
+     *
+     * @param buffer the buffer holding the SML file.
+     * @param offset the offset of the SML file in the buffer.
+     * @param length the length of the SML file.
+     * @param consumer receives the values in the order of the file.
+     * @return the number of messages in the file.
+     * @throws IOException if the file could not be decoded.
+     */
+    public int decode(byte[] buffer, int offset, int length, Consumer<MeterValue<?>> consumer) throws IOException {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+
+        int messageCount = 0;
+        while (position < limit) {
+            decodeMessage(consumer);
+            messageCount++;
+        }
+        return messageCount;
+    }
+
+    private void decodeMessage(Consumer<MeterValue<?>> consumer) throws IOException {
+        readList(MESSAGE_ELEMENTS);
+        // transactionId, groupNo, abortOnError
+        skip(0);
+        skip(0);
+        skip(0);
+
+        readList(MESSAGE_BODY_ELEMENTS);
+        readTL();
+        if (type != TYPE_UNSIGNED) {
+            throw new IOException("Invalid message body tag at " + position);
+        }
+        if (readLong(false) == EMessageBody.GET_LIST_RESPONSE.id()) {
+            decodeGetListResponse(consumer);
+        } else {
+            skip(0);
+        }
+
+        // crc16
+        skip(0);
+        if (next() != END_OF_MESSAGE) {
+            throw new IOException("Missing end of message at " + (position - 1));
+        }
+    }
+
+    private void decodeGetListResponse(Consumer<MeterValue<?>> consumer) throws IOException {
+        readList(GET_LIST_RESPONSE_ELEMENTS);
+        // clientId, serverId, listName, actSensorTime
+        skip(0);
+        skip(0);
+        skip(0);
+        skip(0);
+
+        readTL();
+        if (type != TYPE_LIST) {
+            throw new IOException("Invalid value list at " + position);
+        }
+        int entryCount = length;
+        for (int i = 0; i < entryCount; i++) {
+            MeterValue<?> value = decodeListEntry();
+            if (value != null) {
+                consumer.accept(value);
+            }
+        }
+
+        // listSignature, actGatewayTime
+        skip(0);
+        skip(0);
+    }
+
+    private @Nullable MeterValue<?> decodeListEntry() throws IOException {
+        readList(LIST_ENTRY_ELEMENTS);
+
+        readTL();
+        if (type != TYPE_OCTET_STRING) {
+            throw new IOException("Invalid object name at " + position);
+        }
+        String obis = length >= 5 ? getObisCode(position) : null;
+        advance(length);
+
+        String status = null;
+        if (peek() != OPTIONAL_NOT_SET) {
+            readTL();
+            status = readValueAsString();
+        } else {
+            position++;
+        }
+
+        // valTime
+        skip(0);
+
+        int unit = 0;
+        if (peek() != OPTIONAL_NOT_SET) {
+            readTL();
+            unit = (int) readLong(false) & 0xff;
+        } else {
+            position++;
+        }
+
+        int scaler = 0;
+        if (peek() != OPTIONAL_NOT_SET) {
+            readTL();
+            scaler = (int) readLong(type == TYPE_INTEGER);
+        } else {
+            position++;
+        }
+
+        readTL();
+        String value;
+        if (type == TYPE_INTEGER || type == TYPE_UNSIGNED) {
+            value = String.valueOf(readLong(type == TYPE_INTEGER) * SCALES[scaler & 0xff]);
+        } else if (type == TYPE_LIST) {
+            skipElements(length, 1);
+            value = null;
+        } else {
+            value = readValueAsString();
+            try {
+                value = String.valueOf(Double.parseDouble(value) * SCALES[scaler & 0xff]);
+            } catch (NumberFormatException e) {
+                // value is no numeric value
+            }
+        }
+
+        // valueSignature
+        skip(0);
+
+        if (obis == null || value == null) {
+            return null;
+        }
+        return createValue(obis, value, unit, status);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Q extends Quantity<Q>> MeterValue<Q> createValue(String obis, String value, int unit,
+            @Nullable String status) {
+        if (!unitsResolved[unit]) {
+            EUnit smlUnit = EUnit.from(unit);
+            units[unit] = smlUnit != null ? SmlUnitConversion.getUnit(smlUnit) : null;
+            unitsResolved[unit] = true;
+        }
+        return new MeterValue<>(obis, value, (Unit<Q>) units[unit], status);
+    }
+
+    /**
+     * Gets the OBIS code of the 5 bytes at the given position, formatted like
+     * {@link SmlValueExtractor#getObisAsString(byte[])}.
+     */
+    private String getObisCode(int offset) {
+        long key = 0;
+        for (int i = offset; i < offset + 5; i++) {
+            key = key << 8 | (buffer[i] & 0xff);
+        }
+        for (int i = 0; i < obisCount; i++) {
+            if (obisKeys[i] == key) {
+                return obisCodes[i];
+            }
+        }
+        String obis = SmlValueExtractor.getObisAsString(new byte[] { buffer[offset], buffer[offset + 1],
+                buffer[offset + 2], buffer[offset + 3], buffer[offset + 4] });
+        if (obisCount < MAX_CACHED_OBIS_CODES) {
+            obisKeys[obisCount] = key;
+            obisCodes[obisCount] = obis;
+            obisCount++;
+        }
+        return obis;
+    }
+
+    /**
+     * Reads the value of the last TL field read as string, the same way jSML formats values.
+     */
+    private String readValueAsString() throws IOException {
+        switch (type) {
+            case TYPE_OCTET_STRING:
+                int start = position;
+                advance(length);
+                if (length == 0) {
+                    return "";
+                }
+                // hex bytes separated by spaces
+                char[] hex = new char[length * 3 - 1];
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        hex[i * 3 - 1] = ' ';
+                    }
+                    hex[i * 3] = HEX_DIGITS[(buffer[start + i] >> 4) & 0x0f];
+                    hex[i * 3 + 1] = HEX_DIGITS[buffer[start + i] & 0x0f];
+                }
+                return new String(hex);
+            case TYPE_BOOLEAN:
+                return String.valueOf(readLong(false) != 0);
+            case TYPE_INTEGER:
+                return String.valueOf(readLong(true));
+            case TYPE_UNSIGNED:
+                return String.valueOf(readLong(false));
+            default:
+                throw new IOException("Invalid value type " + type + " at " + position);
+        }
+    }
+
+    /**
+     * Reads the value of the last TL field read as big endian number.
+     */
+    private long readLong(boolean signed) throws IOException {
+        if (length < 1 || length > 8) {
+            throw new IOException("Invalid number length " + length + " at " + position);
+        }
+        int start = position;
+        advance(length);
+        long value = signed ? buffer[start] : buffer[start] & 0xff;
+        for (int i = start + 1; i < position; i++) {
+            value = value << 8 | (buffer[i] & 0xff);
+        }
+        return value;
+    }
+
+    private void readList(int elementCount) throws IOException {
+        readTL();
+        if (type != TYPE_LIST || length != elementCount) {
+            throw new IOException("Expected list of " + elementCount + " elements at " + position);
+        }
+    }
+
+    private void readTL() throws IOException {
+        int tl = next();
+        int tlLength = 1;
+        int fieldLength = tl & 0x0f;
+
+        type = (tl >> 4) & 0x07;
+        while ((tl & 0x80) != 0) {
+            tl = next();
+            tlLength++;
+            fieldLength = fieldLength << 4 | (tl & 0x0f);
+        }
+        length = type == TYPE_LIST ? fieldLength : fieldLength - tlLength;
+        if (length < 0 || (type != TYPE_LIST && length > limit - position)) {
+            throw new IOException("Invalid TL field at " + position);
+        }
+    }
+
+    private void skip(int depth) throws IOException {
+        readTL();
+        if (type == TYPE_LIST) {
+            skipElements(length, depth + 1);
+        } else {
+            advance(length);
+        }
+    }
+
+    private void skipElements(int count, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Elements nested too deep at " + position);
+        }
+        for (int i = 0; i < count; i++) {
+            skip(depth);
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit) {
+            throw new IOException("Unexpected end of SML file");
+        }
+        return buffer[position] & 0xff;
+    }
+
+    private int next() throws IOException {
+        int value = peek();
+        position++;
+        return value;
+    }
+
+    private void advance(int count) throws IOException {
+        if (count > limit - position) {
+            throw new IOException("Unexpected end of SML file");
+        }
+        position += count;
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Reads SML files from a stream according to the SML transport protocol version 1. The escape sequences are removed
+ * and the checksum of the file is verified.
+ *
+ * The buffers are reused for all files read, so the content returned by {@link #getBuffer()} is only valid until the
+ * next call of {@link #readFile()}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class SmlTransportReader {
+
+    /**
+     * The maximum size of a SML file, same as in jSML
+     */
+    private static final int MAX_FILE_SIZE = 100000;
+
+    private static final int SEQUENCE_LENGTH = 8;
+    private static final int ESCAPE = 0x1b;
+    private static final int START = 0x01;
+    private static final int END = 0x1a;
+    private static final int MAX_PADDING = 3;
+
+    /**
+     * Time to wait for new data if no data is available
+     */
+    private static final long POLL_INTERVAL = 50;
+
+    /**
+     * CRC16 X.25 lookup table
+     */
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < CRC_TABLE.length; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x8408 : crc >>> 1;
+            }
+            CRC_TABLE[i] = crc;
+        }
+    }
+
+    private final InputStream inputStream;
+    private final long timeout;
+
+    private final byte[] readBuffer = new byte[512];
+    private int readPosition;
+    private int readLimit;
+
+    private byte[] file = new byte[1024];
+    private int fileLength;
+    private int crc;
+
+    /**
+     * Creates a reader on the given stream.
+     *
+     * @param inputStream the stream to read the SML files from.
+     * @param timeout time in milliseconds after which reading a file fails if no data was received.
+     */
+    public SmlTransportReader(InputStream inputStream, long timeout) {
+        this.inputStream = inputStream;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Reads the next SML file from the stream. Data before the start sequence is skipped.
+     *
+     * @return the length of the SML file, which is available in {@link #getBuffer()}.
+     * @throws IOException if the stream fails, times out or the file is invalid.
+     */
+    public int readFile() throws IOException {
+        waitForStartSequence();
+        startFile();
+
+        while (true) {
+            fill(SEQUENCE_LENGTH);
+            byte[] buffer = readBuffer;
+            int position = readPosition;
+
+            if (buffer[position] != ESCAPE || !isSequence(position, ESCAPE, 0, 4)) {
+                append(buffer[position]);
+                readPosition++;
+            } else if (isSequence(position, ESCAPE, 4, SEQUENCE_LENGTH)) {
+                // escaped escape sequence in the data, the escape is only added once to the file
+                updateCrc(position + 4, 4);
+                for (int i = 0; i < 4; i++) {
+                    append((byte) ESCAPE);
+                }
+                readPosition += SEQUENCE_LENGTH;
+            } else if (isSequence(position, START, 4, SEQUENCE_LENGTH)) {
+                // a new file started before the current one ended
+                startFile();
+            } else {
+                return endFile();
+            }
+        }
+    }
+
+    /**
+     * Gets the buffer holding the last SML file read.
+     *
+     * @return the buffer, of which the first bytes up to the length returned by {@link #readFile()} are valid.
+     */
+    public byte[] getBuffer() {
+        return file;
+    }
+
+    /**
+     * Gets the number of bytes that can be read without waiting for the stream.
+     *
+     * @return the number of buffered and available bytes.
+     * @throws IOException if the stream fails.
+     */
+    public int available() throws IOException {
+        return readLimit - readPosition + inputStream.available();
+    }
+
+    private void waitForStartSequence() throws IOException {
+        while (true) {
+            fill(SEQUENCE_LENGTH);
+            if (isSequence(readPosition, ESCAPE, 0, 4) && isSequence(readPosition, START, 4, SEQUENCE_LENGTH)) {
+                return;
+            }
+            readPosition++;
+        }
+    }
+
+    private void startFile() {
+        crc = 0xffff;
+        fileLength = 0;
+        updateCrc(readPosition, SEQUENCE_LENGTH);
+        readPosition += SEQUENCE_LENGTH;
+    }
+
+    private int endFile() throws IOException {
+        int position = readPosition;
+        int padding = readBuffer[position + 5];
+        int expectedCrc = (readBuffer[position + 6] & 0xff) << 8 | (readBuffer[position + 7] & 0xff);
+
+        updateCrc(position, 6);
+        readPosition += SEQUENCE_LENGTH;
+        if (readBuffer[position + 4] != END || padding < 0 || padding > MAX_PADDING || padding > fileLength) {
+            throw new IOException("Termination sequence is wrong");
+        }
+        int actualCrc = crc ^ 0xffff;
+        if (((actualCrc & 0xff) << 8 | actualCrc >>> 8) != expectedCrc) {
+            throw new IOException("wrong crc");
+        }
+        return fileLength - padding;
+    }
+
+    private boolean isSequence(int position, int value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (readBuffer[position + i] != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateCrc(int position, int length) {
+        for (int i = position; i < position + length; i++) {
+            crc = (crc >>> 8) ^ CRC_TABLE[(crc ^ readBuffer[i]) & 0xff];
+        }
+    }
+
+    private void append(byte value) throws IOException {
+        if (fileLength == file.length) {
+            if (fileLength >= MAX_FILE_SIZE) {
+                throw new IOException("SML file exceeds " + MAX_FILE_SIZE + " bytes");
+            }
+            file = Arrays.copyOf(file, Math.min(file.length * 2, MAX_FILE_SIZE));
+        }
+        crc = (crc >>> 8) ^ CRC_TABLE[(crc ^ value) & 0xff];
+        file[fileLength++] = value;
+    }
+
+    /**
+     * Makes sure that at least the given number of bytes are in the read buffer.
+     */
+    private void fill(int count) throws IOException {
+        if (readLimit - readPosition >= count) {
+            return;
+        }
+        System.arraycopy(readBuffer, readPosition, readBuffer, 0, readLimit - readPosition);
+        readLimit -= readPosition;
+        readPosition = 0;
+
+        long lastReceived = System.currentTimeMillis();
+        while (readLimit < count) {
+            if (System.currentTimeMillis() - lastReceived > timeout) {
+                throw new IOException("Timeout");
+            }
+            int available = inputStream.available();
+            if (available > 0) {
+                int read = inputStream.read(readBuffer, readLimit, Math.min(available, readBuffer.length - readLimit));
+                if (read < 0) {
+                    throw new EOFException();
+                }
+                readLimit += read;
+                lastReceived = System.currentTimeMillis();
+            } else {
+                try {
+                    Thread.sleep(POLL_INTERVAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for SML data");
+                }
+            }
+        }
+    }
+}
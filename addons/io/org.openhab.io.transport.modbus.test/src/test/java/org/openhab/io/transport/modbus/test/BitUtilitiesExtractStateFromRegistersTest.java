@@ -385,4 +385,16 @@ public class BitUtilitiesExtractStateFromRegistersTest {
         assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actualState,
                 is(equalTo(expectedResult)));
     }
+
+    @Test
+    public void testExtractRawValueFromRegisters() {
+        if (expectedResult instanceof Class && Exception.class.isAssignableFrom((Class) expectedResult)) {
+            shouldThrow.expect((Class) expectedResult);
+        }
+
+        long rawValue = ModbusBitUtilities.extractRawValueFromRegisters(this.registers, this.index, this.type);
+        DecimalType actualState = ModbusBitUtilities.rawValueToState(rawValue, this.type);
+        assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actualState,
+                is(equalTo(expectedResult)));
+    }
 }
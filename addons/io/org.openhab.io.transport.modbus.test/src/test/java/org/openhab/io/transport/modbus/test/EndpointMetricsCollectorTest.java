@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.AggregateStopWatch;
+import org.openhab.io.transport.modbus.internal.EndpointMetricsCollector;
+
+public class EndpointMetricsCollectorTest {
+
+    private final EndpointMetricsCollector metrics = new EndpointMetricsCollector(
+            new ModbusTCPSlaveEndpoint("localhost", 502));
+
+    @Test
+    public void testEmptyMetrics() {
+        assertThat(metrics.getOperationCount(), is(equalTo(0L)));
+        assertThat(metrics.getTransactionCount(), is(equalTo(0L)));
+        assertThat(metrics.getTransactionsPerSecond(), is(equalTo(0.0)));
+        assertThat(metrics.getTransactionLatencyPercentileMillis(99), is(equalTo(0L)));
+        assertThat(metrics.getAverageConnectionMillis(), is(equalTo(0.0)));
+        assertThat(metrics.getAverageQueueMillis(), is(equalTo(0.0)));
+    }
+
+    @Test
+    public void testLatencyPercentiles() {
+        for (int latency = 1; latency <= 100; latency++) {
+            metrics.recordTransaction(latency);
+        }
+        assertThat(metrics.getTransactionCount(), is(equalTo(100L)));
+        assertThat(metrics.getTransactionLatencyPercentileMillis(0), is(equalTo(1L)));
+        assertThat(metrics.getTransactionLatencyPercentileMillis(50), is(equalTo(50L)));
+        assertThat(metrics.getTransactionLatencyPercentileMillis(90), is(equalTo(90L)));
+        assertThat(metrics.getTransactionLatencyPercentileMillis(99), is(equalTo(99L)));
+        assertThat(metrics.getTransactionLatencyPercentileMillis(100), is(equalTo(100L)));
+    }
+
+    @Test
+    public void testOnlyRecentLatenciesAreUsed() {
+        for (int i = 0; i < 5000; i++) {
+            metrics.recordTransaction(1000);
+        }
+        for (int i = 0; i < 5000; i++) {
+            metrics.recordTransaction(1);
+        }
+        assertThat(metrics.getTransactionCount(), is(equalTo(10000L)));
+        assertThat(metrics.getTransactionLatencyPercentileMillis(100), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testTransactionsPerSecondShortlyAfterStart() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            metrics.recordTransaction(1);
+        }
+        Thread.sleep(500);
+        // 10 transactions within at least 0.5 s since the collector was created, not within a full minute
+        assertTransactionsPerSecond(5, 20);
+    }
+
+    @Test
+    public void testTransactionsPerSecondShortlyAfterReset() throws InterruptedException {
+        Thread.sleep(500);
+        metrics.reset();
+        for (int i = 0; i < 10; i++) {
+            metrics.recordTransaction(1);
+        }
+        Thread.sleep(500);
+        assertTransactionsPerSecond(5, 20);
+    }
+
+    private void assertTransactionsPerSecond(double min, double max) {
+        double transactionsPerSecond = metrics.getTransactionsPerSecond();
+        assertTrue("transactions per second: " + transactionsPerSecond,
+                transactionsPerSecond >= min && transactionsPerSecond <= max);
+    }
+
+    @Test
+    public void testOperationsAndErrors() {
+        metrics.recordOperation(new AggregateStopWatch(), 1, true);
+        metrics.recordIOError();
+        metrics.recordSlaveError();
+        metrics.recordOperation(new AggregateStopWatch(), 3, false);
+        metrics.recordConnectionFailure();
+        metrics.recordOperation(new AggregateStopWatch(), 0, false);
+
+        assertThat(metrics.getOperationCount(), is(equalTo(3L)));
+        assertThat(metrics.getFailedOperationCount(), is(equalTo(2L)));
+        assertThat(metrics.getRetryCount(), is(equalTo(2L)));
+        assertThat(metrics.getIOErrorCount(), is(equalTo(1L)));
+        assertThat(metrics.getSlaveErrorCount(), is(equalTo(1L)));
+        assertThat(metrics.getConnectionFailureCount(), is(equalTo(1L)));
+
+        metrics.reset();
+        assertThat(metrics.getOperationCount(), is(equalTo(0L)));
+        assertThat(metrics.getRetryCount(), is(equalTo(0L)));
+        assertThat(metrics.getIOErrorCount(), is(equalTo(0L)));
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointOperationQueue;
+import org.openhab.io.transport.modbus.internal.EndpointOperationQueue.Priority;
+
+public class EndpointOperationQueueTest {
+
+    private ExecutorService executor;
+    private EndpointOperationQueue queue;
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        queue = new EndpointOperationQueue(new ModbusTCPSlaveEndpoint("localhost", 502), executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Blocks the queue until the returned latch is counted down
+     */
+    private CountDownLatch blockQueue() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit(Priority.REGULAR_POLL, timer -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private void awaitEmpty() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        queue.submit(Priority.REGULAR_POLL, timer -> done.countDown());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testWritesAndOneOffPollsArePrioritized() throws InterruptedException {
+        CountDownLatch release = blockQueue();
+        queue.submitRegularPoll("poll1", 60000, timer -> executed.add("poll1"));
+        queue.submit(Priority.ONE_OFF_POLL, timer -> executed.add("oneoff"));
+        queue.submitRegularPoll("poll2", 60000, timer -> executed.add("poll2"));
+        queue.submit(Priority.WRITE, timer -> executed.add("write1"));
+        queue.submit(Priority.WRITE, timer -> executed.add("write2"));
+        assertThat(queue.getDepth(), is(equalTo(5)));
+        release.countDown();
+        awaitEmpty();
+
+        assertThat(executed, is(equalTo(Arrays.asList("write1", "write2", "oneoff", "poll1", "poll2"))));
+        assertThat(queue.getDepth(), is(equalTo(0)));
+        assertThat(queue.getMaxDepth(), is(equalTo(5L)));
+    }
+
+    @Test
+    public void testRegularPollIsNotQueuedTwice() throws InterruptedException {
+        CountDownLatch release = blockQueue();
+        assertTrue(queue.submitRegularPoll("poll", 60000, timer -> executed.add("poll")));
+        assertFalse(queue.submitRegularPoll("poll", 60000, timer -> executed.add("poll")));
+        release.countDown();
+        awaitEmpty();
+
+        assertThat(executed, is(equalTo(Arrays.asList("poll"))));
+        assertThat(queue.getSkippedQueuedCount(), is(equalTo(1L)));
+        // once executed, the poll can be queued again
+        assertTrue(queue.submitRegularPoll("poll", 60000, timer -> executed.add("poll")));
+    }
+
+    @Test
+    public void testStaleRegularPollIsSkipped() throws InterruptedException {
+        CountDownLatch release = blockQueue();
+        queue.submitRegularPoll("stale", 1, timer -> executed.add("stale"));
+        queue.submit(Priority.ONE_OFF_POLL, timer -> executed.add("oneoff"));
+        Thread.sleep(50);
+        release.countDown();
+        awaitEmpty();
+
+        assertThat(executed, is(equalTo(Arrays.asList("oneoff"))));
+        assertThat(queue.getSkippedStaleCount(), is(equalTo(1L)));
+        assertTrue(queue.getMaxWaitMillis() >= 40);
+    }
+
+    @Test
+    public void testCanceledOperationIsNotExecuted() throws InterruptedException {
+        CountDownLatch release = blockQueue();
+        ScheduledFuture<?> future = queue.submit(Priority.WRITE, timer -> executed.add("write"));
+        assertTrue(future.cancel(false));
+        assertThat(queue.getDepth(), is(equalTo(0)));
+        release.countDown();
+        awaitEmpty();
+
+        assertThat(executed.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testInterruptOfCanceledOperationIsCleared() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        ScheduledFuture<?> future = queue.submit(Priority.ONE_OFF_POLL, timer -> {
+            started.countDown();
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                executed.add("interrupted");
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // queued while the first operation is running, hence executed by the same thread
+        queue.submit(Priority.WRITE,
+                timer -> executed.add(Thread.currentThread().isInterrupted() ? "write interrupted" : "write"));
+        assertTrue(future.cancel(true));
+        awaitEmpty();
+
+        assertThat(executed, is(equalTo(Arrays.asList("interrupted", "write"))));
+    }
+}
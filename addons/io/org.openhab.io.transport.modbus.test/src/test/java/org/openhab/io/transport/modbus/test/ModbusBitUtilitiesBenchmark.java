@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Measures the decoding of values from registers with {@link ModbusBitUtilities#extractStateFromRegisters}, with
+ * {@link ModbusBitUtilities#extractRawValueFromRegisters} (with and without conversion to {@link DecimalType}), and
+ * the encoding of commands with {@link ModbusBitUtilities#commandToRegisters}. This is not run as part of the unit
+ * tests, start it with <code>java ... ModbusBitUtilitiesBenchmark [iterations]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class ModbusBitUtilitiesBenchmark {
+
+    private static final ValueType[] TYPES = { ValueType.UINT8, ValueType.INT16, ValueType.INT32, ValueType.FLOAT32,
+            ValueType.UINT64 };
+
+    /**
+     * Registers of a typical poll, 125 registers (maximum read)
+     */
+    private static final int REGISTERS = 125;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Random random = new Random(42);
+        int[] values = new int[REGISTERS];
+        for (int i = 0; i < values.length; i++) {
+            // keep the highest bits clear so that no register pair decodes to NaN or infinite float
+            values[i] = random.nextInt(0x4000);
+        }
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(values);
+
+        for (int round = 0; round < 5; round++) {
+            System.out.printf("round %d%n", round);
+            for (ValueType type : TYPES) {
+                int count = valueCount(type);
+                long sink = 0;
+
+                long start = System.nanoTime();
+                for (int iteration = 0; iteration < iterations; iteration++) {
+                    for (int index = 0; index < count; index++) {
+                        sink += ModbusBitUtilities.extractStateFromRegisters(registers, index, type).hashCode();
+                    }
+                }
+                long state = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int iteration = 0; iteration < iterations; iteration++) {
+                    for (int index = 0; index < count; index++) {
+                        sink += ModbusBitUtilities.extractRawValueFromRegisters(registers, index, type);
+                    }
+                }
+                long raw = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int iteration = 0; iteration < iterations; iteration++) {
+                    for (int index = 0; index < count; index++) {
+                        long rawValue = ModbusBitUtilities.extractRawValueFromRegisters(registers, index, type);
+                        sink += ModbusBitUtilities.rawValueToState(rawValue, type).hashCode();
+                    }
+                }
+                long rawToState = System.nanoTime() - start;
+
+                // commands can be encoded to 16, 32 and 64 bit types only
+                DecimalType command = new DecimalType(1234.5);
+                start = System.nanoTime();
+                if (type.getBits() >= 16) {
+                    for (int iteration = 0; iteration < iterations; iteration++) {
+                        for (int index = 0; index < count; index++) {
+                            sink += ModbusBitUtilities.commandToRegisters(command, type).size();
+                        }
+                    }
+                }
+                long encode = System.nanoTime() - start;
+
+                long operations = (long) iterations * count;
+                System.out.printf(
+                        "  %-8s decode state %6.1f ns/op, raw %6.1f ns/op, raw+state %6.1f ns/op, encode %6.1f ns/op (%d ms total) [%d]%n",
+                        type, (double) state / operations, (double) raw / operations,
+                        (double) rawToState / operations, (double) encode / operations,
+                        TimeUnit.NANOSECONDS.toMillis(state + raw + rawToState + encode), sink);
+            }
+        }
+    }
+
+    private static int valueCount(ValueType type) {
+        return type.getBits() >= 16 ? REGISTERS - type.getBits() / 16 + 1 : REGISTERS * 16 / type.getBits();
+    }
+}
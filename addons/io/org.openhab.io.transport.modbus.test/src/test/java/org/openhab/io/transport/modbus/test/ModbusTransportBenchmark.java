@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.test.IntegrationTestSupport.NonOSGIModbusManager;
+
+import net.wimpi.modbus.ModbusCoupler;
+import net.wimpi.modbus.net.ModbusTCPListener;
+import net.wimpi.modbus.procimg.SimpleProcessImage;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Measures the round trip of read operations through the manager, connection pool and jamod against an in-process
+ * Modbus TCP slave, and prints the resulting {@link ModbusEndpointMetrics}. This is not run as part of the unit tests,
+ * start it with <code>java ... ModbusTransportBenchmark [operations]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class ModbusTransportBenchmark {
+
+    private static final int REGISTERS = 64;
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        SimpleProcessImage spi = new SimpleProcessImage();
+        for (int i = 0; i < REGISTERS; i++) {
+            spi.addRegister(new SimpleRegister(i));
+        }
+        ModbusCoupler.getReference().setProcessImage(spi);
+        ModbusCoupler.getReference().setMaster(false);
+        ModbusCoupler.getReference().setUnitID(1);
+
+        ModbusTCPListener listener = new ModbusTCPListener(1, InetAddress.getByName("127.0.0.1"));
+        listener.setPort(0);
+        listener.start();
+        while (listener.getLocalPort() <= 0) {
+            Thread.sleep(5);
+        }
+
+        ModbusTCPSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("127.0.0.1", listener.getLocalPort());
+        EndpointPoolConfiguration config = new EndpointPoolConfiguration();
+        config.setInterTransactionDelayMillis(0);
+        config.setReconnectAfterMillis(-1);
+
+        AtomicInteger errors = new AtomicInteger();
+        ModbusReadCallback callback = new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                errors.incrementAndGet();
+            }
+        };
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, REGISTERS, 1),
+                callback);
+
+        try (NonOSGIModbusManager manager = new NonOSGIModbusManager()) {
+            manager.setEndpointPoolConfiguration(endpoint, config);
+            for (int round = 0; round < 5; round++) {
+                manager.resetEndpointMetrics();
+                long start = System.nanoTime();
+                for (int i = 0; i < operations; i++) {
+                    manager.submitOneTimePoll(task).get();
+                }
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("round %d: %d reads in %d ms, %.1f reads/s, %d errors%n", round, operations,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), operations * 1e9 / elapsed, errors.getAndSet(0));
+                for (ModbusEndpointMetrics metrics : manager.getEndpointMetrics()) {
+                    System.out.printf("  %s%n", metrics);
+                }
+            }
+        } finally {
+            listener.stop();
+        }
+    }
+}
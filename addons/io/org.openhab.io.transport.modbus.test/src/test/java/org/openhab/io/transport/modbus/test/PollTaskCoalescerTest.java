@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.PollTaskCoalescer;
+import org.openhab.io.transport.modbus.internal.PollTaskCoalescer.CoalescedPollTask;
+
+public class PollTaskCoalescerTest {
+
+    private final ModbusTCPSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length, ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, functionCode, start, length, 3), callback);
+    }
+
+    private PollTask registerTask(int start, int length, ModbusReadCallback callback) {
+        return task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, callback);
+    }
+
+    @Test
+    public void testAdjacentTasksAreMerged() {
+        PollTask task1 = registerTask(10, 2, mock(ModbusReadCallback.class));
+        PollTask task2 = registerTask(12, 3, mock(ModbusReadCallback.class));
+        PollTask task3 = registerTask(0, 10, mock(ModbusReadCallback.class));
+
+        List<PollTask> planned = PollTaskCoalescer.plan(Arrays.asList(task1, task2, task3), 0, task -> true);
+
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0), is(instanceOf(CoalescedPollTask.class)));
+        ModbusReadRequestBlueprint request = planned.get(0).getRequest();
+        assertThat(request.getReference(), is(equalTo(0)));
+        assertThat(request.getDataLength(), is(equalTo(15)));
+        assertThat(request.getUnitID(), is(equalTo(1)));
+        assertThat(request.getFunctionCode(), is(equalTo(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS)));
+        assertThat(((CoalescedPollTask) planned.get(0)).getMembers(), is(equalTo(Arrays.asList(task3, task1, task2))));
+    }
+
+    @Test
+    public void testGapIsNotMergedByDefault() {
+        PollTask task1 = registerTask(0, 2, mock(ModbusReadCallback.class));
+        PollTask task2 = registerTask(5, 2, mock(ModbusReadCallback.class));
+
+        List<PollTask> planned = PollTaskCoalescer.plan(Arrays.asList(task1, task2), 0, task -> true);
+
+        assertThat(planned, is(equalTo(Arrays.asList(task1, task2))));
+    }
+
+    @Test
+    public void testGapIsMergedWithMaxGap() {
+        PollTask task1 = registerTask(0, 2, mock(ModbusReadCallback.class));
+        PollTask task2 = registerTask(5, 2, mock(ModbusReadCallback.class));
+
+        List<PollTask> planned = PollTaskCoalescer.plan(Arrays.asList(task1, task2), 3, task -> true);
+
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testMaximumRegisterCountIsRespected() {
+        PollTask task1 = registerTask(0, 100, mock(ModbusReadCallback.class));
+        PollTask task2 = registerTask(100, 25, mock(ModbusReadCallback.class));
+        PollTask task3 = registerTask(125, 1, mock(ModbusReadCallback.class));
+
+        List<PollTask> planned = PollTaskCoalescer.plan(Arrays.asList(task1, task2, task3), 0, task -> true);
+
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(planned.get(1), is(sameInstance(task3)));
+    }
+
+    @Test
+    public void testMaximumBitCountIsRespected() {
+        PollTask task1 = task(ModbusReadFunctionCode.READ_COILS, 0, 1000, mock(ModbusReadCallback.class));
+        PollTask task2 = task(ModbusReadFunctionCode.READ_COILS, 1000, 1000, mock(ModbusReadCallback.class));
+        PollTask task3 = task(ModbusReadFunctionCode.READ_COILS, 2000, 1, mock(ModbusReadCallback.class));
+
+        List<PollTask> planned = PollTaskCoalescer.plan(Arrays.asList(task1, task2, task3), 0, task -> true);
+
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(2000)));
+        assertThat(planned.get(1), is(sameInstance(task3)));
+    }
+
+    @Test
+    public void testRegistersAreSlicedToCallbacks() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = registerTask(3, 2, callback1);
+        PollTask task2 = registerTask(4, 3, callback2);
+
+        PollTask merged = PollTaskCoalescer.plan(Arrays.asList(task1, task2), 0, task -> true).get(0);
+        merged.getCallback().onRegisters(merged.getRequest(), new BasicModbusRegisterArray(30, 40, 50, 60));
+
+        ArgumentCaptor<ModbusRegisterArray> registers1 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback1).onRegisters(eq(task1.getRequest()), registers1.capture());
+        assertThat(registers1.getValue().size(), is(equalTo(2)));
+        assertThat(registers1.getValue().getRegister(0).getValue(), is(equalTo(30)));
+        assertThat(registers1.getValue().getRegister(1).getValue(), is(equalTo(40)));
+
+        ArgumentCaptor<ModbusRegisterArray> registers2 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback2).onRegisters(eq(task2.getRequest()), registers2.capture());
+        assertThat(registers2.getValue().size(), is(equalTo(3)));
+        assertThat(registers2.getValue().getRegister(0).getValue(), is(equalTo(40)));
+        assertThat(registers2.getValue().getRegister(2).getValue(), is(equalTo(60)));
+    }
+
+    @Test
+    public void testBitsAreSlicedToCallbacks() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(ModbusReadFunctionCode.READ_INPUT_DISCRETES, 0, 2, callback1);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_INPUT_DISCRETES, 2, 2, callback2);
+
+        PollTask merged = PollTaskCoalescer.plan(Arrays.asList(task1, task2), 0, task -> true).get(0);
+        // the response of a bit read is padded to full bytes
+        merged.getCallback().onBits(merged.getRequest(),
+                new BasicBitArray(true, false, false, true, false, false, false, false));
+
+        verify(callback1).onBits(task1.getRequest(), new BasicBitArray(true, false));
+        verify(callback2).onBits(task2.getRequest(), new BasicBitArray(false, true));
+    }
+
+    @Test
+    public void testErrorsAndUnregisteredTasks() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = registerTask(0, 1, callback1);
+        PollTask task2 = registerTask(1, 1, callback2);
+
+        PollTask merged = PollTaskCoalescer.plan(Arrays.asList(task1, task2), 0, task -> task != task2).get(0);
+        Exception error = new Exception("test");
+        merged.getCallback().onError(merged.getRequest(), error);
+
+        verify(callback1).onError(task1.getRequest(), error);
+        verify(callback2, never()).onError(any(), any());
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotAffectOthers() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        doThrow(new IllegalStateException("test")).when(callback1).onBits(any(), any(BitArray.class));
+        PollTask task1 = task(ModbusReadFunctionCode.READ_COILS, 0, 1, callback1);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_COILS, 1, 1, callback2);
+
+        PollTask merged = PollTaskCoalescer.plan(Arrays.asList(task1, task2), 0, task -> true).get(0);
+        merged.getCallback().onBits(merged.getRequest(), new BasicBitArray(true, true));
+
+        verify(callback2).onBits(task2.getRequest(), new BasicBitArray(true));
+    }
+}
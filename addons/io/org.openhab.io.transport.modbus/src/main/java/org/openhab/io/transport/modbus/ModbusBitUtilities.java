@@ -196,6 +196,104 @@ public class ModbusBitUtilities {
         }
     }
 
+    /**
+     * Read data from registers as a primitive raw value, without allocating any objects.
+     *
+     * The raw value can be compared to detect changes, and converted to {@link DecimalType} with
+     * {@link #rawValueToState(long, ModbusConstants.ValueType)}. The result of the conversion equals
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}.
+     *
+     * Integer types are returned as their value (unsigned 64bit integers as their two's complement bits), floating
+     * point types as the bits of the float.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see {@link #extractStateFromRegisters}
+     * @param type item type
+     * @return raw value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractRawValueFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+        switch (type) {
+            case BIT:
+                return (registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1;
+            case INT8:
+                return (byte) (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2)));
+            case UINT8:
+                return (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getRegister(index).toUnsignedShort();
+            case UINT16:
+                return registers.getRegister(index).toUnsignedShort();
+            case INT32:
+            case FLOAT32:
+                return (int) registersToLong(registers, index, index + 1);
+            case UINT32:
+                return registersToLong(registers, index, index + 1);
+            case INT32_SWAP:
+            case FLOAT32_SWAP:
+                return (int) registersToLong(registers, index + 1, index);
+            case UINT32_SWAP:
+                return registersToLong(registers, index + 1, index);
+            case INT64:
+            case UINT64:
+                return registersToLong(registers, index, index + 1, index + 2, index + 3);
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return registersToLong(registers, index + 3, index + 2, index + 1, index);
+            default:
+                throw new IllegalArgumentException(type.getConfigValue());
+        }
+    }
+
+    /**
+     * Convert raw value read with
+     * {@link #extractRawValueFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)} to DecimalType
+     *
+     * @param rawValue raw value
+     * @param type item type
+     * @return number representation of the value
+     */
+    public static DecimalType rawValueToState(long rawValue, ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return new DecimalType(Float.intBitsToFloat((int) rawValue));
+            case UINT64:
+            case UINT64_SWAP:
+                if (rawValue < 0) {
+                    return new DecimalType(new BigDecimal(
+                            BigInteger.valueOf(rawValue & Long.MAX_VALUE).setBit(Long.SIZE - 1)));
+                }
+                return new DecimalType(rawValue);
+            default:
+                return new DecimalType(rawValue);
+        }
+    }
+
+    /**
+     * Concatenate two registers, most significant register first
+     */
+    private static long registersToLong(ModbusRegisterArray registers, int high, int low) {
+        return ((long) registers.getRegister(high).toUnsignedShort() << 16)
+                | registers.getRegister(low).toUnsignedShort();
+    }
+
+    /**
+     * Concatenate four registers, most significant register first
+     */
+    private static long registersToLong(ModbusRegisterArray registers, int first, int second, int third, int fourth) {
+        return (registersToLong(registers, first, second) << 32) | registersToLong(registers, third, fourth);
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
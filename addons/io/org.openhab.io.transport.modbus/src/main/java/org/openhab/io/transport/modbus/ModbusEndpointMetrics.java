@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Performance metrics of the operations executed against a single endpoint
+ *
+ * Counters are cumulative since the manager was activated or the metrics were reset. Latency percentiles and
+ * throughput are calculated from the most recent transactions.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusEndpointMetrics {
+
+    /**
+     * @return endpoint these metrics relate to
+     */
+    public ModbusSlaveEndpoint getEndpoint();
+
+    /**
+     * @return number of completed read and write operations, including the failed ones
+     */
+    public long getOperationCount();
+
+    /**
+     * @return number of operations that failed after all tries
+     */
+    public long getFailedOperationCount();
+
+    /**
+     * @return number of successful transactions (request and response) with the slave
+     */
+    public long getTransactionCount();
+
+    /**
+     * @return successful transactions per second, calculated over the last minute
+     */
+    public double getTransactionsPerSecond();
+
+    /**
+     * Get percentile of the transaction latency, that is, time from sending the request until the response has been
+     * received.
+     *
+     * @param percentile percentile between 0 and 100, e.g. 99 for 99th percentile
+     * @return latency in milliseconds, or 0 if there are no transactions
+     */
+    public long getTransactionLatencyPercentileMillis(double percentile);
+
+    /**
+     * @return average time spent borrowing (and possibly connecting) the connection from the pool, per operation
+     */
+    public double getAverageConnectionMillis();
+
+    /**
+     * @return maximum time spent borrowing (and possibly connecting) the connection from the pool
+     */
+    public long getMaxConnectionMillis();
+
+    /**
+     * @return average time the operations waited in the queue of the endpoint before execution
+     */
+    public double getAverageQueueMillis();
+
+    /**
+     * @return maximum time an operation waited in the queue of the endpoint before execution
+     */
+    public long getMaxQueueMillis();
+
+    /**
+     * @return number of times a connection could not be established
+     */
+    public long getConnectionFailureCount();
+
+    /**
+     * @return number of tries failed with I/O error, including timeouts
+     */
+    public long getIOErrorCount();
+
+    /**
+     * @return number of tries failed with an exception response from the slave
+     */
+    public long getSlaveErrorCount();
+
+    /**
+     * @return number of tries failed with other errors, e.g. unexpected transaction id in the response
+     */
+    public long getOtherErrorCount();
+
+    /**
+     * @return number of retries, i.e. tries after the first one
+     */
+    public long getRetryCount();
+}
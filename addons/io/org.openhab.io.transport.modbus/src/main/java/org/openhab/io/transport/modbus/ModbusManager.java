@@ -12,6 +12,7 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
@@ -104,4 +105,16 @@ public interface ModbusManager {
      */
     public Set<PollTask> getRegisteredRegularPolls();
 
+    /**
+     * Get performance metrics of the endpoints
+     *
+     * @return metrics of each endpoint operations have been executed against
+     */
+    public Collection<ModbusEndpointMetrics> getEndpointMetrics();
+
+    /**
+     * Reset performance metrics of all endpoints
+     */
+    public void resetEndpointMetrics();
+
 }
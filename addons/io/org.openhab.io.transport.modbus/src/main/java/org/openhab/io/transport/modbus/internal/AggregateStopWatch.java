@@ -34,6 +34,11 @@ public class AggregateStopWatch {
      */
     final SimpleStopWatch total = new SimpleStopWatch();
 
+    /**
+     * Time waiting in the queue of the endpoint before the operation was started
+     */
+    final SimpleStopWatch queue = new SimpleStopWatch();
+
     /**
      * Time for connection related actions
      */
@@ -57,7 +62,7 @@ public class AggregateStopWatch {
      * Suspend all running stopwatches of this aggregate
      */
     public void suspendAllRunning() {
-        for (SimpleStopWatch watch : new SimpleStopWatch[] { total, connection, transaction, callback }) {
+        for (SimpleStopWatch watch : new SimpleStopWatch[] { total, queue, connection, transaction, callback }) {
             if (watch.isRunning()) {
                 watch.suspend();
             }
@@ -66,7 +71,8 @@ public class AggregateStopWatch {
 
     @Override
     public String toString() {
-        return String.format("{total: %d ms, connection: %d, transaction=%d, callback=%d}", total.getTotalTimeMillis(),
-                connection.getTotalTimeMillis(), transaction.getTotalTimeMillis(), callback.getTotalTimeMillis());
+        return String.format("{total: %d ms, queue: %d, connection: %d, transaction=%d, callback=%d}",
+                total.getTotalTimeMillis(), queue.getTotalTimeMillis(), connection.getTotalTimeMillis(),
+                transaction.getTotalTimeMillis(), callback.getTotalTimeMillis());
     }
 }
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Collects {@link ModbusEndpointMetrics} of a single endpoint.
+ *
+ * Counters are lock-free. Latencies of the most recent transactions are kept in a fixed size ring buffer, which is
+ * used for the percentiles and the throughput.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointMetricsCollector implements ModbusEndpointMetrics {
+
+    /**
+     * Number of most recent transactions used for latency percentiles
+     */
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private static final long THROUGHPUT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ModbusSlaveEndpoint endpoint;
+
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong failedOperations = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong connectionFailures = new AtomicLong();
+    private final AtomicLong ioErrors = new AtomicLong();
+    private final AtomicLong slaveErrors = new AtomicLong();
+    private final AtomicLong otherErrors = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong totalConnectionMillis = new AtomicLong();
+    private final AtomicLong maxConnectionMillis = new AtomicLong();
+    private final AtomicLong totalQueueMillis = new AtomicLong();
+    private final AtomicLong maxQueueMillis = new AtomicLong();
+
+    // ring buffer of latest transactions, guarded by this
+    private final long[] latencyMillis = new long[LATENCY_SAMPLES];
+    private final long[] completedMillis = new long[LATENCY_SAMPLES];
+    private int nextSample;
+    private int samples;
+    // time of creation or last reset, guarded by this
+    private long startMillis = System.currentTimeMillis();
+
+    public EndpointMetricsCollector(ModbusSlaveEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Record successful transaction
+     *
+     * @param latencyMillis time from sending the request until the response was received
+     */
+    public synchronized void recordTransaction(long latencyMillis) {
+        transactions.incrementAndGet();
+        this.latencyMillis[nextSample] = latencyMillis;
+        this.completedMillis[nextSample] = System.currentTimeMillis();
+        nextSample = (nextSample + 1) % LATENCY_SAMPLES;
+        samples = Math.min(samples + 1, LATENCY_SAMPLES);
+    }
+
+    public void recordConnectionFailure() {
+        connectionFailures.incrementAndGet();
+    }
+
+    public void recordIOError() {
+        ioErrors.incrementAndGet();
+    }
+
+    public void recordSlaveError() {
+        slaveErrors.incrementAndGet();
+    }
+
+    public void recordOtherError() {
+        otherErrors.incrementAndGet();
+    }
+
+    /**
+     * Record completed operation
+     *
+     * @param timer suspended stop watch of the operation
+     * @param tries number of tries executed
+     * @param success whether the operation succeeded
+     */
+    public void recordOperation(AggregateStopWatch timer, int tries, boolean success) {
+        operations.incrementAndGet();
+        if (!success) {
+            failedOperations.incrementAndGet();
+        }
+        if (tries > 1) {
+            retries.addAndGet(tries - 1);
+        }
+        long connectionMillis = timer.connection.getTotalTimeMillis();
+        totalConnectionMillis.addAndGet(connectionMillis);
+        maxConnectionMillis.accumulateAndGet(connectionMillis, Math::max);
+        long queueMillis = timer.queue.getTotalTimeMillis();
+        totalQueueMillis.addAndGet(queueMillis);
+        maxQueueMillis.accumulateAndGet(queueMillis, Math::max);
+    }
+
+    /**
+     * Reset all metrics
+     */
+    public synchronized void reset() {
+        for (AtomicLong counter : new AtomicLong[] { operations, failedOperations, transactions, connectionFailures,
+                ioErrors, slaveErrors, otherErrors, retries, totalConnectionMillis, maxConnectionMillis,
+                totalQueueMillis, maxQueueMillis }) {
+            counter.set(0);
+        }
+        nextSample = 0;
+        samples = 0;
+        startMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public long getOperationCount() {
+        return operations.get();
+    }
+
+    @Override
+    public long getFailedOperationCount() {
+        return failedOperations.get();
+    }
+
+    @Override
+    public long getTransactionCount() {
+        return transactions.get();
+    }
+
+    @Override
+    public synchronized double getTransactionsPerSecond() {
+        long nowMillis = System.currentTimeMillis();
+        long windowStart = nowMillis - THROUGHPUT_WINDOW_MILLIS;
+        int count = 0;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < samples; i++) {
+            if (completedMillis[i] > windowStart) {
+                count++;
+                oldest = Math.min(oldest, completedMillis[i]);
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        // When the ring buffer covers less than the window, the rate is calculated over the buffered transactions.
+        // Shortly after start or reset, the rate is calculated over the time elapsed since then.
+        long windowMillis = count == LATENCY_SAMPLES ? nowMillis - oldest
+                : Math.min(THROUGHPUT_WINDOW_MILLIS, nowMillis - startMillis);
+        windowMillis = Math.max(1, windowMillis);
+        return count * 1000.0 / windowMillis;
+    }
+
+    @Override
+    public long getTransactionLatencyPercentileMillis(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(latencyMillis, samples);
+        }
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        double clamped = Math.max(0, Math.min(100, percentile));
+        int index = (int) Math.ceil(clamped / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    @Override
+    public double getAverageConnectionMillis() {
+        long count = operations.get();
+        return count == 0 ? 0 : (double) totalConnectionMillis.get() / count;
+    }
+
+    @Override
+    public long getMaxConnectionMillis() {
+        return maxConnectionMillis.get();
+    }
+
+    @Override
+    public double getAverageQueueMillis() {
+        long count = operations.get();
+        return count == 0 ? 0 : (double) totalQueueMillis.get() / count;
+    }
+
+    @Override
+    public long getMaxQueueMillis() {
+        return maxQueueMillis.get();
+    }
+
+    @Override
+    public long getConnectionFailureCount() {
+        return connectionFailures.get();
+    }
+
+    @Override
+    public long getIOErrorCount() {
+        return ioErrors.get();
+    }
+
+    @Override
+    public long getSlaveErrorCount() {
+        return slaveErrors.get();
+    }
+
+    @Override
+    public long getOtherErrorCount() {
+        return otherErrors.get();
+    }
+
+    @Override
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{endpoint: %s, operations: %d, failed: %d, transactions: %d (%.1f/s), latency p50/p90/p99: %d/%d/%d ms, avg connection: %.1f ms, max connection: %d ms, avg queue: %.1f ms, max queue: %d ms, connection failures: %d, I/O errors: %d, slave errors: %d, other errors: %d, retries: %d}",
+                endpoint, getOperationCount(), getFailedOperationCount(), getTransactionCount(),
+                getTransactionsPerSecond(), getTransactionLatencyPercentileMillis(50),
+                getTransactionLatencyPercentileMillis(90), getTransactionLatencyPercentileMillis(99),
+                getAverageConnectionMillis(), getMaxConnectionMillis(), getAverageQueueMillis(), getMaxQueueMillis(),
+                getConnectionFailureCount(), getIOErrorCount(), getSlaveErrorCount(), getOtherErrorCount(),
+                getRetryCount());
+    }
+}
@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of operations to a single endpoint.
+ *
+ * Operations are executed one at a time, in order of priority: writes first, then one-off polls and finally regular
+ * polls. Operations of the same priority are executed in submission order. Regular polls that have been waiting
+ * longer than their deadline are skipped, as the next scheduled execution of the poll will follow soon. A regular
+ * poll is not queued again while a previous execution of it is still waiting in the queue.
+ *
+ * The queue is drained by a single task in the executor, which is only running while there are queued operations.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointOperationQueue {
+
+    /**
+     * Priority of a queued operation, in order of precedence
+     */
+    public enum Priority {
+        WRITE,
+        ONE_OFF_POLL,
+        REGULAR_POLL
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(EndpointOperationQueue.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final Executor executor;
+    private final PriorityBlockingQueue<QueuedOperation> queue = new PriorityBlockingQueue<>();
+    private final Set<Object> queuedRegularPolls = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong skippedStale = new AtomicLong();
+    private final AtomicLong skippedQueued = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    /**
+     * Operation waiting in the queue. Canceling the returned future removes the operation from the queue.
+     */
+    private class QueuedOperation extends FutureTask<@Nullable Void> implements ScheduledFuture<@Nullable Void> {
+
+        private final Priority priority;
+        private final long order = sequence.getAndIncrement();
+        private final long deadlineMillis;
+        private final @Nullable Object regularPollKey;
+        private final AggregateStopWatch timer;
+
+        QueuedOperation(Priority priority, long deadlineMillis, @Nullable Object regularPollKey,
+                AggregateStopWatch timer, Consumer<AggregateStopWatch> operation) {
+            super(() -> operation.accept(timer), null);
+            this.priority = priority;
+            this.deadlineMillis = deadlineMillis;
+            this.regularPollKey = regularPollKey;
+            this.timer = timer;
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            return 0;
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            if (!(other instanceof QueuedOperation)) {
+                return 0;
+            }
+            QueuedOperation otherOperation = (QueuedOperation) other;
+            int result = priority.compareTo(otherOperation.priority);
+            return result != 0 ? result : Long.compare(order, otherOperation.order);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean canceled = super.cancel(mayInterruptIfRunning);
+            if (canceled && queue.remove(this)) {
+                dequeued(this);
+            }
+            return canceled;
+        }
+    }
+
+    public EndpointOperationQueue(ModbusSlaveEndpoint endpoint, Executor executor) {
+        this.endpoint = endpoint;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues a write or one-off poll
+     *
+     * @param priority priority of the operation
+     * @param operation operation to execute, receiving the stop watch which has measured the time spent in the queue
+     * @return future representing the queued operation
+     */
+    public ScheduledFuture<?> submit(Priority priority, Consumer<AggregateStopWatch> operation) {
+        return enqueue(priority, Long.MAX_VALUE, null, operation);
+    }
+
+    /**
+     * Queues an execution of a regular poll, unless previous execution of the same poll is still waiting in the queue
+     *
+     * @param regularPollKey key identifying the regular poll
+     * @param maxWaitMillis maximum time the poll may wait in the queue before it is skipped as stale
+     * @param operation operation to execute, receiving the stop watch which has measured the time spent in the queue
+     * @return whether the poll was queued
+     */
+    public boolean submitRegularPoll(Object regularPollKey, long maxWaitMillis,
+            Consumer<AggregateStopWatch> operation) {
+        if (!queuedRegularPolls.add(regularPollKey)) {
+            skippedQueued.incrementAndGet();
+            logger.debug("Previous execution of {} is still queued for endpoint {}, not queuing again",
+                    regularPollKey, endpoint);
+            return false;
+        }
+        enqueue(Priority.REGULAR_POLL, System.currentTimeMillis() + maxWaitMillis, regularPollKey, operation);
+        return true;
+    }
+
+    private QueuedOperation enqueue(Priority priority, long deadlineMillis, @Nullable Object regularPollKey,
+            Consumer<AggregateStopWatch> operation) {
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.queue.resume();
+        QueuedOperation queued = new QueuedOperation(priority, deadlineMillis, regularPollKey, timer, operation);
+        queue.add(queued);
+        submitted.incrementAndGet();
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+        scheduleDrain();
+        return queued;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                logger.warn("Could not execute queued operations of endpoint {}: {}", endpoint, e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            QueuedOperation operation = queue.poll();
+            if (operation == null) {
+                draining.set(false);
+                // an operation might have been queued after poll() but before the flag was cleared
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            dequeued(operation);
+            long waited = operation.timer.queue.getTotalTimeMillis();
+            totalWaitMillis.addAndGet(waited);
+            maxWaitMillis.accumulateAndGet(waited, Math::max);
+            if (System.currentTimeMillis() > operation.deadlineMillis) {
+                skippedStale.incrementAndGet();
+                logger.debug("Skipping stale {} operation for endpoint {}, waited {} ms in the queue",
+                        operation.priority, endpoint, waited);
+                operation.cancel(false);
+                continue;
+            }
+            executed.incrementAndGet();
+            operation.run();
+            if (operation.isCancelled()) {
+                // cancel(true) interrupts this thread, do not let the interrupt leak into the next operation
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void dequeued(QueuedOperation operation) {
+        Object key = operation.regularPollKey;
+        if (key != null) {
+            queuedRegularPolls.remove(key);
+        }
+        synchronized (operation.timer.queue) {
+            if (operation.timer.queue.isRunning()) {
+                operation.timer.queue.suspend();
+            }
+        }
+    }
+
+    /**
+     * Cancels all queued operations
+     */
+    public void clear() {
+        QueuedOperation operation;
+        while ((operation = queue.poll()) != null) {
+            dequeued(operation);
+            operation.cancel(false);
+        }
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return number of operations currently waiting in the queue
+     */
+    public int getDepth() {
+        return queue.size();
+    }
+
+    public long getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getExecutedCount() {
+        return executed.get();
+    }
+
+    /**
+     * @return number of regular polls skipped since they waited longer than their deadline
+     */
+    public long getSkippedStaleCount() {
+        return skippedStale.get();
+    }
+
+    /**
+     * @return number of regular polls not queued since previous execution was still waiting in the queue
+     */
+    public long getSkippedQueuedCount() {
+        return skippedQueued.get();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = executed.get() + skippedStale.get();
+        return count == 0 ? 0 : (double) totalWaitMillis.get() / count;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{endpoint: %s, depth: %d, max depth: %d, submitted: %d, executed: %d, skipped stale: %d, skipped queued: %d, avg wait: %.1f ms, max wait: %d ms}",
+                endpoint, getDepth(), getMaxDepth(), getSubmittedCount(), getExecutedCount(), getSkippedStaleCount(),
+                getSkippedQueuedCount(), getAverageWaitMillis(), getMaxWaitMillis());
+    }
+}
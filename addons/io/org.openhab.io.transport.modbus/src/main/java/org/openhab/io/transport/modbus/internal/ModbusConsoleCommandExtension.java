@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusManager;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for inspecting the performance of Modbus endpoints
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+@NonNullByDefault
+public class ModbusConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+    private static final String SUBCMD_RESET_METRICS = "resetMetrics";
+
+    private @Nullable ModbusManager manager;
+
+    public ModbusConsoleCommandExtension() {
+        super("modbus", "Inspect the performance of Modbus endpoints.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        ModbusManager manager = this.manager;
+        if (manager == null) {
+            console.println("Modbus manager not available");
+            return;
+        }
+        if (args.length > 0) {
+            switch (args[0]) {
+                case SUBCMD_METRICS:
+                    printMetrics(manager.getEndpointMetrics(), console);
+                    break;
+                case SUBCMD_RESET_METRICS:
+                    manager.resetEndpointMetrics();
+                    console.println("Metrics of all endpoints reset");
+                    break;
+                default:
+                    console.println(String.format("Unknown Modbus sub command '%s'", args[0]));
+                    printUsage(console);
+                    break;
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void printMetrics(Collection<ModbusEndpointMetrics> allMetrics, Console console) {
+        if (allMetrics.isEmpty()) {
+            console.println("No operations executed yet");
+            return;
+        }
+        for (ModbusEndpointMetrics metrics : allMetrics) {
+            console.println(String.format("Endpoint %s", metrics.getEndpoint()));
+            console.println(String.format("  operations: %d (failed %d)", metrics.getOperationCount(),
+                    metrics.getFailedOperationCount()));
+            console.println(String.format("  transactions: %d (%.2f/s over last minute)",
+                    metrics.getTransactionCount(), metrics.getTransactionsPerSecond()));
+            console.println(String.format("  transaction latency: p50 %d ms, p90 %d ms, p99 %d ms, max %d ms",
+                    metrics.getTransactionLatencyPercentileMillis(50),
+                    metrics.getTransactionLatencyPercentileMillis(90),
+                    metrics.getTransactionLatencyPercentileMillis(99),
+                    metrics.getTransactionLatencyPercentileMillis(100)));
+            console.println(String.format("  connection borrow: avg %.1f ms, max %d ms",
+                    metrics.getAverageConnectionMillis(), metrics.getMaxConnectionMillis()));
+            console.println(String.format("  queue wait: avg %.1f ms, max %d ms", metrics.getAverageQueueMillis(),
+                    metrics.getMaxQueueMillis()));
+            console.println(String.format(
+                    "  errors: connection %d, I/O (incl. timeouts) %d, slave exception %d, other %d, retries %d",
+                    metrics.getConnectionFailureCount(), metrics.getIOErrorCount(), metrics.getSlaveErrorCount(),
+                    metrics.getOtherErrorCount(), metrics.getRetryCount()));
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(new String[] {
+                buildCommandUsage(SUBCMD_METRICS, "show latency, throughput and error metrics per endpoint"),
+                buildCommandUsage(SUBCMD_RESET_METRICS, "reset the metrics of all endpoints") });
+    }
+
+    @Reference
+    protected void setModbusManager(ModbusManager manager) {
+        this.manager = manager;
+    }
+
+    protected void unsetModbusManager(ModbusManager manager) {
+        this.manager = null;
+    }
+}
@@ -13,7 +13,10 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -37,9 +40,11 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
@@ -54,10 +59,13 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointOperationQueue.Priority;
+import org.openhab.io.transport.modbus.internal.PollTaskCoalescer.CoalescedPollTask;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,6 +85,9 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * Operations are queued per endpoint (see {@link EndpointOperationQueue}), so that writes and one-off polls are
+ * executed before the regular polls waiting for the same endpoint.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
@@ -91,6 +102,42 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Regular polls which are executed together, since they share the endpoint, unit id, function code and poll
+     * period. Adjacent requests of the group are merged into single requests on execution.
+     *
+     * @author Sami Salonen - Initial contribution
+     *
+     */
+    private static class PollGroup {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+        private final Set<PollTask> members = new CopyOnWriteArraySet<>();
+        @Nullable
+        private ScheduledFuture<?> future;
+
+        PollGroup(PollTask task, long pollPeriodMillis) {
+            this.endpoint = task.getEndpoint();
+            this.unitId = task.getRequest().getUnitID();
+            this.functionCode = task.getRequest().getFunctionCode();
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        boolean accepts(PollTask task, long pollPeriodMillis) {
+            return this.pollPeriodMillis == pollPeriodMillis && unitId == task.getRequest().getUnitID()
+                    && functionCode == task.getRequest().getFunctionCode() && endpoint.equals(task.getEndpoint());
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder("PollGroup(endpoint=").append(endpoint).append(", unitId=").append(unitId)
+                    .append(", functionCode=").append(functionCode).append(", period=").append(pollPeriodMillis)
+                    .append(", members=").append(members.size()).append(')').toString();
+        }
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -249,6 +296,16 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    /**
+     * Configuration parameter enabling merging of adjacent regular polls, see {@link PollTaskCoalescer}
+     */
+    private static final String CONFIG_COALESCE_POLLS = "coalescePolls";
+    /**
+     * Configuration parameter for the maximum number of unrequested registers (or bits) read in between two merged
+     * polls
+     */
+    private static final String CONFIG_COALESCE_MAX_GAP = "coalesceMaxGap";
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
 
@@ -268,6 +325,20 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Groups of regular polls executed together, used only when coalescing of polls is enabled. Guarded by this.
+     */
+    private final Map<PollTask, PollGroup> pollGroups = new HashMap<>();
+    /**
+     * Queues of operations, per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointOperationQueue> endpointQueues = new ConcurrentHashMap<>();
+    /**
+     * Performance metrics, per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointMetricsCollector> endpointMetrics = new ConcurrentHashMap<>();
+    private volatile boolean coalescePolls;
+    private volatile int coalesceMaxGap;
     /**
      * Executor for requests
      */
@@ -427,6 +498,7 @@ public class ModbusManagerImpl implements ModbusManager {
             return Optional.empty();
         }
         if (!connection.isPresent()) {
+            getMetrics(endpoint).recordConnectionFailure();
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
             if (callback != null) {
@@ -485,13 +557,13 @@ public class ModbusManagerImpl implements ModbusManager {
      *
      * With some other connection types, the operation is retried without reseting the connection type.
      *
+     * @param timer stop watch for the operation
      * @param task
      * @param oneOffTask
      * @param operation
      */
     private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeOperation(
-            @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation) {
-        AggregateStopWatch timer = new AggregateStopWatch();
+            AggregateStopWatch timer, @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation) {
         timer.total.resume();
         String operationId = timer.operationId;
 
@@ -516,6 +588,9 @@ public class ModbusManagerImpl implements ModbusManager {
             throw new IllegalArgumentException("maxTries should be positive");
         }
 
+        EndpointMetricsCollector metrics = getMetrics(endpoint);
+        int tryIndex = 0;
+        boolean success = false;
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         try {
             logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
@@ -536,7 +611,6 @@ public class ModbusManagerImpl implements ModbusManager {
                 return;
             }
 
-            int tryIndex = 0;
             /**
              * last execution is tracked such that the endpoint is not spammed on retry. First retry can be executed
              * right away since getConnection ensures enough time has passed since last transaction. More precisely,
@@ -572,10 +646,14 @@ public class ModbusManagerImpl implements ModbusManager {
                 try {
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
+                    long transactionMillisBefore = timer.transaction.getTotalTimeMillis();
                     operation.accept(timer, task, connection.get());
+                    metrics.recordTransaction(timer.transaction.getTotalTimeMillis() - transactionMillisBefore);
                     lastError.set(null);
+                    success = true;
                     break;
                 } catch (IOException e) {
+                    metrics.recordIOError();
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
@@ -593,6 +671,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusIOException e) {
+                    metrics.recordIOError();
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
@@ -610,6 +689,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusSlaveException e) {
+                    metrics.recordSlaveError();
                     lastError.set(new ModbusSlaveErrorResponseExceptionImpl(e));
                     // Slave returned explicit error response, no reason to re-establish new connection
                     if (willRetry) {
@@ -623,6 +703,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     }
                     continue;
                 } catch (ModbusUnexpectedTransactionIdException e) {
+                    metrics.recordOtherError();
                     lastError.set(e);
                     // transaction error details already logged
                     if (willRetry) {
@@ -639,6 +720,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     connection = Optional.empty();
                     continue;
                 } catch (ModbusException e) {
+                    metrics.recordOtherError();
                     lastError.set(e);
                     // Some other (unexpected) exception occurred
                     if (willRetry) {
@@ -686,23 +768,39 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            metrics.recordOperation(timer, tryIndex, success);
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
 
+    private EndpointMetricsCollector getMetrics(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, EndpointMetricsCollector::new);
+    }
+
+    @Override
+    public Collection<ModbusEndpointMetrics> getEndpointMetrics() {
+        return new ArrayList<>(endpointMetrics.values());
+    }
+
+    @Override
+    public void resetEndpointMetrics() {
+        endpointMetrics.values().forEach(EndpointMetricsCollector::reset);
+    }
+
+    private EndpointOperationQueue getEndpointQueue(ScheduledExecutorService executor, ModbusSlaveEndpoint endpoint) {
+        return endpointQueues.computeIfAbsent(endpoint, e -> new EndpointOperationQueue(e, executor));
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
         ScheduledExecutorService executor = scheduledThreadPoolExecutor;
         Objects.requireNonNull(executor, "Not activated!");
-        long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off poll task {}", task);
-        ScheduledFuture<?> future = executor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
-            executeOperation(task, true, pollOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
-        return future;
+        return getEndpointQueue(executor, task.getEndpoint()).submit(Priority.ONE_OFF_POLL, timer -> {
+            logger.debug("Will now execute one-off poll task {}, waited in queue for {}", task,
+                    timer.queue.getTotalTimeMillis());
+            executeOperation(timer, task, true, pollOperation);
+        });
     }
 
     @Override
@@ -716,15 +814,23 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
+            if (coalescePolls) {
+                registerGroupedPoll(executor, task, pollPeriodMillis, initialDelayMillis);
+                return;
+            }
+            EndpointOperationQueue queue = getEndpointQueue(executor, task.getEndpoint());
             ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                long started = System.currentTimeMillis();
-                logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                        started);
-                executeOperation(task, false, pollOperation);
-                long finished = System.currentTimeMillis();
-                logger.debug(
-                        "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                        pollPeriodMillis, task, finished, started, finished - started);
+                // a poll waiting longer than the poll period is skipped, the next one is queued soon anyways
+                queue.submitRegularPoll(task, pollPeriodMillis, timer -> {
+                    long started = System.currentTimeMillis();
+                    logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis,
+                            task, started);
+                    executeOperation(timer, task, false, pollOperation);
+                    long finished = System.currentTimeMillis();
+                    logger.debug(
+                            "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                            pollPeriodMillis, task, finished, started, finished - started);
+                });
             }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
 
             scheduledPollTasks.put(task, future);
@@ -733,6 +839,63 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Registers the task to the poll group with the same endpoint, unit id, function code and period. The group is
+     * scheduled with the initial delay of its first task.
+     */
+    private void registerGroupedPoll(ScheduledExecutorService executor, PollTask task, long pollPeriodMillis,
+            long initialDelayMillis) {
+        @Nullable
+        PollGroup group = pollGroups.values().stream().filter(g -> g.accepts(task, pollPeriodMillis)).findFirst()
+                .orElse(null);
+        if (group == null) {
+            PollGroup newGroup = new PollGroup(task, pollPeriodMillis);
+            EndpointOperationQueue queue = getEndpointQueue(executor, task.getEndpoint());
+            newGroup.future = executor.scheduleWithFixedDelay(
+                    () -> queue.submitRegularPoll(newGroup, pollPeriodMillis,
+                            timer -> executeGroupedPoll(timer, newGroup)),
+                    initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+            group = newGroup;
+        }
+        group.members.add(task);
+        pollGroups.put(task, group);
+        ScheduledFuture<?> future = group.future;
+        Objects.requireNonNull(future);
+        scheduledPollTasks.put(task, future);
+        logger.trace("Registered poll task {} to {}", task, group);
+    }
+
+    private void executeGroupedPoll(AggregateStopWatch queueTimer, PollGroup group) {
+        long started = System.currentTimeMillis();
+        List<PollTask> planned = PollTaskCoalescer.plan(group.members, coalesceMaxGap,
+                scheduledPollTasks::containsKey);
+        logger.debug("Executing {} as {} requests. Current millis: {}", group, planned.size(), started);
+        AggregateStopWatch timer = queueTimer;
+        for (PollTask task : planned) {
+            // registration of the merged tasks is checked before calling their callbacks
+            executeOperation(timer, task, task instanceof CoalescedPollTask, pollOperation);
+            timer = new AggregateStopWatch();
+        }
+        long finished = System.currentTimeMillis();
+        logger.debug("Execution of {} finished at {}. Was started at millis: {} (=duration of {} millis)", group,
+                finished, started, finished - started);
+    }
+
+    /**
+     * Cancels the scheduled execution of the task. Grouped polls are only canceled when the last task of the group
+     * is unregistered.
+     */
+    private void cancelRegularPoll(PollTask task, ScheduledFuture<?> future) {
+        PollGroup group = pollGroups.remove(task);
+        if (group != null) {
+            group.members.remove(task);
+            if (!group.members.isEmpty()) {
+                return;
+            }
+        }
+        future.cancel(true);
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -756,7 +919,7 @@ public class ModbusManagerImpl implements ModbusManager {
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            cancelRegularPoll(task, future);
 
             logger.info("Poll task {} canceled", task);
 
@@ -779,15 +942,12 @@ public class ModbusManagerImpl implements ModbusManager {
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task) {
         ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
         Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
-        long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
-            executeOperation(task, true, writeOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
-        return future;
+        return getEndpointQueue(scheduledThreadPoolExecutor, task.getEndpoint()).submit(Priority.WRITE, timer -> {
+            logger.debug("Will now execute one-off write task {}, waited in queue for {}", task,
+                    timer.queue.getTotalTimeMillis());
+            executeOperation(timer, task, true, writeOperation);
+        });
     }
 
     @Override
@@ -825,6 +985,7 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            modified(configProperties);
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -842,6 +1003,28 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Updates the configuration. Changes to poll coalescing apply to polls registered after the change.
+     *
+     * @param configProperties configuration of the manager
+     */
+    @Modified
+    protected void modified(@Nullable Map<String, Object> configProperties) {
+        if (configProperties == null) {
+            return;
+        }
+        Object coalesce = configProperties.get(CONFIG_COALESCE_POLLS);
+        coalescePolls = coalesce != null && Boolean.parseBoolean(coalesce.toString());
+        Object maxGap = configProperties.get(CONFIG_COALESCE_MAX_GAP);
+        try {
+            coalesceMaxGap = maxGap == null ? 0 : Math.max(0, Integer.parseInt(maxGap.toString().trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using 0", maxGap, CONFIG_COALESCE_MAX_GAP);
+            coalesceMaxGap = 0;
+        }
+        logger.debug("Coalescing of regular polls: {} (max gap {})", coalescePolls, coalesceMaxGap);
+    }
+
     @Deactivate
     protected void deactivate() {
         synchronized (this) {
@@ -860,6 +1043,9 @@ public class ModbusManagerImpl implements ModbusManager {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
             }
+            endpointQueues.values().forEach(EndpointOperationQueue::clear);
+            endpointQueues.clear();
+            endpointMetrics.clear();
             // Note that it is not allowed to shutdown the executor, since they will be reused when
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
@@ -887,6 +1073,17 @@ public class ModbusManagerImpl implements ModbusManager {
                         task.getRequest().getDataLength(), future.isDone(), future.isCancelled(),
                         future.getDelay(TimeUnit.MILLISECONDS), task);
             });
+            this.endpointMetrics.values().forEach(metrics -> {
+                pollMonitorLogger.trace("POLL MONITOR: endpoint metrics {}", metrics);
+            });
+            this.endpointQueues.values().forEach(queue -> {
+                pollMonitorLogger.trace("POLL MONITOR: endpoint queue {}", queue);
+                if (queue.getDepth() >= WARN_QUEUE_SIZE) {
+                    pollMonitorLogger.warn(
+                            "Many ({}) operations queued for endpoint {}! This might be sign of bad design or bug in the binding code.",
+                            queue.getDepth(), queue.getEndpoint());
+                }
+            });
             if (scheduledThreadPoolExecutor instanceof ThreadPoolExecutor) {
                 ThreadPoolExecutor executor = ((ThreadPoolExecutor) scheduledThreadPoolExecutor);
                 pollMonitorLogger.trace(
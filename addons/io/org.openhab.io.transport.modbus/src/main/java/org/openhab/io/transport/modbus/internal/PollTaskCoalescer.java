@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plans the execution of poll tasks that read from the same endpoint, unit id and function code.
+ *
+ * Tasks with adjacent (or overlapping) address ranges are merged into a single read request, as long as the merged
+ * request does not exceed the maximum length of a Modbus read (125 registers or 2000 bits). The response of the
+ * merged request is sliced and passed to the callbacks of the original tasks, each with its original request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PollTaskCoalescer {
+
+    /**
+     * Maximum number of registers in one read request (function codes 3 and 4)
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs in one read request (function codes 1 and 2)
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private static final Comparator<PollTask> BY_REFERENCE = Comparator
+            .comparingInt((PollTask task) -> task.getRequest().getReference())
+            .thenComparingInt(task -> task.getRequest().getDataLength());
+
+    private PollTaskCoalescer() {
+        // static utility
+    }
+
+    /**
+     * Returns the maximum number of registers or bits a single read request can have with the given function code
+     *
+     * @param functionCode function code of the read request
+     * @return maximum data length of the request
+     */
+    public static int getMaxDataLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            default:
+                return MAX_REGISTERS_PER_READ;
+        }
+    }
+
+    /**
+     * Plans the execution of the given tasks.
+     *
+     * All tasks must share the same endpoint, unit id and function code. The returned list contains the original task
+     * for ranges that could not be merged with any other task, and a {@link CoalescedPollTask} for merged ranges.
+     *
+     * @param tasks tasks to plan
+     * @param maxGap maximum number of unrequested registers (or bits) read in between two merged tasks. With 0 only
+     *            adjacent or overlapping ranges are merged.
+     * @param isRegistered predicate telling whether a task is still registered. Callbacks of unregistered tasks are
+     *            not called anymore.
+     * @return tasks to execute, ordered by start address
+     */
+    public static List<PollTask> plan(Collection<PollTask> tasks, int maxGap, Predicate<PollTask> isRegistered) {
+        if (tasks.size() <= 1) {
+            return new ArrayList<>(tasks);
+        }
+        List<PollTask> sorted = new ArrayList<>(tasks);
+        Collections.sort(sorted, BY_REFERENCE);
+        int maxLength = getMaxDataLength(sorted.get(0).getRequest().getFunctionCode());
+
+        List<PollTask> planned = new ArrayList<>();
+        List<PollTask> block = new ArrayList<>();
+        int blockStart = 0;
+        int blockEnd = 0;
+        for (PollTask task : sorted) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            int start = request.getReference();
+            int end = start + request.getDataLength();
+            if (!block.isEmpty() && start <= blockEnd + Math.max(0, maxGap)
+                    && Math.max(blockEnd, end) - blockStart <= maxLength) {
+                block.add(task);
+                blockEnd = Math.max(blockEnd, end);
+                continue;
+            }
+            addBlock(planned, block, blockStart, blockEnd, isRegistered);
+            block = new ArrayList<>();
+            block.add(task);
+            blockStart = start;
+            blockEnd = end;
+        }
+        addBlock(planned, block, blockStart, blockEnd, isRegistered);
+        return planned;
+    }
+
+    private static void addBlock(List<PollTask> planned, List<PollTask> block, int blockStart, int blockEnd,
+            Predicate<PollTask> isRegistered) {
+        if (block.isEmpty()) {
+            return;
+        } else if (block.size() == 1) {
+            planned.add(block.get(0));
+        } else {
+            planned.add(new CoalescedPollTask(block, blockStart, blockEnd - blockStart, isRegistered));
+        }
+    }
+
+    /**
+     * Poll task reading the merged range of several poll tasks. The callback slices the response and passes it to the
+     * callbacks of the merged tasks.
+     *
+     * @author agent - Initial contribution
+     */
+    public static class CoalescedPollTask implements PollTask {
+
+        private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+        private final List<PollTask> members;
+        private final ModbusSlaveEndpoint endpoint;
+        private final BasicModbusReadRequestBlueprint request;
+        private final Predicate<PollTask> isRegistered;
+        private final ModbusReadCallback callback = new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint mergedRequest, ModbusRegisterArray registers) {
+                for (PollTask member : members) {
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    int offset = memberRequest.getReference() - request.getReference();
+                    if (registers.size() < offset + memberRequest.getDataLength()) {
+                        notifyError(member, new IllegalStateException(String.format(
+                                "Response to merged request %s contains only %d registers", request,
+                                registers.size())));
+                        continue;
+                    }
+                    ModbusRegister[] slice = new ModbusRegister[memberRequest.getDataLength()];
+                    for (int i = 0; i < slice.length; i++) {
+                        slice[i] = registers.getRegister(offset + i);
+                    }
+                    ModbusRegisterArray memberRegisters = new BasicModbusRegisterArray(slice);
+                    notifyMember(member, memberCallback -> memberCallback.onRegisters(memberRequest, memberRegisters));
+                }
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint mergedRequest, BitArray bits) {
+                for (PollTask member : members) {
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    int offset = memberRequest.getReference() - request.getReference();
+                    if (bits.size() < offset + memberRequest.getDataLength()) {
+                        notifyError(member, new IllegalStateException(String
+                                .format("Response to merged request %s contains only %d bits", request, bits.size())));
+                        continue;
+                    }
+                    BasicBitArray slice = new BasicBitArray(memberRequest.getDataLength());
+                    for (int i = 0; i < slice.size(); i++) {
+                        slice.setBit(i, bits.getBit(offset + i));
+                    }
+                    notifyMember(member, memberCallback -> memberCallback.onBits(memberRequest, slice));
+                }
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint mergedRequest, Exception error) {
+                for (PollTask member : members) {
+                    notifyError(member, error);
+                }
+            }
+        };
+
+        CoalescedPollTask(List<PollTask> members, int start, int length, Predicate<PollTask> isRegistered) {
+            this.members = Collections.unmodifiableList(new ArrayList<>(members));
+            this.isRegistered = isRegistered;
+            PollTask first = members.get(0);
+            this.endpoint = first.getEndpoint();
+            int maxTries = members.stream().mapToInt(PollTask::getMaxTries).max().orElse(1);
+            this.request = new BasicModbusReadRequestBlueprint(first.getRequest().getUnitID(),
+                    first.getRequest().getFunctionCode(), start, length, maxTries);
+        }
+
+        /**
+         * @return the tasks merged into this task, ordered by start address
+         */
+        public List<PollTask> getMembers() {
+            return members;
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        @Override
+        public ModbusReadCallback getCallback() {
+            return callback;
+        }
+
+        private void notifyError(PollTask member, Exception error) {
+            ModbusReadRequestBlueprint memberRequest = member.getRequest();
+            notifyMember(member, memberCallback -> memberCallback.onError(memberRequest, error));
+        }
+
+        private void notifyMember(PollTask member, Consumer<ModbusReadCallback> invocation) {
+            @Nullable
+            ModbusReadCallback memberCallback = member.getCallback();
+            if (memberCallback == null || !isRegistered.test(member)) {
+                return;
+            }
+            try {
+                invocation.accept(memberCallback);
+            } catch (RuntimeException e) {
+                // one failing callback should not prevent the others from receiving the data
+                logger.warn("Callback of poll task {} failed: {} {}", member, e.getClass().getName(), e.getMessage(),
+                        e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder("CoalescedPollTask(request=").append(request).append(", endpoint=")
+                    .append(endpoint).append(", members=").append(members.size()).append(')').toString();
+        }
+    }
+}
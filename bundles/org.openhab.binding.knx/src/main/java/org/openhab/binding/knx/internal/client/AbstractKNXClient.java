@@ -12,7 +12,11 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -85,11 +89,19 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
+    /**
+     * The registered listeners indexed by the group addresses they listen to
+     */
+    private final Map<GroupAddress, Set<GroupAddressListener>> groupAddressListeners = new ConcurrentHashMap<>();
+    /**
+     * The group addresses under which each registered listener is indexed, guarded by itself
+     */
+    private final Map<GroupAddressListener, Set<GroupAddress>> listenerGroupAddresses = new HashMap<>();
+    private final TelegramStatistics telegramStatistics = new TelegramStatistics();
     private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
 
     @FunctionalInterface
-    private interface ListenerNotification {
+    interface ListenerNotification {
         void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
     }
 
@@ -103,23 +115,26 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
-            processEvent("Group Write", e, (listener, source, destination, asdu) -> {
-                listener.onGroupWrite(AbstractKNXClient.this, source, destination, asdu);
-            });
+            processEvent("Group Write", e.getSourceAddr(), e.getDestination(), e.getASDU(),
+                    (listener, source, destination, asdu) -> {
+                        listener.onGroupWrite(AbstractKNXClient.this, source, destination, asdu);
+                    });
         }
 
         @Override
         public void groupReadRequest(ProcessEvent e) {
-            processEvent("Group Read Request", e, (listener, source, destination, asdu) -> {
-                listener.onGroupRead(AbstractKNXClient.this, source, destination, asdu);
-            });
+            processEvent("Group Read Request", e.getSourceAddr(), e.getDestination(), e.getASDU(),
+                    (listener, source, destination, asdu) -> {
+                        listener.onGroupRead(AbstractKNXClient.this, source, destination, asdu);
+                    });
         }
 
         @Override
         public void groupReadResponse(ProcessEvent e) {
-            processEvent("Group Read Response", e, (listener, source, destination, asdu) -> {
-                listener.onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu);
-            });
+            processEvent("Group Read Response", e.getSourceAddr(), e.getDestination(), e.getASDU(),
+                    (listener, source, destination, asdu) -> {
+                        listener.onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu);
+                    });
         }
     };
 
@@ -244,16 +259,35 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return null;
     }
 
-    private void processEvent(String task, ProcessEvent event, ListenerNotification action) {
-        GroupAddress destination = event.getDestination();
-        IndividualAddress source = event.getSourceAddr();
-        byte[] asdu = event.getASDU();
+    /**
+     * Notifies the listeners of the destination about a received group telegram in a single task on the KNX scheduler.
+     *
+     * @param task the kind of telegram, for logging
+     * @param source the sender of the telegram
+     * @param destination the group address the telegram was sent to
+     * @param asdu the payload of the telegram
+     * @param action notifies a single listener
+     */
+    void processEvent(String task, IndividualAddress source, GroupAddress destination, byte[] asdu,
+            ListenerNotification action) {
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        telegramStatistics.telegramReceived();
+        Set<GroupAddressListener> listeners = groupAddressListeners.get(destination);
+        if (listeners == null) {
+            return;
         }
+        long receivedNanos = System.nanoTime();
+        knxScheduler.execute(() -> {
+            telegramStatistics.telegramDispatched(System.nanoTime() - receivedNanos);
+            for (GroupAddressListener listener : listeners) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("An error occurred while processing a {} telegram to '{}': {}", task, destination,
+                            e.getMessage(), e);
+                }
+            }
+        });
     }
 
     /**
@@ -374,12 +408,44 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        synchronized (listenerGroupAddresses) {
+            Set<GroupAddress> groupAddresses = new HashSet<>(listener.getGroupAddresses());
+            Set<GroupAddress> previousGroupAddresses = listenerGroupAddresses.put(listener, groupAddresses);
+            if (previousGroupAddresses != null) {
+                // registering again picks up changed group addresses of the listener
+                removeFromIndex(listener, previousGroupAddresses);
+            }
+            for (GroupAddress groupAddress : groupAddresses) {
+                groupAddressListeners.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>()).add(listener);
+            }
+            return previousGroupAddresses == null;
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (listenerGroupAddresses) {
+            Set<GroupAddress> groupAddresses = listenerGroupAddresses.remove(listener);
+            if (groupAddresses == null) {
+                return false;
+            }
+            removeFromIndex(listener, groupAddresses);
+            return true;
+        }
+    }
+
+    private void removeFromIndex(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            Set<GroupAddressListener> listeners = groupAddressListeners.get(groupAddress);
+            if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+                groupAddressListeners.remove(groupAddress);
+            }
+        }
+    }
+
+    @Override
+    public TelegramStatistics getTelegramStatistics() {
+        return telegramStatistics;
     }
 
     @Override
@@ -61,7 +61,8 @@ public interface KNXClient {
     void restartNetworkDevice(@Nullable IndividualAddress address);
 
     /**
-     * Register the given listener to be informed on KNX bus traffic.
+     * Register the given listener to be informed on KNX bus traffic to its group addresses. The listener needs to be
+     * registered again when its group addresses changed.
      *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
@@ -76,6 +77,13 @@ public interface KNXClient {
      */
     boolean unregisterGroupAddressListener(GroupAddressListener listener);
 
+    /**
+     * Get the statistics of the group telegrams received from the KNX bus.
+     *
+     * @return the telegram statistics
+     */
+    TelegramStatistics getTelegramStatistics();
+
     /**
      * Schedule the given data point for asynchronous reading.
      *
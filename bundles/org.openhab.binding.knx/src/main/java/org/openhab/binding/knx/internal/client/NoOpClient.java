@@ -28,6 +28,8 @@ import tuwien.auto.calimero.datapoint.Datapoint;
 @NonNullByDefault
 public class NoOpClient implements KNXClient {
 
+    private final TelegramStatistics telegramStatistics = new TelegramStatistics();
+
     @Override
     public boolean isConnected() {
         return false;
@@ -58,6 +60,11 @@ public class NoOpClient implements KNXClient {
         return false;
     }
 
+    @Override
+    public TelegramStatistics getTelegramStatistics() {
+        return telegramStatistics;
+    }
+
     @Override
     public void readDatapoint(Datapoint datapoint) {
     }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of the group telegrams received by a {@link KNXClient}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class TelegramStatistics {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong telegrams = new AtomicLong();
+    private final AtomicLong dispatches = new AtomicLong();
+    private final AtomicLong dispatchNanos = new AtomicLong();
+    private final AtomicLong maxDispatchNanos = new AtomicLong();
+
+    /**
+     * Called whenever a group telegram was received from the bus.
+     */
+    void telegramReceived() {
+        telegrams.incrementAndGet();
+    }
+
+    /**
+     * Called whenever the listeners of a group telegram are about to be notified.
+     *
+     * @param latencyNanos the time in nanoseconds between receiving the telegram and notifying the listeners
+     */
+    void telegramDispatched(long latencyNanos) {
+        dispatches.incrementAndGet();
+        dispatchNanos.addAndGet(latencyNanos);
+        maxDispatchNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /**
+     * Gets the number of group telegrams received from the bus.
+     *
+     * @return the number of telegrams
+     */
+    public long getTelegrams() {
+        return telegrams.get();
+    }
+
+    /**
+     * Gets the average number of group telegrams received per second since the client was created.
+     *
+     * @return the telegrams per second
+     */
+    public double getTelegramsPerSecond() {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return elapsedNanos <= 0 ? 0 : getTelegrams() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Gets the number of group telegrams for which listeners were notified.
+     *
+     * @return the number of dispatched telegrams
+     */
+    public long getDispatches() {
+        return dispatches.get();
+    }
+
+    /**
+     * Gets the average time between receiving a telegram and notifying its listeners.
+     *
+     * @return the average dispatch latency in milliseconds
+     */
+    public double getAverageDispatchLatencyMillis() {
+        long count = getDispatches();
+        return count == 0 ? 0 : dispatchNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1) / count;
+    }
+
+    /**
+     * Gets the longest time between receiving a telegram and notifying its listeners.
+     *
+     * @return the maximum dispatch latency in milliseconds
+     */
+    public double getMaxDispatchLatencyMillis() {
+        return maxDispatchNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "TelegramStatistics [telegrams=%d, telegramsPerSecond=%.3f, dispatches=%d, averageDispatchLatency=%.3fms, maxDispatchLatency=%.3fms]",
+                getTelegrams(), getTelegramsPerSecond(), getDispatches(), getAverageDispatchLatencyMillis(),
+                getMaxDispatchLatencyMillis());
+    }
+}
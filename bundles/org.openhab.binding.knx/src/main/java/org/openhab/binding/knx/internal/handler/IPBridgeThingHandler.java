@@ -96,6 +96,7 @@ public class IPBridgeThingHandler extends KNXBridgeBaseThingHandler {
                 config.getReadingPause().intValue(), config.getReadRetriesLimit().intValue(), getScheduler(), this);
 
         client.initialize();
+        scheduleStatisticsJob();
     }
 
     @Override
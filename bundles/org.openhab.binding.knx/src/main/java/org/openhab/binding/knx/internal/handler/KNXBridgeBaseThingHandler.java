@@ -15,6 +15,8 @@ package org.openhab.binding.knx.internal.handler;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,6 +30,8 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.knx.internal.client.KNXClient;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import tuwien.auto.calimero.IndividualAddress;
 import tuwien.auto.calimero.mgmt.Destination;
@@ -41,9 +45,17 @@ import tuwien.auto.calimero.mgmt.Destination;
 @NonNullByDefault
 public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implements StatusUpdateCallback {
 
+    /**
+     * Interval in seconds in which the telegram statistics are logged
+     */
+    private static final int STATISTICS_INTERVAL = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(KNXBridgeBaseThingHandler.class);
+
     protected ConcurrentHashMap<IndividualAddress, Destination> destinations = new ConcurrentHashMap<>();
     private final ScheduledExecutorService knxScheduler = ThreadPoolManager.getScheduledPool("knx");
     private final ScheduledExecutorService backgroundScheduler = Executors.newSingleThreadScheduledExecutor();
+    private @Nullable ScheduledFuture<?> statisticsJob;
 
     public KNXBridgeBaseThingHandler(Bridge bridge) {
         super(bridge);
@@ -61,6 +73,32 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
         // Nothing to do here
     }
 
+    @Override
+    public void dispose() {
+        ScheduledFuture<?> statisticsJob = this.statisticsJob;
+        if (statisticsJob != null) {
+            statisticsJob.cancel(false);
+            this.statisticsJob = null;
+        }
+        super.dispose();
+    }
+
+    /**
+     * Starts logging the telegram statistics of the client on debug level.
+     */
+    protected void scheduleStatisticsJob() {
+        if (statisticsJob == null) {
+            statisticsJob = backgroundScheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL,
+                    STATISTICS_INTERVAL, TimeUnit.SECONDS);
+        }
+    }
+
+    private void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} for {}", getClient().getTelegramStatistics(), getThing().getUID());
+        }
+    }
+
     public ScheduledExecutorService getScheduler() {
         return knxScheduler;
     }
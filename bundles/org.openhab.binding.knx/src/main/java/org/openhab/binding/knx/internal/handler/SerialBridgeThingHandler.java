@@ -45,6 +45,7 @@ public class SerialBridgeThingHandler extends KNXBridgeBaseThingHandler {
     public void initialize() {
         updateStatus(ThingStatus.UNKNOWN);
         client.initialize();
+        scheduleStatisticsJob();
     }
 
     @Override
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+/**
+ * Tests the group address index and the telegram dispatching of {@link AbstractKNXClient}.
+ *
+ * @author agent - Initial contribution
+ */
+public class AbstractKNXClientTest {
+
+    private static final IndividualAddress SOURCE = new IndividualAddress(1, 1, 1);
+    private static final GroupAddress GA_1 = new GroupAddress(1, 0, 1);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 0, 2);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 0, 3);
+    private static final byte[] ASDU = new byte[] { 1 };
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private AbstractKNXClient client;
+
+    @Before
+    public void setup() {
+        ScheduledExecutorService knxScheduler = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(knxScheduler).execute(any());
+        client = new AbstractKNXClient(0, new ThingUID("knx", "ip", "bridge"), 0, 0, 0, knxScheduler,
+                mock(StatusUpdateCallback.class)) {
+            @Override
+            protected KNXNetworkLink establishConnection() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Test
+    public void testListenersAreOnlyNotifiedAboutTheirGroupAddresses() {
+        GroupAddressListener first = createListener(GA_1);
+        GroupAddressListener second = createListener(GA_1, GA_2);
+        assertTrue(client.registerGroupAddressListener(first));
+        assertTrue(client.registerGroupAddressListener(second));
+
+        groupWrite(GA_2);
+        groupWrite(GA_3);
+
+        assertEquals(1, tasks.size());
+        runTasks();
+        verify(first, never()).onGroupWrite(any(), any(), any(), any());
+        verify(second).onGroupWrite(client, SOURCE, GA_2, ASDU);
+        assertEquals(2, client.getTelegramStatistics().getTelegrams());
+        assertEquals(1, client.getTelegramStatistics().getDispatches());
+    }
+
+    @Test
+    public void testUnregisteredListenerIsRemovedFromIndex() {
+        GroupAddressListener first = createListener(GA_1);
+        GroupAddressListener second = createListener(GA_1, GA_2);
+        client.registerGroupAddressListener(first);
+        client.registerGroupAddressListener(second);
+
+        assertTrue(client.unregisterGroupAddressListener(second));
+        assertFalse(client.unregisterGroupAddressListener(second));
+        groupWrite(GA_1);
+        groupWrite(GA_2);
+
+        assertEquals(1, tasks.size());
+        runTasks();
+        verify(first).onGroupWrite(client, SOURCE, GA_1, ASDU);
+        verify(second, never()).onGroupWrite(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testRegisteringAgainUpdatesGroupAddresses() {
+        GroupAddressListener listener = createListener(GA_1, GA_2);
+        assertTrue(client.registerGroupAddressListener(listener));
+
+        when(listener.getGroupAddresses()).thenReturn(new HashSet<>(Arrays.asList(GA_2, GA_3)));
+        assertFalse(client.registerGroupAddressListener(listener));
+        groupWrite(GA_1);
+        groupWrite(GA_2);
+        groupWrite(GA_3);
+
+        assertEquals(2, tasks.size());
+        runTasks();
+        verify(listener, never()).onGroupWrite(client, SOURCE, GA_1, ASDU);
+        verify(listener).onGroupWrite(client, SOURCE, GA_2, ASDU);
+        verify(listener).onGroupWrite(client, SOURCE, GA_3, ASDU);
+
+        assertTrue(client.unregisterGroupAddressListener(listener));
+        groupWrite(GA_2);
+        groupWrite(GA_3);
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void testOneTaskPerTelegramSurvivesThrowingListener() {
+        GroupAddressListener failing = createListener(GA_1);
+        GroupAddressListener other = createListener(GA_1);
+        doThrow(new IllegalStateException("test")).when(failing).onGroupWrite(any(), any(), any(), any());
+        client.registerGroupAddressListener(failing);
+        client.registerGroupAddressListener(other);
+
+        groupWrite(GA_1);
+
+        assertEquals(1, tasks.size());
+        runTasks();
+        verify(failing).onGroupWrite(client, SOURCE, GA_1, ASDU);
+        verify(other).onGroupWrite(client, SOURCE, GA_1, ASDU);
+    }
+
+    private GroupAddressListener createListener(GroupAddress... groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(new HashSet<>(Arrays.asList(groupAddresses)));
+        return listener;
+    }
+
+    private void groupWrite(GroupAddress destination) {
+        client.processEvent("Group Write", SOURCE, destination, ASDU, (listener, source, ga, asdu) -> {
+            listener.onGroupWrite(client, source, ga, asdu);
+        });
+    }
+
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+}
@@ -41,6 +41,11 @@ public class ChannelConfig {
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
+    /**
+     * If greater than 0, received values are collected for this many milliseconds and only the newest one is
+     * forwarded to the framework.
+     */
+    public int coalescePeriod = 0;
     public String unit = "";
 
     public String transformationPattern = "";
@@ -12,7 +12,6 @@
  */
 package org.openhab.binding.mqtt;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Formatter;
 import java.util.IllegalFormatException;
@@ -58,6 +57,7 @@ public class ChannelState implements MqttMessageSubscriber {
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
+    private @Nullable ChannelStateTopicDispatcher topicDispatcher;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
@@ -139,6 +139,17 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        processMessage(topic, new ReceivedMessage(payload, false));
+    }
+
+    /**
+     * Incoming message, either from the MqttBrokerConnection or from a {@link ChannelStateTopicDispatcher}.
+     *
+     * @param topic The topic. Is the same as the field stateTopic.
+     * @param message The received message. The decoded payload and transformation results may be shared with
+     *            other channel states of the same topic.
+     */
+    void processMessage(String topic, ReceivedMessage message) {
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
@@ -146,16 +157,16 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         if (cachedValue.isBinary()) {
-            cachedValue.update(payload);
+            cachedValue.update(message.getPayload());
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
             receivedOrTimeout();
             return;
         }
 
         // String value: Apply transformations
-        String strvalue = new String(payload, StandardCharsets.UTF_8);
+        String strvalue = message.getPayloadString();
         for (ChannelStateTransformation t : transformationsIn) {
-            strvalue = t.processValue(strvalue);
+            strvalue = message.transform(t, strvalue);
         }
 
         // Is trigger?: Special handling
@@ -235,6 +246,10 @@ public class ChannelState implements MqttMessageSubscriber {
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
         if (connection != null && StringUtils.isNotBlank(config.stateTopic)) {
+            final ChannelStateTopicDispatcher topicDispatcher = this.topicDispatcher;
+            if (topicDispatcher != null) {
+                return topicDispatcher.unsubscribe(this).thenRun(this::internalStop);
+            }
             return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
         } else {
             internalStop();
@@ -291,7 +306,11 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         this.future = new CompletableFuture<>();
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        final ChannelStateTopicDispatcher topicDispatcher = this.topicDispatcher;
+        final CompletableFuture<Boolean> subscribed = topicDispatcher != null
+                ? topicDispatcher.subscribe(connection, this)
+                : connection.subscribe(config.stateTopic, this);
+        subscribed.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -371,6 +390,24 @@ public class ChannelState implements MqttMessageSubscriber {
         this.channelStateUpdateListener = channelStateUpdateListener;
     }
 
+    /**
+     * Receive the messages of the state topic via the given dispatcher, which is shared with all other channel states
+     * of the same topic, instead of subscribing individually. Must be called before
+     * {@link #start(MqttBrokerConnection, ScheduledExecutorService, int)}.
+     *
+     * @param topicDispatcher A dispatcher for the state topic of this channel state
+     */
+    public void setTopicDispatcher(ChannelStateTopicDispatcher topicDispatcher) {
+        if (!topicDispatcher.getTopic().equals(config.stateTopic)) {
+            throw new IllegalArgumentException("The dispatcher topic must be equal to the state topic");
+        }
+        this.topicDispatcher = topicDispatcher;
+    }
+
+    public @Nullable ChannelStateTopicDispatcher getTopicDispatcher() {
+        return topicDispatcher;
+    }
+
     public @Nullable MqttBrokerConnection getConnection() {
         return connection;
     }
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Subscribes once to a state topic on behalf of all {@link ChannelState}s sharing that topic and fans received
+ * messages out to them.
+ *
+ * <p>
+ * The payload of a message is decoded only once and results of the incoming transformations are shared between the
+ * channel states. If 20 channels extract fields of the same JSON payload, the payload is decoded once and each
+ * distinct transformation is executed once per message, instead of once per channel.
+ *
+ * <p>
+ * Assign a dispatcher to a channel state with {@link ChannelState#setTopicDispatcher(ChannelStateTopicDispatcher)}
+ * before the channel state is started.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ChannelStateTopicDispatcher implements MqttMessageSubscriber {
+    private final String topic;
+    private final List<ChannelState> channelStates = new CopyOnWriteArrayList<>();
+
+    // Subscription state, guarded by this
+    private @Nullable MqttBrokerConnection connection;
+    private @Nullable CompletableFuture<Boolean> subscription;
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param topic The state topic
+     */
+    public ChannelStateTopicDispatcher(String topic) {
+        this.topic = topic;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Add a channel state and subscribe to the topic, if not yet subscribed on the given connection.
+     *
+     * @param connection A broker connection
+     * @param channelState The channel state
+     * @return A future that completes as soon as the topic is subscribed.
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection,
+            ChannelState channelState) {
+        if (!channelStates.contains(channelState)) {
+            channelStates.add(channelState);
+        }
+        CompletableFuture<Boolean> subscription = this.subscription;
+        if (subscription == null || subscription.isCompletedExceptionally() || connection != this.connection) {
+            subscription = connection.subscribe(topic, this);
+            this.subscription = subscription;
+            this.connection = connection;
+        }
+        return subscription;
+    }
+
+    /**
+     * Remove a channel state and unsubscribe from the topic if it was the last one.
+     *
+     * @param channelState The channel state
+     * @return A future that completes as soon as the topic is unsubscribed, or immediately if other channel states
+     *         still use the subscription.
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(ChannelState channelState) {
+        channelStates.remove(channelState);
+        final MqttBrokerConnection connection = this.connection;
+        if (!channelStates.isEmpty() || connection == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        this.connection = null;
+        this.subscription = null;
+        return connection.unsubscribe(topic, this);
+    }
+
+    /**
+     * Return the channel states currently receiving the messages of this topic.
+     */
+    public List<ChannelState> getChannelStates() {
+        return channelStates;
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        ReceivedMessage message = new ReceivedMessage(payload, channelStates.size() > 1);
+        for (ChannelState channelState : channelStates) {
+            channelState.processMessage(topic, message);
+        }
+    }
+}
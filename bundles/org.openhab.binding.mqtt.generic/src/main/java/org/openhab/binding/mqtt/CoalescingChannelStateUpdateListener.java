@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.mqtt.tools.DelayedBatchProcessing;
+
+/**
+ * A {@link ChannelStateUpdateListener} for a single channel, that forwards to another listener and counts the
+ * received and forwarded updates.
+ *
+ * <p>
+ * If a coalesce period is given, state updates and commands are collected for that period and only the newest one is
+ * forwarded (latest value wins). The framework event bus does not need to process every value of high-frequency
+ * topics then. Trigger events are always forwarded immediately.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescingChannelStateUpdateListener implements ChannelStateUpdateListener {
+    private final ChannelStateUpdateListener listener;
+    private final @Nullable DelayedBatchProcessing<Consumer<ChannelStateUpdateListener>> delayedUpdates;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong forwarded = new AtomicLong();
+
+    /**
+     * Creates a new listener.
+     *
+     * @param listener The listener to forward to
+     * @param coalescePeriod A period in milliseconds. Updates are forwarded immediately if this is 0.
+     * @param scheduler A scheduler to realize the coalesce period
+     */
+    public CoalescingChannelStateUpdateListener(ChannelStateUpdateListener listener, int coalescePeriod,
+            ScheduledExecutorService scheduler) {
+        this.listener = listener;
+        this.delayedUpdates = coalescePeriod > 0
+                ? new DelayedBatchProcessing<>(coalescePeriod, this::forwardNewest, scheduler)
+                : null;
+    }
+
+    @Override
+    public void updateChannelState(ChannelUID channelUID, State value) {
+        accept(l -> l.updateChannelState(channelUID, value));
+    }
+
+    @Override
+    public void postChannelCommand(ChannelUID channelUID, Command value) {
+        accept(l -> l.postChannelCommand(channelUID, value));
+    }
+
+    @Override
+    public void triggerChannel(ChannelUID channelUID, String eventPayload) {
+        received.incrementAndGet();
+        forwarded.incrementAndGet();
+        listener.triggerChannel(channelUID, eventPayload);
+    }
+
+    private void accept(Consumer<ChannelStateUpdateListener> update) {
+        received.incrementAndGet();
+        final DelayedBatchProcessing<Consumer<ChannelStateUpdateListener>> delayedUpdates = this.delayedUpdates;
+        if (delayedUpdates == null) {
+            forwarded.incrementAndGet();
+            update.accept(listener);
+        } else {
+            delayedUpdates.accept(update);
+        }
+    }
+
+    private void forwardNewest(List<Consumer<ChannelStateUpdateListener>> updates) {
+        forwarded.incrementAndGet();
+        updates.get(updates.size() - 1).accept(listener);
+    }
+
+    /**
+     * Discard all collected, not yet forwarded updates.
+     */
+    public void discardPending() {
+        final DelayedBatchProcessing<Consumer<ChannelStateUpdateListener>> delayedUpdates = this.delayedUpdates;
+        if (delayedUpdates != null) {
+            delayedUpdates.join();
+        }
+    }
+
+    /**
+     * Return the number of state updates, commands and trigger events received from the channel state.
+     */
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    /**
+     * Return the number of state updates, commands and trigger events forwarded to the framework.
+     */
+    public long getForwardedCount() {
+        return forwarded.get();
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A received MQTT message, as processed by one or more {@link ChannelState}s.
+ *
+ * <p>
+ * The payload is decoded to a string only once. If the message is shared by several channel states, the results
+ * of the incoming transformations are cached as well: A transformation with the same service and pattern, applied to
+ * the same input, is executed only once per message.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReceivedMessage {
+    private final byte[] payload;
+    private @Nullable String payloadString;
+    private final @Nullable Map<TransformationKey, String> transformed;
+
+    /**
+     * Creates a new received message.
+     *
+     * @param payload The byte payload
+     * @param cacheTransformations True if the results of the transformations should be cached. Only useful if the
+     *            message is processed by more than one channel state.
+     */
+    ReceivedMessage(byte[] payload, boolean cacheTransformations) {
+        this.payload = payload;
+        this.transformed = cacheTransformations ? new HashMap<>() : null;
+    }
+
+    byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Return the payload as UTF8 decoded string.
+     */
+    String getPayloadString() {
+        String payloadString = this.payloadString;
+        if (payloadString == null) {
+            payloadString = new String(payload, StandardCharsets.UTF_8);
+            this.payloadString = payloadString;
+        }
+        return payloadString;
+    }
+
+    /**
+     * Apply the given transformation to the given value, or return the result of a previous identical transformation
+     * of this message.
+     *
+     * @param transformation The transformation
+     * @param value The input value. Either the payload string or the output of a previous transformation.
+     * @return The transformed value
+     */
+    String transform(ChannelStateTransformation transformation, String value) {
+        final Map<TransformationKey, String> transformed = this.transformed;
+        if (transformed == null) {
+            return transformation.processValue(value);
+        }
+        TransformationKey key = new TransformationKey(transformation.serviceName, transformation.pattern, value);
+        String result = transformed.get(key);
+        if (result == null) {
+            result = transformation.processValue(value);
+            transformed.put(key, result);
+        }
+        return result;
+    }
+
+    private static class TransformationKey {
+        private final String serviceName;
+        private final String pattern;
+        private final String value;
+
+        TransformationKey(String serviceName, String pattern, String value) {
+            this.serviceName = serviceName;
+            this.pattern = pattern;
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serviceName, pattern, value);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            TransformationKey other = (TransformationKey) obj;
+            return serviceName.equals(other.serviceName) && pattern.equals(other.pattern)
+                    && value.equals(other.value);
+        }
+    }
+}
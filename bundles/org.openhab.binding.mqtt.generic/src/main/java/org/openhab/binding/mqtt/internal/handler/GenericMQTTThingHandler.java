@@ -37,8 +37,10 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.binding.mqtt.AbstractMQTTThingHandler;
 import org.openhab.binding.mqtt.ChannelConfig;
 import org.openhab.binding.mqtt.ChannelState;
+import org.openhab.binding.mqtt.ChannelStateTopicDispatcher;
 import org.openhab.binding.mqtt.ChannelStateTransformation;
 import org.openhab.binding.mqtt.ChannelStateUpdateListener;
+import org.openhab.binding.mqtt.CoalescingChannelStateUpdateListener;
 import org.openhab.binding.mqtt.MqttChannelStateDescriptionProvider;
 import org.openhab.binding.mqtt.TransformationServiceProvider;
 import org.openhab.binding.mqtt.values.Value;
@@ -55,6 +57,8 @@ import org.slf4j.LoggerFactory;
 public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements ChannelStateUpdateListener {
     private final Logger logger = LoggerFactory.getLogger(GenericMQTTThingHandler.class);
     final Map<ChannelUID, ChannelState> channelStateByChannelUID = new HashMap<>();
+    final Map<String, ChannelStateTopicDispatcher> topicDispatcherByStateTopic = new HashMap<>();
+    final Map<ChannelUID, CoalescingChannelStateUpdateListener> updateListenerByChannelUID = new HashMap<>();
     protected final MqttChannelStateDescriptionProvider stateDescProvider;
     protected final TransformationServiceProvider transformationServiceProvider;
 
@@ -95,9 +99,26 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
 
     @Override
     protected void stop() {
+        updateListenerByChannelUID.values().forEach(CoalescingChannelStateUpdateListener::discardPending);
         channelStateByChannelUID.values().forEach(c -> c.getCache().resetState());
     }
 
+    /**
+     * Return the number of state updates, commands and trigger events received on the MQTT state topics of all
+     * channels.
+     */
+    public long getReceivedMessageCount() {
+        return updateListenerByChannelUID.values().stream().mapToLong(l -> l.getReceivedCount()).sum();
+    }
+
+    /**
+     * Return the number of state updates, commands and trigger events forwarded to the framework. This is less than
+     * {@link #getReceivedMessageCount()} if channels coalesce their values.
+     */
+    public long getForwardedMessageCount() {
+        return updateListenerByChannelUID.values().stream().mapToLong(l -> l.getForwardedCount()).sum();
+    }
+
     @Override
     public void dispose() {
         // Stop all MQTT subscriptions
@@ -107,10 +128,15 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
                     .get(500, TimeUnit.MILLISECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException ignore) {
         }
+        updateListenerByChannelUID.values().forEach(CoalescingChannelStateUpdateListener::discardPending);
+        logger.debug("{} received {} and forwarded {} values", thing.getUID(), getReceivedMessageCount(),
+                getForwardedMessageCount());
         // Remove all state descriptions of this handler
         channelStateByChannelUID.forEach((uid, state) -> stateDescProvider.remove(uid));
         connection = null;
         channelStateByChannelUID.clear();
+        topicDispatcherByStateTopic.clear();
+        updateListenerByChannelUID.clear();
         super.dispose();
     }
 
@@ -125,7 +151,11 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      * @return
      */
     protected ChannelState createChannelState(ChannelConfig channelConfig, ChannelUID channelUID, Value valueState) {
-        ChannelState state = new ChannelState(channelConfig, channelUID, valueState, this);
+        // Counts the received values and coalesces them, if configured
+        CoalescingChannelStateUpdateListener updateListener = new CoalescingChannelStateUpdateListener(this,
+                channelConfig.coalescePeriod, scheduler);
+        updateListenerByChannelUID.put(channelUID, updateListener);
+        ChannelState state = new ChannelState(channelConfig, channelUID, valueState, updateListener);
         String[] transformations;
 
         // Incoming value transformations
@@ -157,6 +187,12 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
                 Value value = ValueFactory.createValueState(channelConfig, channelTypeUID.getId());
                 ChannelState channelState = createChannelState(channelConfig, channel.getUID(), value);
                 channelStateByChannelUID.put(channel.getUID(), channelState);
+                // Channels sharing a state topic receive the payload via a single subscription
+                String stateTopic = channelState.getStateTopic();
+                if (StringUtils.isNotBlank(stateTopic)) {
+                    channelState.setTopicDispatcher(
+                            topicDispatcherByStateTopic.computeIfAbsent(stateTopic, ChannelStateTopicDispatcher::new));
+                }
                 StateDescription description = value.createStateDescription(channelConfig.unit,
                         StringUtils.isBlank(channelConfig.commandTopic));
                 stateDescProvider.setDescription(channel.getUID(), description);
@@ -63,10 +63,12 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     @Override
     public void accept(T t) {
-        queue.add(t);
-        final ScheduledFuture<?> scheduledFuture = this.future;
-        if (scheduledFuture == null || scheduledFuture.isDone()) {
-            this.future = executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        synchronized (queue) {
+            queue.add(t);
+            final ScheduledFuture<?> scheduledFuture = this.future;
+            if (scheduledFuture == null || scheduledFuture.isDone()) {
+                this.future = executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
@@ -114,8 +116,15 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
             queue.clear();
         }
 
-        if (!lqueue.isEmpty()) {
-            consumer.accept(lqueue);
+        try {
+            if (!lqueue.isEmpty()) {
+                consumer.accept(lqueue);
+            }
+        } finally {
+            // Objects added while the consumer was running did not arm the timer, because this run was not done yet
+            synchronized (queue) {
+                this.future = queue.isEmpty() ? null : executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+            }
         }
     }
 }
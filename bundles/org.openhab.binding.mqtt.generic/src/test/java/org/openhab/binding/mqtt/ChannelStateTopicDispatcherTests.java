@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.openhab.binding.mqtt.values.NumberValue;
+import org.openhab.binding.mqtt.values.TextValue;
+
+/**
+ * Tests the {@link ChannelStateTopicDispatcher} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class ChannelStateTopicDispatcherTests {
+    private static final String JSON = "{\"temperature\": 23.2, \"humidity\": 45}";
+
+    @Mock
+    MqttBrokerConnection connection;
+
+    @Mock
+    ChannelStateUpdateListener channelStateUpdateListener;
+
+    @Mock
+    TransformationService jsonPathService;
+
+    @Mock
+    TransformationServiceProvider transformationServiceProvider;
+
+    ScheduledExecutorService scheduler;
+
+    ChannelStateTopicDispatcher dispatcher = new ChannelStateTopicDispatcher("state");
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        when(transformationServiceProvider.getTransformationService(anyString())).thenReturn(jsonPathService);
+        when(jsonPathService.transform(eq("$.temperature"), eq(JSON))).thenReturn("23.2");
+        when(jsonPathService.transform(eq("$.humidity"), eq(JSON))).thenReturn("45");
+
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private ChannelState createChannelState(String channelId, String transformation) {
+        ChannelState channelState = new ChannelState(ChannelConfigBuilder.create("state", "").build(),
+                new ChannelUID("mqtt:topic:broker:thing:" + channelId), new NumberValue(null, null, null),
+                channelStateUpdateListener);
+        channelState.addTransformation(new ChannelStateTransformation(transformation, transformationServiceProvider));
+        channelState.setTopicDispatcher(dispatcher);
+        return channelState;
+    }
+
+    @Test
+    public void subscribeOnce() throws Exception {
+        ChannelState temperature1 = createChannelState("temperature1", "JSONPATH:$.temperature");
+        ChannelState temperature2 = createChannelState("temperature2", "JSONPATH:$.temperature");
+
+        temperature1.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+        temperature2.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+        verify(connection, times(1)).subscribe(eq("state"), eq(dispatcher));
+        assertThat(dispatcher.getChannelStates().size(), is(2));
+
+        // Unsubscribe only after the last channel state stopped
+        temperature1.stop().get();
+        verify(connection, never()).unsubscribe(any(), any());
+        temperature2.stop().get();
+        verify(connection, times(1)).unsubscribe(eq("state"), eq(dispatcher));
+        assertThat(dispatcher.getChannelStates().size(), is(0));
+    }
+
+    @Test
+    public void transformOncePerMessage() throws Exception {
+        ChannelState temperature1 = createChannelState("temperature1", "JSONPATH:$.temperature");
+        ChannelState temperature2 = createChannelState("temperature2", "JSONPATH:$.temperature");
+        ChannelState humidity = createChannelState("humidity", "JSONPATH:$.humidity");
+        temperature1.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+        temperature2.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+        humidity.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        dispatcher.processMessage("state", JSON.getBytes());
+
+        verify(jsonPathService, times(1)).transform(eq("$.temperature"), eq(JSON));
+        verify(jsonPathService, times(1)).transform(eq("$.humidity"), eq(JSON));
+        assertThat(temperature1.getCache().getChannelState().toString(), is("23.2"));
+        assertThat(temperature2.getCache().getChannelState().toString(), is("23.2"));
+        assertThat(humidity.getCache().getChannelState().toString(), is("45"));
+        verify(channelStateUpdateListener, times(3)).updateChannelState(any(), any());
+
+        // The cache only lives as long as the message
+        dispatcher.processMessage("state", JSON.getBytes());
+        verify(jsonPathService, times(2)).transform(eq("$.temperature"), eq(JSON));
+    }
+
+    @Test
+    public void transformationChain() throws Exception {
+        when(jsonPathService.transform(eq("$.unit"), eq("23.2"))).thenReturn("23.2 °C");
+        ChannelState number = createChannelState("number", "JSONPATH:$.temperature");
+        ChannelState text = new ChannelState(ChannelConfigBuilder.create("state", "").build(),
+                new ChannelUID("mqtt:topic:broker:thing:text"), new TextValue(), channelStateUpdateListener);
+        text.addTransformation(new ChannelStateTransformation("JSONPATH:$.temperature", transformationServiceProvider));
+        text.addTransformation(new ChannelStateTransformation("JSONPATH:$.unit", transformationServiceProvider));
+        text.setTopicDispatcher(dispatcher);
+        number.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+        text.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        dispatcher.processMessage("state", JSON.getBytes());
+
+        verify(jsonPathService, times(1)).transform(eq("$.temperature"), eq(JSON));
+        assertThat(number.getCache().getChannelState().toString(), is("23.2"));
+        assertThat(text.getCache().getChannelState().toString(), is("23.2 °C"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dispatcherTopicMustMatch() {
+        createChannelState("temperature", "JSONPATH:$.temperature")
+                .setTopicDispatcher(new ChannelStateTopicDispatcher("other"));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+/**
+ * Tests the {@link CoalescingChannelStateUpdateListener} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class CoalescingChannelStateUpdateListenerTests {
+    @Mock
+    ChannelStateUpdateListener channelStateUpdateListener;
+
+    ChannelUID channelUID = new ChannelUID("mqtt:topic:broker:thing:power");
+
+    ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void forwardImmediately() {
+        CoalescingChannelStateUpdateListener l = new CoalescingChannelStateUpdateListener(channelStateUpdateListener,
+                0, scheduler);
+        l.updateChannelState(channelUID, new DecimalType(1));
+        l.updateChannelState(channelUID, new DecimalType(2));
+
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new DecimalType(1)));
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new DecimalType(2)));
+        assertThat(l.getReceivedCount(), is(2L));
+        assertThat(l.getForwardedCount(), is(2L));
+    }
+
+    @Test
+    public void latestValueWins() {
+        CoalescingChannelStateUpdateListener l = new CoalescingChannelStateUpdateListener(channelStateUpdateListener,
+                100, scheduler);
+        for (int i = 1; i <= 10; i++) {
+            l.updateChannelState(channelUID, new DecimalType(i));
+        }
+
+        verify(channelStateUpdateListener, timeout(1000)).updateChannelState(eq(channelUID),
+                eq(new DecimalType(10)));
+        verify(channelStateUpdateListener, times(1)).updateChannelState(any(), any());
+        assertThat(l.getReceivedCount(), is(10L));
+        assertThat(l.getForwardedCount(), is(1L));
+    }
+
+    @Test
+    public void commandsAreCoalesced() {
+        CoalescingChannelStateUpdateListener l = new CoalescingChannelStateUpdateListener(channelStateUpdateListener,
+                100, scheduler);
+        l.postChannelCommand(channelUID, new DecimalType(1));
+        l.postChannelCommand(channelUID, new DecimalType(2));
+
+        verify(channelStateUpdateListener, timeout(1000)).postChannelCommand(eq(channelUID), eq(new DecimalType(2)));
+        verify(channelStateUpdateListener, times(1)).postChannelCommand(any(), any());
+    }
+
+    @Test
+    public void triggersAreNotCoalesced() {
+        CoalescingChannelStateUpdateListener l = new CoalescingChannelStateUpdateListener(channelStateUpdateListener,
+                100, scheduler);
+        l.triggerChannel(channelUID, "PRESSED");
+        l.triggerChannel(channelUID, "RELEASED");
+
+        verify(channelStateUpdateListener).triggerChannel(eq(channelUID), eq("PRESSED"));
+        verify(channelStateUpdateListener).triggerChannel(eq(channelUID), eq("RELEASED"));
+        assertThat(l.getForwardedCount(), is(2L));
+    }
+
+    @Test
+    public void discardPending() throws InterruptedException {
+        CoalescingChannelStateUpdateListener l = new CoalescingChannelStateUpdateListener(channelStateUpdateListener,
+                50, scheduler);
+        l.updateChannelState(channelUID, new DecimalType(1));
+        l.discardPending();
+
+        Thread.sleep(100);
+        verify(channelStateUpdateListener, never()).updateChannelState(any(), any());
+        assertThat(l.getForwardedCount(), is(0L));
+    }
+}
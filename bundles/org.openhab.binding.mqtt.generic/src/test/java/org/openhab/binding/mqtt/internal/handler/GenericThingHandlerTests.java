@@ -38,6 +38,7 @@ import org.mockito.MockitoAnnotations;
 import org.openhab.binding.mqtt.ChannelConfig;
 import org.openhab.binding.mqtt.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.ChannelState;
+import org.openhab.binding.mqtt.ChannelStateTopicDispatcher;
 import org.openhab.binding.mqtt.MqttChannelStateDescriptionProvider;
 import org.openhab.binding.mqtt.ThingHandlerHelper;
 import org.openhab.binding.mqtt.TransformationServiceProvider;
@@ -118,7 +119,11 @@ public class GenericThingHandlerTests {
         assertThat(channelConfig.getStateTopic(), is("test/state"));
         assertThat(channelConfig.getCommandTopic(), is("test/command"));
 
-        verify(connection).subscribe(eq(channelConfig.getStateTopic()), eq(channelConfig));
+        // All channels share the state topic and therefore a single subscription
+        ChannelStateTopicDispatcher dispatcher = thingHandler.topicDispatcherByStateTopic.get("test/state");
+        assertThat(channelConfig.getTopicDispatcher(), is(dispatcher));
+        assertThat(dispatcher.getChannelStates().size(), is(thing.getChannels().size()));
+        verify(connection, times(1)).subscribe(eq(channelConfig.getStateTopic()), eq(dispatcher));
 
         verify(callback).statusUpdated(eq(thing), argThat((arg) -> arg.getStatus().equals(ThingStatus.ONLINE)
                 && arg.getStatusDetail().equals(ThingStatusDetail.NONE)));
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DelayedBatchProcessing} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class DelayedBatchProcessingTests {
+    ScheduledExecutorService scheduler;
+
+    final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void objectsAreDeliveredInOneBatch() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, list -> {
+            batches.add(list);
+            delivered.countDown();
+        }, scheduler);
+
+        processing.accept(1);
+        processing.accept(2);
+        assertTrue(processing.isArmed());
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertThat(batches, is(Collections.singletonList(Arrays.asList(1, 2))));
+    }
+
+    @Test
+    public void objectsAddedWhileProcessingAreDeliveredInNextBatch() throws InterruptedException {
+        CountDownLatch processingStarted = new CountDownLatch(1);
+        CountDownLatch addedWhileProcessing = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(2);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, list -> {
+            batches.add(list);
+            processingStarted.countDown();
+            try {
+                addedWhileProcessing.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.countDown();
+        }, scheduler);
+
+        processing.accept(1);
+        assertTrue(processingStarted.await(5, TimeUnit.SECONDS));
+        processing.accept(2);
+        addedWhileProcessing.countDown();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertThat(batches, is(Arrays.asList(Collections.singletonList(1), Collections.singletonList(2))));
+    }
+}
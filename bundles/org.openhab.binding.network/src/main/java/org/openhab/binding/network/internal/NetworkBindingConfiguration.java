@@ -30,6 +30,7 @@ public class NetworkBindingConfiguration {
     public Boolean allowDHCPlisten = true;
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
+    public BigDecimal presenceDetectionThreads = BigDecimal.valueOf(PresenceDetectionEngine.DEFAULT_MAXIMUM_THREADS);
     public @NonNullByDefault({}) ArpPingUtilEnum arpPingUtilMethod;
 
     public void update(NetworkBindingConfiguration newConfiguration) {
@@ -37,6 +38,7 @@ public class NetworkBindingConfiguration {
         this.allowDHCPlisten = newConfiguration.allowDHCPlisten;
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
+        this.presenceDetectionThreads = newConfiguration.presenceDetectionThreads;
 
         NetworkUtils networkUtils = new NetworkUtils();
         this.arpPingUtilMethod = networkUtils.determineNativeARPpingMethod(arpPingToolPath);
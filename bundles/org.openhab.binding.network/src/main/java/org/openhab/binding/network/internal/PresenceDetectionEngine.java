@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.TcpConnectProber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceDetectionEngine} performs the checks of all {@link PresenceDetection}s of the binding:
+ *
+ * <ul>
+ * <li>Blocking checks like ARP pings are executed by a bounded thread pool, instead of a new thread pool per
+ * detection.
+ * <li>TCP connection attempts of all devices are handled by a single selector thread.
+ * <li>System pings that are requested within {@link #PING_BATCH_WINDOW_MS} are sent by a single fping process, if
+ * fping is installed. Otherwise a ping process per host is started on the thread pool.
+ * </ul>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceDetectionEngine {
+    public static final int DEFAULT_MAXIMUM_THREADS = 16;
+    static final int PING_BATCH_WINDOW_MS = 50;
+    static final String FPING_TOOL_PATH = "fping";
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceDetectionEngine.class);
+    private final ScheduledThreadPoolExecutor executor;
+    private final TcpConnectProber tcpConnectProber;
+    NetworkUtils networkUtils = new NetworkUtils();
+
+    // System ping batch, guarded by this
+    private @Nullable Boolean batchPingAvailable;
+    private Map<String, List<CompletableFuture<Double>>> pendingPings = new HashMap<>();
+    private @Nullable IpPingMethodEnum pendingPingMethod;
+    private int pendingPingTimeout;
+
+    /**
+     * Creates a new engine. Threads are only started on demand.
+     *
+     * @param maximumThreads The maximum amount of concurrently executed blocking checks
+     */
+    public PresenceDetectionEngine(int maximumThreads) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(Math.max(1, maximumThreads), r -> {
+            Thread thread = new Thread(r, "presenceDetection-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setKeepAliveTime(60, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setRemoveOnCancelPolicy(true);
+        tcpConnectProber = new TcpConnectProber("presenceDetectionTCP");
+    }
+
+    /**
+     * Change the maximum amount of concurrently executed blocking checks.
+     */
+    public void setMaximumThreads(int maximumThreads) {
+        executor.setCorePoolSize(Math.max(1, maximumThreads));
+    }
+
+    /**
+     * Execute a blocking check on the thread pool.
+     *
+     * @param check The check
+     * @return A future to cancel the check
+     * @throws RejectedExecutionException If the engine has been shut down
+     */
+    public Future<?> submit(Runnable check) {
+        return executor.submit(check);
+    }
+
+    /**
+     * Try to connect to the given host and port.
+     *
+     * @param host The IP address
+     * @param port The tcp port
+     * @param timeoutInMS Timeout in milliseconds
+     * @return A future with the latency in milliseconds or {@link PresenceDetection#NOT_REACHABLE}.
+     */
+    public CompletableFuture<Double> servicePing(String host, int port, int timeoutInMS) {
+        return tcpConnectProber.probe(host, port, timeoutInMS);
+    }
+
+    /**
+     * Ping the given host with the system ping utility or with fping, together with all other hosts requested within
+     * {@link #PING_BATCH_WINDOW_MS}.
+     *
+     * @param method The system ping method. Used if fping is not available.
+     * @param host The IP address
+     * @param timeoutInMS Timeout in milliseconds
+     * @return A future with the latency in milliseconds or {@link PresenceDetection#NOT_REACHABLE}.
+     * @throws RejectedExecutionException If the engine has been shut down
+     */
+    public synchronized CompletableFuture<Double> systemPing(IpPingMethodEnum method, String host, int timeoutInMS) {
+        Boolean batchPingAvailable = this.batchPingAvailable;
+        if (batchPingAvailable == null) {
+            batchPingAvailable = method != IpPingMethodEnum.WINDOWS_PING
+                    && networkUtils.isBatchPingAvailable(FPING_TOOL_PATH);
+            this.batchPingAvailable = batchPingAvailable;
+            logger.debug("Batched system pings with fping are {}", batchPingAvailable ? "available" : "not available");
+        }
+        if (!batchPingAvailable) {
+            return singlePing(method, host, timeoutInMS);
+        }
+
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        if (pendingPings.isEmpty()) {
+            executor.schedule(this::performPingBatch, PING_BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+        }
+        pendingPings.computeIfAbsent(host, h -> new ArrayList<>()).add(result);
+        pendingPingMethod = method;
+        pendingPingTimeout = Math.max(pendingPingTimeout, timeoutInMS);
+        return result;
+    }
+
+    private CompletableFuture<Double> singlePing(IpPingMethodEnum method, String host, int timeoutInMS) {
+        final CompletableFuture<Double> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                double pingTime = System.nanoTime();
+                if (networkUtils.nativePing(method, host, timeoutInMS)) {
+                    result.complete((double) Math.round((System.nanoTime() - pingTime) / 1000000.0f));
+                    return;
+                }
+            } catch (IOException e) {
+                logger.trace("Failed to execute a native ping for ip {}", host, e);
+            } catch (InterruptedException ignored) {
+                // This can be ignored, the thread will end anyway
+            }
+            result.complete(PresenceDetection.NOT_REACHABLE);
+        });
+        return result;
+    }
+
+    private void performPingBatch() {
+        final Map<String, List<CompletableFuture<Double>>> pings;
+        final IpPingMethodEnum method;
+        final int timeoutInMS;
+        synchronized (this) {
+            pings = pendingPings;
+            method = pendingPingMethod;
+            timeoutInMS = pendingPingTimeout;
+            pendingPings = new HashMap<>();
+            pendingPingTimeout = 0;
+        }
+        if (pings.isEmpty() || method == null) {
+            return;
+        }
+
+        Map<String, Double> alive;
+        try {
+            logger.trace("Perform batched native ping presence detection for {} hosts", pings.size());
+            alive = networkUtils.nativeBatchPing(FPING_TOOL_PATH, pings.keySet(), timeoutInMS);
+        } catch (IOException e) {
+            logger.debug("Failed to execute a batched native ping, falling back to single pings", e);
+            for (Map.Entry<String, List<CompletableFuture<Double>>> entry : pings.entrySet()) {
+                singlePing(method, entry.getKey(), timeoutInMS).thenAccept(latency -> {
+                    entry.getValue().forEach(result -> result.complete(latency));
+                });
+            }
+            return;
+        } catch (InterruptedException e) {
+            alive = new HashMap<>();
+        }
+
+        for (Map.Entry<String, List<CompletableFuture<Double>>> entry : pings.entrySet()) {
+            Double latency = alive.get(entry.getKey());
+            for (CompletableFuture<Double> result : entry.getValue()) {
+                result.complete(latency != null ? latency : PresenceDetection.NOT_REACHABLE);
+            }
+        }
+    }
+
+    /**
+     * Stop all threads. Pending checks are cancelled.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        tcpConnectProber.close();
+        synchronized (this) {
+            pendingPings.values().forEach(results -> results.forEach(result -> result.cancel(false)));
+            pendingPings = new HashMap<>();
+        }
+    }
+}
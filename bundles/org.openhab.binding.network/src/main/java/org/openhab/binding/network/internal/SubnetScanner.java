@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SubnetScanner} scans many hosts at once for open TCP ports and ping responses.
+ *
+ * <p>
+ * No thread is blocked per host: TCP connection attempts are non-blocking and handled by the selector of the
+ * {@link PresenceDetectionEngine}, system pings are batched by the engine. Only ARP pings and Java pings are executed
+ * on the thread pool of the engine. At most "maxConcurrentProbes" probes are in flight at the same time, the next
+ * probe is started as soon as one finishes.
+ *
+ * <p>
+ * Reachable hosts are reported with {@link PresenceDetectionListener#partialDetectionResult(PresenceDetectionValue)}
+ * as soon as a probe succeeds.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetScanner {
+    private final Logger logger = LoggerFactory.getLogger(SubnetScanner.class);
+    private final PresenceDetectionEngine engine;
+    private final PresenceDetectionListener listener;
+    private final int maxConcurrentProbes;
+    private final int timeoutInMS;
+    NetworkUtils networkUtils = new NetworkUtils();
+
+    // Scan state, guarded by this
+    private Iterator<Supplier<CompletableFuture<?>>> pendingProbes = Collections.emptyIterator();
+    private boolean startingProbes;
+    private int runningProbes;
+    private int hostCount;
+    private long probeCount;
+    private long startTime;
+    private long scanDurationInMS;
+    private @Nullable CompletableFuture<@Nullable Void> scanFinished;
+
+    /**
+     * Creates a new scanner.
+     *
+     * @param engine The engine that performs the probes
+     * @param listener Receives a partial detection result for each successful probe
+     * @param maxConcurrentProbes The maximum amount of probes in flight
+     * @param timeoutInMS The timeout of each probe in milliseconds
+     */
+    public SubnetScanner(PresenceDetectionEngine engine, PresenceDetectionListener listener, int maxConcurrentProbes,
+            int timeoutInMS) {
+        this.engine = engine;
+        this.listener = listener;
+        this.maxConcurrentProbes = Math.max(1, maxConcurrentProbes);
+        this.timeoutInMS = timeoutInMS;
+    }
+
+    /**
+     * Scan the given hosts. A previous scan is cancelled.
+     *
+     * @param ips The IP addresses
+     * @param tcpPorts The TCP ports to connect to
+     * @param pingMethod The ping method or null to not ping
+     * @param arpPingMethod The ARP ping tool
+     * @param arpPingToolPath The ARP ping tool path
+     * @return A future that completes when all probes are finished
+     */
+    public CompletableFuture<@Nullable Void> scan(Set<String> ips, Set<Integer> tcpPorts,
+            @Nullable IpPingMethodEnum pingMethod, ArpPingUtilEnum arpPingMethod, String arpPingToolPath) {
+        Set<String> interfaceNames = arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL
+                && arpPingMethod != ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS
+                        ? networkUtils.getInterfaceNames()
+                        : Collections.emptySet();
+
+        List<Supplier<CompletableFuture<?>>> probes = new ArrayList<>();
+        for (String ip : ips) {
+            if (pingMethod == IpPingMethodEnum.JAVA_PING) {
+                probes.add(() -> CompletableFuture.runAsync(() -> javaPing(ip), engine::submit));
+            } else if (pingMethod != null) {
+                probes.add(() -> systemPing(pingMethod, ip));
+            }
+            for (Integer tcpPort : tcpPorts) {
+                probes.add(() -> servicePing(ip, tcpPort));
+            }
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
+                // arp-ping.exe tool capable of handling multiple interfaces by itself
+                probes.add(() -> CompletableFuture
+                        .runAsync(() -> arpPing(arpPingMethod, arpPingToolPath, "", ip), engine::submit));
+            }
+            for (String interfaceName : interfaceNames) {
+                probes.add(() -> CompletableFuture
+                        .runAsync(() -> arpPing(arpPingMethod, arpPingToolPath, interfaceName, ip), engine::submit));
+            }
+        }
+
+        final CompletableFuture<@Nullable Void> scanFinished = new CompletableFuture<>();
+        final CompletableFuture<@Nullable Void> previousScan;
+        synchronized (this) {
+            previousScan = this.scanFinished;
+            this.scanFinished = scanFinished;
+            pendingProbes = probes.iterator();
+            hostCount = ips.size();
+            probeCount = 0;
+            scanDurationInMS = 0;
+            startTime = System.nanoTime();
+        }
+        if (previousScan != null) {
+            previousScan.cancel(false);
+        }
+        logger.debug("Scanning {} hosts with {} probes, {} probes at once", ips.size(), probes.size(),
+                maxConcurrentProbes);
+        startProbes();
+        return scanFinished;
+    }
+
+    /**
+     * Do not start further probes. The scan finishes as soon as the running probes are finished.
+     */
+    public synchronized void cancel() {
+        pendingProbes = Collections.emptyIterator();
+    }
+
+    /**
+     * Return the amount of probes of the current or last scan.
+     */
+    public synchronized long getProbeCount() {
+        return probeCount;
+    }
+
+    /**
+     * Return the duration of the last finished scan in milliseconds.
+     */
+    public synchronized long getScanDuration() {
+        return scanDurationInMS;
+    }
+
+    /**
+     * Start probes until the maximum amount of probes is in flight. Probes may finish immediately,
+     * this method is therefore not called recursively but loops until no further probe can be started.
+     */
+    private void startProbes() {
+        synchronized (this) {
+            if (startingProbes) {
+                return;
+            }
+            startingProbes = true;
+        }
+        while (true) {
+            Supplier<CompletableFuture<?>> probe;
+            synchronized (this) {
+                if (runningProbes >= maxConcurrentProbes || !pendingProbes.hasNext()) {
+                    startingProbes = false;
+                    break;
+                }
+                probe = pendingProbes.next();
+                runningProbes++;
+                probeCount++;
+            }
+            CompletableFuture<?> result;
+            try {
+                result = probe.get();
+            } catch (RuntimeException e) {
+                // The engine has been shut down
+                logger.debug("Could not start probe", e);
+                cancel();
+                result = CompletableFuture.completedFuture(null);
+            }
+            result.whenComplete((r, e) -> probeFinished());
+        }
+        checkIfFinished();
+    }
+
+    private void probeFinished() {
+        synchronized (this) {
+            runningProbes--;
+        }
+        startProbes();
+    }
+
+    private void checkIfFinished() {
+        final CompletableFuture<@Nullable Void> scanFinished;
+        synchronized (this) {
+            scanFinished = this.scanFinished;
+            if (scanFinished == null || runningProbes > 0 || pendingProbes.hasNext()) {
+                return;
+            }
+            this.scanFinished = null;
+            scanDurationInMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            logger.info("Scanned {} hosts with {} probes in {} ms ({} probes/s)", hostCount, probeCount,
+                    scanDurationInMS, probeCount * 1000 / Math.max(1, scanDurationInMS));
+        }
+        scanFinished.complete(null);
+    }
+
+    private CompletableFuture<?> servicePing(String ip, int tcpPort) {
+        return engine.servicePing(ip, tcpPort, timeoutInMS).thenAccept(latency -> {
+            if (latency != PresenceDetection.NOT_REACHABLE) {
+                PresenceDetectionValue v = new PresenceDetectionValue(ip, latency);
+                v.addType(PresenceDetectionType.TCP_CONNECTION);
+                v.addReachableTcpService(tcpPort);
+                listener.partialDetectionResult(v);
+            }
+        });
+    }
+
+    private CompletableFuture<?> systemPing(IpPingMethodEnum pingMethod, String ip) {
+        return engine.systemPing(pingMethod, ip, timeoutInMS).thenAccept(latency -> {
+            if (latency != PresenceDetection.NOT_REACHABLE) {
+                reportPingable(ip, PresenceDetectionType.ICMP_PING, latency);
+            }
+        });
+    }
+
+    private void javaPing(String ip) {
+        try {
+            double pingTime = System.nanoTime();
+            if (InetAddress.getByName(ip).isReachable(timeoutInMS)) {
+                reportPingable(ip, PresenceDetectionType.ICMP_PING,
+                        Math.round((System.nanoTime() - pingTime) / 1000000.0f));
+            }
+        } catch (IOException e) {
+            logger.trace("Failed to execute a java ping for ip {}", ip, e);
+        }
+    }
+
+    private void arpPing(ArpPingUtilEnum arpPingMethod, String arpPingToolPath, String interfaceName, String ip) {
+        try {
+            // Wake up iOS devices, they do not respond to ARP pings in deep sleep mode
+            networkUtils.wakeUpIOS(InetAddress.getByName(ip));
+            Thread.sleep(50);
+            double pingTime = System.nanoTime();
+            if (networkUtils.nativeARPPing(arpPingMethod, arpPingToolPath, interfaceName, ip, timeoutInMS)) {
+                reportPingable(ip, PresenceDetectionType.ARP_PING,
+                        Math.round((System.nanoTime() - pingTime) / 1000000.0f));
+            }
+        } catch (IOException e) {
+            logger.trace("Failed to execute an arp ping for ip {}", ip, e);
+        } catch (InterruptedException ignored) {
+            // This can be ignored, the thread will end anyway
+        }
+    }
+
+    private void reportPingable(String ip, PresenceDetectionType type, double latency) {
+        PresenceDetectionValue v = new PresenceDetectionValue(ip, latency);
+        v.addType(type);
+        listener.partialDetectionResult(v);
+    }
+}
@@ -28,9 +28,15 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -280,6 +286,58 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Return true if the fping utility is available and executable on the given path. fping pings
+     * many hosts in parallel with a single process.
+     */
+    public boolean isBatchPingAvailable(String fpingToolPath) {
+        String result = ExecUtil.executeCommandLineAndWaitResponse(fpingToolPath + " -v", 100);
+        return StringUtils.isNotBlank(result) && result.contains("fping: Version");
+    }
+
+    /**
+     * Use the fping utility to ping the given hosts with a single process.
+     *
+     * @param fpingToolPath The fping absolute path including filename. Example: "fping" or "/usr/bin/fping"
+     * @param hostnames The DNS names, IPv4 or IPv6 addresses
+     * @param timeoutInMS Timeout in milliseconds per host
+     * @return Returns the latency in milliseconds of each responding host. Hosts that did not respond are not
+     *         contained.
+     * @throws IOException The fping command could probably not be found or failed
+     */
+    public Map<String, Double> nativeBatchPing(String fpingToolPath, Collection<String> hostnames, int timeoutInMS)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        Collections.addAll(command, fpingToolPath, "-a", "-e", "-r", "0", "-t", String.valueOf(timeoutInMS));
+        command.addAll(hostnames);
+        Process proc = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        // Alive hosts are reported one per line, like "192.168.1.1 (0.12 ms)". Error messages
+        // like "ICMP Host Unreachable from ..." do not match this format.
+        Map<String, Double> alive = new HashMap<>();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts.length != 3 || !parts[1].startsWith("(") || !parts[2].equals("ms)")) {
+                    continue;
+                }
+                try {
+                    alive.put(parts[0], Double.parseDouble(parts[1].substring(1)));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+
+        // The return code is 0 if all hosts responded, 1 if some didn't respond and 2 if a host name could
+        // not be resolved. Everything else is an error like invalid arguments.
+        int result = proc.waitFor();
+        if (result > 2) {
+            throw new IOException("fping failed with return code " + result);
+        }
+        return alive;
+    }
+
     public enum ArpPingUtilEnum {
         UNKNOWN_TOOL,
         IPUTILS_ARPING,
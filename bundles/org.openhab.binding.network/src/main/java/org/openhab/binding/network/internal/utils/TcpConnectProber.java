@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP connection attempts ("service pings") with non-blocking sockets. All pending connection attempts are
+ * handled by a single selector thread, instead of a blocked thread per attempt. The thread is started with the first
+ * probe and ends when the prober is closed.
+ *
+ * <p>
+ * The returned futures are completed on the selector thread. Callbacks must therefore not block.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectProber {
+    /** The latency value of an unreachable service */
+    public static final double NOT_REACHABLE = -1;
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectProber.class);
+    private final String threadName;
+    private final Queue<Probe> newProbes = new ConcurrentLinkedQueue<>();
+
+    // Guarded by this
+    private @Nullable Selector selector;
+    private boolean closed;
+
+    private static class Probe {
+        final SocketChannel channel;
+        final CompletableFuture<Double> result;
+        final long startNanos;
+        final long deadlineNanos;
+
+        Probe(SocketChannel channel, CompletableFuture<Double> result, long startNanos, long deadlineNanos) {
+            this.channel = channel;
+            this.result = result;
+            this.startNanos = startNanos;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        void complete(boolean reachable) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            result.complete(reachable ? (double) Math.round((System.nanoTime() - startNanos) / 1000000.0f)
+                    : NOT_REACHABLE);
+        }
+    }
+
+    /**
+     * Creates a new prober.
+     *
+     * @param threadName The name of the selector thread
+     */
+    public TcpConnectProber(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Try to connect to the given host and port.
+     *
+     * @param host The IP address. Host names are resolved on the calling thread.
+     * @param port The tcp port. Must not be 0.
+     * @param timeoutInMS Timeout in milliseconds
+     * @return A future with the connection latency in milliseconds, or {@link #NOT_REACHABLE} if the connection was
+     *         refused or timed out.
+     */
+    public CompletableFuture<Double> probe(String host, int port, int timeoutInMS) {
+        final CompletableFuture<Double> result = new CompletableFuture<>();
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            result.complete(NOT_REACHABLE);
+            return result;
+        }
+
+        SocketChannel channel = null;
+        try {
+            Selector selector = start();
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            final long now = System.nanoTime();
+            Probe probe = new Probe(channel, result, now, now + TimeUnit.MILLISECONDS.toNanos(timeoutInMS));
+            if (channel.connect(address)) {
+                probe.complete(true);
+            } else {
+                newProbes.add(probe);
+                selector.wakeup();
+            }
+        } catch (IOException e) {
+            // The network is not reachable for example
+            logger.trace("Could not connect to {}:{}", host, port, e);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            result.complete(NOT_REACHABLE);
+        }
+        return result;
+    }
+
+    private synchronized Selector start() throws IOException {
+        if (closed) {
+            throw new IOException("The prober is closed");
+        }
+        Selector selector = this.selector;
+        if (selector == null) {
+            final Selector newSelector = Selector.open();
+            selector = newSelector;
+            this.selector = newSelector;
+            Thread thread = new Thread(() -> run(newSelector), threadName);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return selector;
+    }
+
+    /**
+     * Stop the selector thread. All pending connection attempts are reported as not reachable.
+     */
+    public synchronized void close() {
+        closed = true;
+        Selector selector = this.selector;
+        this.selector = null;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void run(Selector selector) {
+        try {
+            while (!isClosed()) {
+                registerNewProbes(selector);
+                long timeout = expireProbes(selector);
+                selector.select(timeout);
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Probe probe = (Probe) key.attachment();
+                    boolean connected;
+                    try {
+                        connected = probe.channel.finishConnect();
+                    } catch (IOException e) {
+                        // Connection refused, host unreachable
+                        key.cancel();
+                        probe.complete(false);
+                        continue;
+                    }
+                    if (connected) {
+                        key.cancel();
+                        probe.complete(true);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.warn("The TCP connection prober stopped", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                ((Probe) key.attachment()).complete(false);
+            }
+            Probe probe;
+            while ((probe = newProbes.poll()) != null) {
+                probe.complete(false);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void registerNewProbes(Selector selector) {
+        Probe probe;
+        while ((probe = newProbes.poll()) != null) {
+            try {
+                probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            } catch (IOException e) {
+                probe.complete(false);
+            }
+        }
+    }
+
+    /**
+     * Report all timed out connection attempts as not reachable.
+     *
+     * @return The time in milliseconds until the next connection attempt times out, or 0 if there is none.
+     */
+    private long expireProbes(Selector selector) {
+        final long now = System.nanoTime();
+        long nextDeadline = Long.MAX_VALUE;
+        for (SelectionKey key : selector.keys()) {
+            if (!key.isValid()) {
+                continue;
+            }
+            Probe probe = (Probe) key.attachment();
+            if (probe.deadlineNanos - now <= 0) {
+                key.cancel();
+                probe.complete(false);
+            } else {
+                nextDeadline = Math.min(nextDeadline, probe.deadlineNanos);
+            }
+        }
+        if (nextDeadline == Long.MAX_VALUE) {
+            return 0;
+        }
+        // Selector.select(0) blocks forever, wait at least one millisecond
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadline - now));
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+
+/**
+ * Tests cases for {@see SubnetScanner}
+ *
+ * @author agent - Initial contribution
+ */
+public class SubnetScannerTest {
+    @Mock
+    PresenceDetectionEngine engine;
+
+    @Mock
+    PresenceDetectionListener listener;
+
+    CompletableFuture<Double> probe1 = new CompletableFuture<>();
+    CompletableFuture<Double> probe2 = new CompletableFuture<>();
+    CompletableFuture<Double> probe3 = new CompletableFuture<>();
+
+    Set<String> ips = new LinkedHashSet<>(Arrays.asList("192.168.0.1", "192.168.0.2", "192.168.0.3"));
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(probe1).when(engine).servicePing(eq("192.168.0.1"), anyInt(), anyInt());
+        doReturn(probe2).when(engine).servicePing(eq("192.168.0.2"), anyInt(), anyInt());
+        doReturn(probe3).when(engine).servicePing(eq("192.168.0.3"), anyInt(), anyInt());
+    }
+
+    @Test
+    public void concurrencyIsLimited() {
+        SubnetScanner subject = new SubnetScanner(engine, listener, 2, 500);
+        CompletableFuture<?> scan = subject.scan(ips, Collections.singleton(80), null, ArpPingUtilEnum.UNKNOWN_TOOL,
+                "");
+
+        // Only two probes in flight
+        verify(engine, times(2)).servicePing(anyString(), eq(80), eq(500));
+        verify(engine, never()).servicePing(eq("192.168.0.3"), anyInt(), anyInt());
+
+        // The third probe starts as soon as one finishes
+        probe1.complete(PresenceDetection.NOT_REACHABLE);
+        verify(engine).servicePing(eq("192.168.0.3"), anyInt(), anyInt());
+        assertFalse(scan.isDone());
+
+        probe2.complete(PresenceDetection.NOT_REACHABLE);
+        probe3.complete(PresenceDetection.NOT_REACHABLE);
+        assertTrue(scan.isDone());
+        assertThat(subject.getProbeCount(), is(3L));
+        verify(listener, never()).partialDetectionResult(any());
+    }
+
+    @Test
+    public void reachableHostsAreReported() {
+        doReturn(CompletableFuture.completedFuture(PresenceDetection.NOT_REACHABLE)).when(engine).systemPing(any(),
+                anyString(), anyInt());
+        doReturn(CompletableFuture.completedFuture(2.0)).when(engine).systemPing(any(), eq("192.168.0.2"), anyInt());
+
+        SubnetScanner subject = new SubnetScanner(engine, listener, 100, 500);
+        CompletableFuture<?> scan = subject.scan(ips, Collections.singleton(80), IpPingMethodEnum.IPUTILS_LINUX_PING,
+                ArpPingUtilEnum.UNKNOWN_TOOL, "");
+        probe1.complete(1.0);
+        probe2.complete(PresenceDetection.NOT_REACHABLE);
+        probe3.complete(PresenceDetection.NOT_REACHABLE);
+        assertTrue(scan.isDone());
+
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener, times(2)).partialDetectionResult(capture.capture());
+        PresenceDetectionValue ping = capture.getAllValues().get(0);
+        assertThat(ping.getHostAddress(), is("192.168.0.2"));
+        assertTrue(ping.isPingReachable());
+        PresenceDetectionValue tcp = capture.getAllValues().get(1);
+        assertThat(tcp.getHostAddress(), is("192.168.0.1"));
+        assertThat(tcp.getReachableTCPports(), is(Collections.singletonList(80)));
+    }
+
+    @Test
+    public void cancel() {
+        SubnetScanner subject = new SubnetScanner(engine, listener, 1, 500);
+        CompletableFuture<?> scan = subject.scan(ips, Collections.singleton(80), null, ArpPingUtilEnum.UNKNOWN_TOOL,
+                "");
+        subject.cancel();
+        probe1.complete(PresenceDetection.NOT_REACHABLE);
+
+        // No further probe is started after a cancel
+        assertTrue(scan.isDone());
+        verify(engine, times(1)).servicePing(anyString(), anyInt(), anyInt());
+    }
+}
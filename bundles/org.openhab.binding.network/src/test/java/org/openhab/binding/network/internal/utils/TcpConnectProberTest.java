@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see TcpConnectProber}
+ *
+ * @author agent - Initial contribution
+ */
+public class TcpConnectProberTest {
+    TcpConnectProber subject = new TcpConnectProber("TcpConnectProberTest");
+
+    @After
+    public void tearDown() {
+        subject.close();
+    }
+
+    @Test
+    public void openPort() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<Double> result = subject.probe("127.0.0.1", server.getLocalPort(), 1000);
+            assertTrue(result.get(2, TimeUnit.SECONDS) >= 0);
+        }
+    }
+
+    @Test
+    public void closedPort() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = server.getLocalPort();
+        }
+        CompletableFuture<Double> result = subject.probe("127.0.0.1", port, 1000);
+        assertThat(result.get(2, TimeUnit.SECONDS), is(TcpConnectProber.NOT_REACHABLE));
+    }
+
+    @Test
+    public void manyProbesAtOnce() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 100, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<?>[] results = new CompletableFuture<?>[50];
+            for (int i = 0; i < results.length; ++i) {
+                results[i] = subject.probe("127.0.0.1", server.getLocalPort(), 1000);
+            }
+            CompletableFuture.allOf(results).get(2, TimeUnit.SECONDS);
+            for (CompletableFuture<?> result : results) {
+                assertTrue((Double) result.get() >= 0);
+            }
+        }
+    }
+
+    @Test
+    public void probeAfterClose() {
+        subject.close();
+        assertThat(subject.probe("127.0.0.1", 80, 1000).join(), is(TcpConnectProber.NOT_REACHABLE));
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Date;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Converts {@link MapDbItem}s from and to a compact binary format using {@link MapDbStateCodec}.
+ *
+ * The items are stored as plain byte arrays in the database instead of registering this class as a MapDB serializer,
+ * as MapDB would then store the serializer in its catalog and load it by class name when the database is opened.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class MapDbItemSerializer {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private MapDbItemSerializer() {
+        // static utility class
+    }
+
+    /**
+     * Writes an item to its binary format.
+     *
+     * @param item the item to write
+     * @return the binary format of the item
+     * @throws IOException if the item cannot be written
+     */
+    public static byte[] serialize(MapDbItem item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_VERSION);
+        out.writeUTF(item.getName());
+        out.writeLong(item.getTimestamp().getTime());
+        MapDbStateCodec.encode(out, item.getState());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads an item previously written by {@link #serialize(MapDbItem)}.
+     *
+     * @param data the binary format of the item
+     * @return the item
+     * @throws IOException if the data is corrupt or the item cannot be restored
+     */
+    public static MapDbItem deserialize(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported MapDB item format version " + version);
+        }
+        MapDbItem item = new MapDbItem();
+        item.setName(in.readUTF());
+        item.setTimestamp(new Date(in.readLong()));
+        try {
+            item.setState(MapDbStateCodec.decode(in));
+        } catch (RuntimeException e) {
+            // e.g. an enum ordinal or number out of range
+            throw new IOException("Couldn't decode state: " + e.getMessage(), e);
+        }
+        return item;
+    }
+}
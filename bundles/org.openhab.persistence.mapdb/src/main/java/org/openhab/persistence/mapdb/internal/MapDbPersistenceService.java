@@ -13,15 +13,19 @@
 package org.openhab.persistence.mapdb.internal;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -37,12 +41,14 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * This is the implementation of the MapDB {@link PersistenceService}. To learn
@@ -53,56 +59,99 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to Eclipse SmartHome
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb")
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_NAME = "mapdb";
 
-    private static final String DB_FOLDER_NAME = ConfigConstants.getUserDataFolder() + File.separator + "persistence" + File.separator + "mapdb";
+    private static final String CONFIG_COMMIT_INTERVAL = "commitinterval";
+    private static final String CONFIG_COMMIT_BATCH_SIZE = "commitbatchsize";
+
+    /** default time in milliseconds updates are collected before they are committed */
+    private static final long DEFAULT_COMMIT_INTERVAL = 5000;
+    /** default number of pending updates that triggers a commit before the commit interval elapsed */
+    private static final int DEFAULT_COMMIT_BATCH_SIZE = 1000;
 
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    /** name of the map holding items in the binary format of {@link MapDbItemSerializer} */
+    private static final String ITEM_MAP_NAME = "items";
+
+    /** name of the map holding items as Gson JSON strings, as written by former versions of this service */
+    private static final String LEGACY_ITEM_MAP_NAME = "itemStore";
+
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     @NonNullByDefault({})
-    private ExecutorService threadPool;
+    private ScheduledExecutorService threadPool;
+
+    @NonNullByDefault({})
+    private MapDbWritePipeline writePipeline;
 
     /** holds the local instance of the MapDB database */
     @NonNullByDefault({})
     private DB db;
     @NonNullByDefault({})
-    private Map<String, String> map;
+    private Map<String, byte[]> map;
+
+    /** holds the latest item per alias, kept in sync with the database by {@link #store(Item, String)} */
+    private final Map<String, MapDbItem> cache = new ConcurrentHashMap<>();
 
     private transient Gson mapper = new GsonBuilder()
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
-    public void activate() {
+    public void activate(@Nullable Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
-        threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+        threadPool = ThreadPoolManager.getScheduledPool(getClass().getSimpleName());
 
-        File folder = new File(DB_FOLDER_NAME);
+        String dbFolderName = ConfigConstants.getUserDataFolder() + File.separator + "persistence" + File.separator
+                + "mapdb";
+        File folder = new File(dbFolderName);
         if (!folder.exists()) {
             if (!folder.mkdirs()) {
-                logger.warn("Failed to create one or more directories in the path '{}'", DB_FOLDER_NAME);
+                logger.warn("Failed to create one or more directories in the path '{}'", dbFolderName);
                 logger.warn("MapDB persistence service activation has failed.");
                 return;
             }
         }
 
-        File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
+        File dbFile = new File(dbFolderName, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-        map = db.createTreeMap("itemStore").makeOrGet();
-        logger.debug("MapDB persistence service is now activated");
+        map = db.createTreeMap(ITEM_MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        migrateLegacyItemMap();
+        loadCache();
+
+        long commitInterval = getConfigValue(config, CONFIG_COMMIT_INTERVAL, DEFAULT_COMMIT_INTERVAL);
+        int commitBatchSize = (int) getConfigValue(config, CONFIG_COMMIT_BATCH_SIZE, DEFAULT_COMMIT_BATCH_SIZE);
+        writePipeline = new MapDbWritePipeline(threadPool, this::write, () -> db.commit(), commitInterval,
+                commitBatchSize);
+        writePipeline.start();
+        logger.debug("MapDB persistence service is now activated (commit interval {} ms, batch size {})",
+                commitInterval, commitBatchSize);
     }
 
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        if (writePipeline != null) {
+            writePipeline.stop();
+            logger.debug("MapDB write statistics: {}", writePipeline);
+        }
         if (db != null) {
             db.close();
         }
-        threadPool.shutdown();
+        cache.clear();
+    }
+
+    /**
+     * Returns the statistics of the batching write pipeline, i.e. pending writes, coalesced updates and commit
+     * latency.
+     *
+     * @return the write pipeline or null if the service is not active
+     */
+    public @Nullable MapDbWritePipeline getWritePipeline() {
+        return writePipeline;
     }
 
     @Override
@@ -117,10 +166,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream()
-                .map(this::deserialize)
-                .flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo>toSet());
+        return new HashSet<>(cache.values());
     }
 
     @Override
@@ -145,31 +191,89 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(alias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(alias, json);
-        commit();
+        cache.put(alias, mItem);
+        writePipeline.enqueue(mItem);
         logger.debug("Stored '{}' with state '{}' in MapDB database", alias, state.toString());
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        MapDbItem item = itemName == null ? null : cache.get(itemName);
+        if (item == null) {
             return Collections.emptyList();
         }
-        Optional<MapDbItem> item = deserialize(json);
-        if (!item.isPresent()) {
-            return Collections.emptyList();
+        return Collections.singletonList(item);
+    }
+
+    /**
+     * Loads all items of the database into the in-memory cache, so that queries (e.g. for restoring item states on
+     * startup) do not need to access the database. Items which cannot be decoded are removed from the database.
+     */
+    private void loadCache() {
+        long start = System.nanoTime();
+        cache.clear();
+        List<String> invalidAliases = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : map.entrySet()) {
+            try {
+                cache.put(entry.getKey(), MapDbItemSerializer.deserialize(entry.getValue()));
+            } catch (IOException e) {
+                logger.warn("Couldn't deserialize item '{}', removing it from MapDB database: {}", entry.getKey(),
+                        e.getMessage());
+                invalidAliases.add(entry.getKey());
+            }
+        }
+        if (!invalidAliases.isEmpty()) {
+            invalidAliases.forEach(map::remove);
+            db.commit();
+        }
+        logger.debug("Loaded {} items from MapDB database in {} ms", cache.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void write(MapDbItem item) {
+        try {
+            map.put(item.getName(), MapDbItemSerializer.serialize(item));
+        } catch (IOException e) {
+            logger.warn("Couldn't serialize item '{}': {}", item.getName(), e.getMessage());
         }
-        return Collections.singletonList(item.get());
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    /**
+     * Converts the items of a database written by a former version of this service from Gson JSON strings to the
+     * binary format and removes the legacy map afterwards.
+     */
+    private void migrateLegacyItemMap() {
+        if (!db.exists(LEGACY_ITEM_MAP_NAME)) {
+            return;
+        }
+        Map<String, String> legacyMap = db.getTreeMap(LEGACY_ITEM_MAP_NAME);
+        logger.info("Migrating {} items of the MapDB database to the binary format", legacyMap.size());
+        int migrated = 0;
+        for (Map.Entry<String, String> entry : legacyMap.entrySet()) {
+            Optional<MapDbItem> item = deserialize(entry.getValue());
+            if (item.isPresent() && !map.containsKey(entry.getKey())) {
+                try {
+                    map.put(entry.getKey(), MapDbItemSerializer.serialize(item.get()));
+                    migrated++;
+                } catch (IOException e) {
+                    logger.warn("Couldn't serialize item '{}': {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+        db.delete(LEGACY_ITEM_MAP_NAME);
+        db.commit();
+        logger.debug("Migrated {} items of the MapDB database", migrated);
     }
 
     private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.<MapDbItem>fromJson(json, MapDbItem.class);
+        MapDbItem item;
+        try {
+            item = mapper.<MapDbItem>fromJson(json, MapDbItem.class);
+        } catch (JsonParseException e) {
+            logger.warn("Couldn't deserialize item '{}': {}", json, e.getMessage());
+            return Optional.empty();
+        }
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
             return Optional.empty();
@@ -177,14 +281,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
-    private void commit() {
-        threadPool.submit(() -> db.commit());
-    }
-
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        if (!opt.isPresent()) {
-            return Stream.empty();
+    private long getConfigValue(@Nullable Map<String, Object> config, String key, long defaultValue) {
+        Object value = config == null ? null : config.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong(((String) value).trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for MapDB configuration '{}', using {}", value, key, defaultValue);
+            }
         }
-        return Stream.of(opt.get());
+        return defaultValue;
     }
 }
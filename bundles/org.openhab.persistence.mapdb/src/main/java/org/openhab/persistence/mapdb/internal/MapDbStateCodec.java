@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.PlayPauseType;
+import org.eclipse.smarthome.core.library.types.PointType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.types.RawType;
+import org.eclipse.smarthome.core.library.types.RewindFastforwardType;
+import org.eclipse.smarthome.core.library.types.StringListType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.core.types.UnDefType;
+
+/**
+ * A compact binary encoding for Eclipse SmartHome {@link State} values. Every state is written as a one byte type tag
+ * followed by a type specific payload. The common library types are encoded without any string parsing, all other
+ * types fall back to their class name and {@link State#toFullString()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class MapDbStateCodec {
+
+    private static final byte TAG_GENERIC = 0;
+    private static final byte TAG_UNDEF = 1;
+    private static final byte TAG_DECIMAL = 2;
+    private static final byte TAG_PERCENT = 3;
+    private static final byte TAG_HSB = 4;
+    private static final byte TAG_ON_OFF = 5;
+    private static final byte TAG_OPEN_CLOSED = 6;
+    private static final byte TAG_UP_DOWN = 7;
+    private static final byte TAG_PLAY_PAUSE = 8;
+    private static final byte TAG_REWIND_FASTFORWARD = 9;
+    private static final byte TAG_STRING = 10;
+    private static final byte TAG_DATE_TIME = 11;
+    private static final byte TAG_QUANTITY = 12;
+    private static final byte TAG_POINT = 13;
+    private static final byte TAG_RAW = 14;
+    private static final byte TAG_STRING_LIST = 15;
+
+    private MapDbStateCodec() {
+        // static utility class
+    }
+
+    /**
+     * Writes the given state to the output.
+     *
+     * @param out the output to write to
+     * @param state the state to encode
+     * @throws IOException if writing to the output fails
+     */
+    public static void encode(DataOutput out, State state) throws IOException {
+        Class<?> type = state.getClass();
+        if (type == DecimalType.class) {
+            out.writeByte(TAG_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class) {
+            out.writeByte(TAG_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == HSBType.class) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TAG_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (type == OnOffType.class) {
+            out.writeByte(TAG_ON_OFF);
+            out.writeByte(((OnOffType) state).ordinal());
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TAG_OPEN_CLOSED);
+            out.writeByte(((OpenClosedType) state).ordinal());
+        } else if (type == UpDownType.class) {
+            out.writeByte(TAG_UP_DOWN);
+            out.writeByte(((UpDownType) state).ordinal());
+        } else if (type == PlayPauseType.class) {
+            out.writeByte(TAG_PLAY_PAUSE);
+            out.writeByte(((PlayPauseType) state).ordinal());
+        } else if (type == RewindFastforwardType.class) {
+            out.writeByte(TAG_REWIND_FASTFORWARD);
+            out.writeByte(((RewindFastforwardType) state).ordinal());
+        } else if (type == UnDefType.class) {
+            out.writeByte(TAG_UNDEF);
+            out.writeByte(((UnDefType) state).ordinal());
+        } else if (type == StringType.class) {
+            out.writeByte(TAG_STRING);
+            writeString(out, state.toFullString());
+        } else if (type == DateTimeType.class) {
+            ZonedDateTime dateTime = ((DateTimeType) state).getZonedDateTime();
+            out.writeByte(TAG_DATE_TIME);
+            out.writeLong(dateTime.toEpochSecond());
+            out.writeInt(dateTime.getNano());
+            writeString(out, dateTime.getZone().getId());
+        } else if (type == QuantityType.class) {
+            out.writeByte(TAG_QUANTITY);
+            writeString(out, state.toFullString());
+        } else if (type == PointType.class) {
+            PointType point = (PointType) state;
+            out.writeByte(TAG_POINT);
+            writeDecimal(out, point.getLatitude().toBigDecimal());
+            writeDecimal(out, point.getLongitude().toBigDecimal());
+            writeDecimal(out, point.getAltitude().toBigDecimal());
+        } else if (type == RawType.class) {
+            RawType raw = (RawType) state;
+            out.writeByte(TAG_RAW);
+            writeString(out, raw.getMimeType());
+            writeBytes(out, raw.getBytes());
+        } else if (type == StringListType.class) {
+            out.writeByte(TAG_STRING_LIST);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TAG_GENERIC);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    /**
+     * Reads a state previously written by {@link #encode(DataOutput, State)}.
+     *
+     * @param in the input to read from
+     * @return the decoded state
+     * @throws IOException if reading fails or the encoded state cannot be restored
+     */
+    public static State decode(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TAG_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TAG_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TAG_ON_OFF:
+                return OnOffType.values()[in.readByte()];
+            case TAG_OPEN_CLOSED:
+                return OpenClosedType.values()[in.readByte()];
+            case TAG_UP_DOWN:
+                return UpDownType.values()[in.readByte()];
+            case TAG_PLAY_PAUSE:
+                return PlayPauseType.values()[in.readByte()];
+            case TAG_REWIND_FASTFORWARD:
+                return RewindFastforwardType.values()[in.readByte()];
+            case TAG_UNDEF:
+                return UnDefType.values()[in.readByte()];
+            case TAG_STRING:
+                return new StringType(readString(in));
+            case TAG_DATE_TIME:
+                Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                return new DateTimeType(ZonedDateTime.ofInstant(instant, ZoneId.of(readString(in))));
+            case TAG_QUANTITY:
+                return new QuantityType<>(readString(in));
+            case TAG_POINT:
+                return new PointType(new DecimalType(readDecimal(in)), new DecimalType(readDecimal(in)),
+                        new DecimalType(readDecimal(in)));
+            case TAG_RAW:
+                String mimeType = readString(in);
+                return new RawType(readBytes(in), mimeType);
+            case TAG_STRING_LIST:
+                return new StringListType(readString(in));
+            case TAG_GENERIC:
+                return readGeneric(readString(in), readString(in));
+            default:
+                throw new IOException("Unknown state type tag " + tag);
+        }
+    }
+
+    private static State readGeneric(String typeName, String value) throws IOException {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> valueType = (Class<? extends State>) Class.forName(typeName);
+            List<Class<? extends State>> types = Collections.singletonList(valueType);
+            State state = TypeParser.parseState(types, value);
+            if (state == null) {
+                throw new IOException("Couldn't parse state '" + value + "' as " + typeName);
+            }
+            return state;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Couldn't deserialize state '" + value + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        out.writeInt(value.scale());
+        writeBytes(out, value.unscaledValue().toByteArray());
+    }
+
+    private static BigDecimal readDecimal(DataInput in) throws IOException {
+        int scale = in.readInt();
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects item updates and writes them to the database in batches. Updates for the same alias are coalesced so
+ * that only the latest state is written, and a single commit is issued per batch. A batch is written either when the
+ * commit interval has elapsed or when the number of pending updates reaches the configured batch size.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbWritePipeline {
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbWritePipeline.class);
+
+    private final Map<String, MapDbItem> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<MapDbItem> writer;
+    private final Runnable committer;
+    private final long commitInterval;
+    private final int maxBatchSize;
+
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final AtomicLong receivedUpdates = new AtomicLong();
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong lastCommitNanos = new AtomicLong();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param scheduler executor used for periodic and size-triggered flushes
+     * @param writer writes a single item to the (uncommitted) database
+     * @param committer commits all writes done since the last commit
+     * @param commitInterval maximum time in milliseconds an update stays pending, 0 writes every update immediately
+     * @param maxBatchSize number of pending updates that triggers a flush before the commit interval elapses
+     */
+    public MapDbWritePipeline(ScheduledExecutorService scheduler, Consumer<MapDbItem> writer, Runnable committer,
+            long commitInterval, int maxBatchSize) {
+        this.scheduler = scheduler;
+        this.writer = writer;
+        this.committer = committer;
+        this.commitInterval = commitInterval;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    public synchronized void start() {
+        if (commitInterval > 0 && flushJob == null) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, commitInterval, commitInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes all pending updates synchronously.
+     */
+    public void stop() {
+        synchronized (this) {
+            ScheduledFuture<?> job = flushJob;
+            if (job != null) {
+                job.cancel(false);
+                flushJob = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Queues an item for writing. A pending update for the same alias is replaced.
+     *
+     * @param item the item to write
+     */
+    public void enqueue(MapDbItem item) {
+        receivedUpdates.incrementAndGet();
+        if (pending.put(item.getName(), item) != null) {
+            coalescedUpdates.incrementAndGet();
+        }
+        if (commitInterval <= 0 || pending.size() >= maxBatchSize) {
+            if (flushRequested.compareAndSet(false, true)) {
+                scheduler.execute(this::flush);
+            }
+        }
+    }
+
+    /**
+     * Writes all pending updates and commits them in one transaction.
+     */
+    public void flush() {
+        flushRequested.set(false);
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            List<MapDbItem> batch = new ArrayList<>(pending.values());
+            for (MapDbItem item : batch) {
+                try {
+                    writer.accept(item);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to write '{}' to MapDB database: {}", item.getName(), e.getMessage());
+                }
+                // keep updates which arrived while writing, they will be written with the next batch
+                pending.remove(item.getName(), item);
+            }
+            try {
+                committer.run();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to commit MapDB database: {}", e.getMessage());
+                return;
+            }
+            long duration = System.nanoTime() - start;
+            commits.incrementAndGet();
+            lastCommitNanos.set(duration);
+            totalCommitNanos.addAndGet(duration);
+            maxCommitNanos.accumulateAndGet(duration, Math::max);
+            logger.trace("Committed {} items to MapDB database in {} ms", batch.size(),
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    /**
+     * @return the number of updates waiting to be written
+     */
+    public int getPendingWrites() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of updates passed to {@link #enqueue(MapDbItem)}
+     */
+    public long getReceivedUpdates() {
+        return receivedUpdates.get();
+    }
+
+    /**
+     * @return the number of updates that replaced a pending update for the same alias and were never written
+     */
+    public long getCoalescedUpdates() {
+        return coalescedUpdates.get();
+    }
+
+    /**
+     * @return the number of commits done
+     */
+    public long getCommits() {
+        return commits.get();
+    }
+
+    /**
+     * @return the duration of the last batch write and commit in milliseconds
+     */
+    public long getLastCommitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastCommitNanos.get());
+    }
+
+    /**
+     * @return the longest duration of a batch write and commit in milliseconds
+     */
+    public long getMaxCommitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxCommitNanos.get());
+    }
+
+    /**
+     * @return the average duration of a batch write and commit in milliseconds
+     */
+    public double getAverageCommitMillis() {
+        long count = commits.get();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(totalCommitNanos.get()) / count / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pending=%d, received=%d, coalesced=%d, commits=%d, lastCommit=%dms, maxCommit=%dms",
+                getPendingWrites(), getReceivedUpdates(), getCoalescedUpdates(), getCommits(), getLastCommitMillis(),
+                getMaxCommitMillis());
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbItemSerializer;
+import org.openhab.persistence.mapdb.internal.MapDbPersistenceService;
+import org.openhab.persistence.mapdb.internal.StateTypeAdapter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the {@link MapDbPersistenceService} with a database in a temporary user data folder.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbPersistenceServiceTest {
+
+    private static final String ITEM_MAP_NAME = "items";
+    private static final String LEGACY_ITEM_MAP_NAME = "itemStore";
+
+    /** a commit interval long enough that no batch is written during a test */
+    private static final Map<String, Object> CONFIG = Collections.singletonMap("commitinterval", 60000);
+
+    @Rule
+    public TemporaryFolder userDataFolder = new TemporaryFolder();
+
+    private String previousUserDataFolder;
+
+    private MapDbPersistenceService service = new MapDbPersistenceService();
+
+    private boolean active;
+
+    @Before
+    public void setUp() {
+        previousUserDataFolder = System.setProperty(ConfigConstants.USERDATA_DIR_PROG_ARGUMENT,
+                userDataFolder.getRoot().getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        deactivate();
+        if (previousUserDataFolder == null) {
+            System.clearProperty(ConfigConstants.USERDATA_DIR_PROG_ARGUMENT);
+        } else {
+            System.setProperty(ConfigConstants.USERDATA_DIR_PROG_ARGUMENT, previousUserDataFolder);
+        }
+    }
+
+    @Test
+    public void queryShouldBeServedFromTheCache() {
+        activate();
+        service.store(createNumberItem("number", 1));
+
+        List<HistoricItem> first = query("number");
+        List<HistoricItem> second = query("number");
+
+        assertThat(first.size(), is(1));
+        assertThat(second.get(0), is(sameInstance(first.get(0))));
+        assertThat(query("unknown").isEmpty(), is(true));
+    }
+
+    @Test
+    public void writeShouldBeVisibleBeforeTheCommit() {
+        activate();
+        service.store(createNumberItem("number", 1));
+        service.store(createNumberItem("number", 2));
+
+        assertThat(service.getWritePipeline().getCommits(), is(0L));
+        assertThat(service.getWritePipeline().getPendingWrites(), is(1));
+        assertThat(query("number").get(0).getState(), is(equalTo(new DecimalType(2))));
+        assertThat(service.getItemInfo().size(), is(1));
+    }
+
+    @Test
+    public void itemsShouldBeLoadedOnActivate() {
+        activate();
+        service.store(createNumberItem("number", 1));
+        service.store(createNumberItem("other", 2));
+        deactivate();
+        assertThat(service.getItemInfo().isEmpty(), is(true));
+
+        service = new MapDbPersistenceService();
+        activate();
+
+        assertThat(service.getItemInfo().size(), is(2));
+        assertThat(query("number").get(0).getState(), is(equalTo(new DecimalType(1))));
+        assertThat(query("other").get(0).getState(), is(equalTo(new DecimalType(2))));
+    }
+
+    @Test
+    public void corruptItemsShouldBeSkippedAndRemovedOnActivate() throws IOException {
+        DB db = openDatabase();
+        Map<String, byte[]> items = db.createTreeMap(ITEM_MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY)
+                .makeOrGet();
+        items.put("valid", MapDbItemSerializer.serialize(createItem("valid", new DecimalType(42))));
+        // announces a name of 7 bytes, but ends after the first one
+        items.put("corrupt", new byte[] { 1, 0, 7, 'c' });
+        db.commit();
+        db.close();
+
+        activate();
+
+        assertThat(query("valid").size(), is(1));
+        assertThat(query("valid").get(0).getState(), is(equalTo(new DecimalType(42))));
+        assertThat(query("corrupt").isEmpty(), is(true));
+        assertThat(service.getItemInfo().size(), is(1));
+
+        deactivate();
+
+        db = openDatabase();
+        items = db.getTreeMap(ITEM_MAP_NAME);
+        assertThat(items.containsKey("valid"), is(true));
+        assertThat(items.containsKey("corrupt"), is(false));
+        db.close();
+    }
+
+    @Test
+    public void legacyItemsShouldBeMigratedOnActivate() throws IOException {
+        State decimal = new DecimalType("12.5");
+        State quantity = new QuantityType<>("21.5 °C");
+        State dateTime = new DateTimeType("2019-05-01T12:30:00.000+0200");
+        Gson gson = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+
+        DB db = openDatabase();
+        Map<String, String> legacyItems = db.createTreeMap(LEGACY_ITEM_MAP_NAME).makeOrGet();
+        legacyItems.put("decimal", gson.toJson(createItem("decimal", decimal)));
+        legacyItems.put("switch", gson.toJson(createItem("switch", OnOffType.ON)));
+        legacyItems.put("quantity", gson.toJson(createItem("quantity", quantity)));
+        legacyItems.put("dateTime", gson.toJson(createItem("dateTime", dateTime)));
+        legacyItems.put("malformed", "{\"name\":\"malformed\",\"state\":");
+        legacyItems.put("existing", gson.toJson(createItem("existing", new DecimalType(2))));
+        Map<String, byte[]> items = db.createTreeMap(ITEM_MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY)
+                .makeOrGet();
+        items.put("existing", MapDbItemSerializer.serialize(createItem("existing", new DecimalType(1))));
+        db.commit();
+        db.close();
+
+        activate();
+
+        assertThat(service.getItemInfo().size(), is(5));
+        assertThat(query("decimal").get(0).getState(), is(equalTo(decimal)));
+        assertThat(query("switch").get(0).getState(), is(equalTo(OnOffType.ON)));
+        assertThat(query("quantity").get(0).getState(), is(equalTo(quantity)));
+        assertThat(query("dateTime").get(0).getState(), is(equalTo(dateTime)));
+        assertThat(query("malformed").isEmpty(), is(true));
+        assertThat(query("existing").get(0).getState(), is(equalTo(new DecimalType(1))));
+
+        deactivate();
+
+        db = openDatabase();
+        assertThat(db.exists(LEGACY_ITEM_MAP_NAME), is(false));
+        assertThat(db.<String, byte[]> getTreeMap(ITEM_MAP_NAME).size(), is(5));
+        db.close();
+    }
+
+    private void activate() {
+        service.activate(CONFIG);
+        active = true;
+    }
+
+    private void deactivate() {
+        if (active) {
+            service.deactivate();
+            active = false;
+        }
+    }
+
+    private DB openDatabase() {
+        File folder = new File(userDataFolder.getRoot(), "persistence" + File.separator + "mapdb");
+        folder.mkdirs();
+        return DBMaker.newFileDB(new File(folder, "storage.mapdb")).make();
+    }
+
+    private List<HistoricItem> query(String itemName) {
+        List<HistoricItem> result = new ArrayList<>();
+        service.query(new FilterCriteria().setItemName(itemName)).forEach(result::add);
+        return result;
+    }
+
+    private static NumberItem createNumberItem(String name, int value) {
+        NumberItem item = new NumberItem(name);
+        item.setState(new DecimalType(value));
+        return item;
+    }
+
+    private static MapDbItem createItem(String name, State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(state);
+        item.setTimestamp(new Date());
+        return item;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.State;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbItemSerializer;
+import org.openhab.persistence.mapdb.internal.StateTypeAdapter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Compares the time needed to restore all items from a MapDB database stored as Gson JSON strings with the binary
+ * format of {@link MapDbItemSerializer}. This is not run as part of the unit tests, start it with
+ * <code>java ... MapDbRestoreBenchmark [items] [rounds]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbRestoreBenchmark {
+
+    private static final Gson MAPPER = new GsonBuilder()
+            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
+            .create();
+
+    public static void main(String[] args) throws IOException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        DB db = DBMaker.newMemoryDB().transactionDisable().cacheDisable().make();
+        Map<String, String> jsonMap = db.createTreeMap("json").makeOrGet();
+        Map<String, byte[]> binaryMap = db.createTreeMap("binary").valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        for (int i = 0; i < items; i++) {
+            MapDbItem item = createItem(i);
+            jsonMap.put(item.getName(), MAPPER.toJson(item));
+            binaryMap.put(item.getName(), MapDbItemSerializer.serialize(item));
+        }
+
+        for (int round = 0; round < rounds; round++) {
+            long jsonNanos = restoreJson(jsonMap);
+            long binaryNanos = restoreBinary(binaryMap);
+            System.out.printf("round %2d: %d items, json %6d ms, binary %6d ms%n", round, items,
+                    TimeUnit.NANOSECONDS.toMillis(jsonNanos), TimeUnit.NANOSECONDS.toMillis(binaryNanos));
+        }
+        db.close();
+    }
+
+    private static long restoreJson(Map<String, String> map) {
+        long start = System.nanoTime();
+        int valid = 0;
+        for (String json : map.values()) {
+            if (MAPPER.fromJson(json, MapDbItem.class).isValid()) {
+                valid++;
+            }
+        }
+        long duration = System.nanoTime() - start;
+        assertAllValid(map.size(), valid);
+        return duration;
+    }
+
+    private static long restoreBinary(Map<String, byte[]> map) throws IOException {
+        long start = System.nanoTime();
+        int valid = 0;
+        for (byte[] data : map.values()) {
+            if (MapDbItemSerializer.deserialize(data).isValid()) {
+                valid++;
+            }
+        }
+        long duration = System.nanoTime() - start;
+        assertAllValid(map.size(), valid);
+        return duration;
+    }
+
+    private static void assertAllValid(int expected, int valid) {
+        if (expected != valid) {
+            throw new IllegalStateException("Restored " + valid + " of " + expected + " items");
+        }
+    }
+
+    private static MapDbItem createItem(int index) {
+        State state;
+        switch (index % 5) {
+            case 0:
+                state = new DecimalType(index * 0.25);
+                break;
+            case 1:
+                state = index % 2 == 0 ? OnOffType.ON : OnOffType.OFF;
+                break;
+            case 2:
+                state = new HSBType(new DecimalType(index % 360), HSBType.GREEN.getSaturation(),
+                        HSBType.GREEN.getBrightness());
+                break;
+            case 3:
+                state = new QuantityType<>(index % 40 + ".5 °C");
+                break;
+            default:
+                state = new StringType("value " + index);
+                break;
+        }
+        MapDbItem item = new MapDbItem();
+        item.setName("item" + index);
+        item.setState(state);
+        item.setTimestamp(new Date());
+        return item;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.PointType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.types.RawType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Test;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbItemSerializer;
+import org.openhab.persistence.mapdb.internal.MapDbStateCodec;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbStateCodecTest {
+
+    @Test
+    public void encodeDecodeRoundtripShouldRecreateTheEncodedState() throws IOException {
+        assertRoundtrip(OnOffType.ON);
+        assertRoundtrip(OpenClosedType.CLOSED);
+        assertRoundtrip(UpDownType.DOWN);
+        assertRoundtrip(new DecimalType("-12.345"));
+        assertRoundtrip(new DecimalType("0"));
+        assertRoundtrip(PercentType.HUNDRED);
+        assertRoundtrip(HSBType.GREEN);
+        assertRoundtrip(StringType.valueOf("test äöü"));
+        assertRoundtrip(new DateTimeType(ZonedDateTime.of(2019, 1, 2, 3, 4, 5, 6000000, ZoneId.of("Europe/Berlin"))));
+        assertRoundtrip(new QuantityType<>("21.5 °C"));
+        assertRoundtrip(new PointType("52.5200066,13.4049540,34"));
+        assertRoundtrip(new RawType(new byte[] { 1, 2, 3 }, "application/octet-stream"));
+    }
+
+    @Test
+    public void itemSerializerRoundtripShouldRecreateTheItem() throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(new DecimalType(42));
+        item.setTimestamp(new Date(1234567890L));
+
+        MapDbItem result = MapDbItemSerializer.deserialize(MapDbItemSerializer.serialize(item));
+
+        assertThat(result.getName(), is(equalTo("item")));
+        assertThat(result.getState(), is(equalTo(new DecimalType(42))));
+        assertThat(result.getTimestamp(), is(equalTo(new Date(1234567890L))));
+    }
+
+    @Test(expected = IOException.class)
+    public void itemSerializerShouldRejectAnUnknownFormatVersion() throws IOException {
+        MapDbItemSerializer.deserialize(new byte[] { 99, 0, 0 });
+    }
+
+    @Test(expected = IOException.class)
+    public void itemSerializerShouldRejectTruncatedData() throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(StringType.valueOf("value"));
+        byte[] data = MapDbItemSerializer.serialize(item);
+
+        MapDbItemSerializer.deserialize(Arrays.copyOf(data, data.length - 2));
+    }
+
+    private void assertRoundtrip(State state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MapDbStateCodec.encode(new DataOutputStream(bytes), state);
+        State result = MapDbStateCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertThat(result, is(equalTo(state)));
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbWritePipeline;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbWritePipelineTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, State> written = new HashMap<>();
+    private final AtomicInteger commits = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void updatesForTheSameAliasShouldBeCoalesced() {
+        MapDbWritePipeline pipeline = createPipeline(60000, 100);
+
+        pipeline.enqueue(item("a", 1));
+        pipeline.enqueue(item("a", 2));
+        pipeline.enqueue(item("b", 3));
+
+        assertThat(pipeline.getPendingWrites(), is(2));
+        assertThat(pipeline.getCoalescedUpdates(), is(1L));
+        assertThat(written.isEmpty(), is(true));
+
+        pipeline.flush();
+
+        assertThat(pipeline.getPendingWrites(), is(0));
+        assertThat(written.get("a"), is(equalTo(new DecimalType(2))));
+        assertThat(written.get("b"), is(equalTo(new DecimalType(3))));
+        assertThat(commits.get(), is(1));
+        assertThat(pipeline.getCommits(), is(1L));
+    }
+
+    @Test
+    public void stopShouldWritePendingUpdates() {
+        MapDbWritePipeline pipeline = createPipeline(60000, 100);
+        pipeline.start();
+
+        pipeline.enqueue(item("a", 1));
+        pipeline.stop();
+
+        assertThat(written.get("a"), is(equalTo(new DecimalType(1))));
+        assertThat(commits.get(), is(1));
+    }
+
+    @Test
+    public void flushWithoutPendingUpdatesShouldNotCommit() {
+        MapDbWritePipeline pipeline = createPipeline(60000, 100);
+
+        pipeline.flush();
+
+        assertThat(commits.get(), is(0));
+    }
+
+    private MapDbWritePipeline createPipeline(long commitInterval, int batchSize) {
+        return new MapDbWritePipeline(scheduler, item -> {
+            synchronized (written) {
+                written.put(item.getName(), item.getState());
+            }
+        }, commits::incrementAndGet, commitInterval, batchSize);
+    }
+
+    private static MapDbItem item(String name, int value) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(new DecimalType(value));
+        return item;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.transform.TransformationException;
+
+/**
+ * A bounded pool of {@link CompiledScript}s of one JavaScript file. Every pooled script is compiled on its own
+ * script engine, so that transformations with the same script can run in parallel. Scripts are compiled lazily up to
+ * the maximum pool size, further callers wait until a script is returned to the pool.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class CompiledScriptPool {
+
+    /**
+     * Compiles a new instance of the script.
+     */
+    @FunctionalInterface
+    public interface ScriptCompiler {
+        CompiledScript compile() throws ScriptException;
+    }
+
+    private static final long WAIT_RETRY_MILLIS = 100;
+
+    private final String filename;
+    private final ScriptCompiler compiler;
+    private final int maxSize;
+
+    private final BlockingQueue<CompiledScript> idleScripts = new LinkedBlockingQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final ExecutionTimeHistogram executionTimes = new ExecutionTimeHistogram();
+
+    public CompiledScriptPool(String filename, ScriptCompiler compiler, int maxSize) {
+        this.filename = filename;
+        this.compiler = compiler;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Takes a script from the pool. The script has to be returned by {@link #release(CompiledScript)} after use.
+     *
+     * @return a script for exclusive use by the caller
+     * @throws TransformationException if the script cannot be compiled or the caller is interrupted while waiting
+     */
+    public CompiledScript borrow() throws TransformationException {
+        while (true) {
+            CompiledScript script = idleScripts.poll();
+            if (script != null) {
+                return script;
+            }
+            if (size.incrementAndGet() <= maxSize) {
+                try {
+                    return compiler.compile();
+                } catch (ScriptException | RuntimeException e) {
+                    size.decrementAndGet();
+                    throw new TransformationException(
+                            "An error occurred while loading JavaScript. " + e.getMessage(), e);
+                }
+            }
+            size.decrementAndGet();
+            try {
+                // wait for a script to be returned, retry regularly in case a concurrent compilation failed
+                script = idleScripts.poll(WAIT_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransformationException("Interrupted while waiting for JavaScript " + filename, e);
+            }
+            if (script != null) {
+                return script;
+            }
+        }
+    }
+
+    /**
+     * Returns a script taken by {@link #borrow()} to the pool.
+     *
+     * @param script the script to return
+     */
+    public void release(CompiledScript script) {
+        idleScripts.offer(script);
+    }
+
+    /**
+     * Validates the script by compiling the first pooled instance.
+     *
+     * @throws TransformationException if the script cannot be compiled
+     */
+    public void prepare() throws TransformationException {
+        release(borrow());
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * @return the number of compiled script instances
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the execution times of this script
+     */
+    public ExecutionTimeHistogram getExecutionTimes() {
+        return executionTimes;
+    }
+}
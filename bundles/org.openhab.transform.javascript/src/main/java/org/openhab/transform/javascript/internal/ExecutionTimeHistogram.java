@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A lock-free histogram of script execution times with fixed buckets.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ExecutionTimeHistogram {
+
+    /** upper bounds of the buckets in milliseconds, the last bucket holds all longer executions */
+    private static final long[] BUCKET_LIMITS_MILLIS = { 1, 5, 10, 50, 100, 500, 1000 };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LIMITS_MILLIS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records one execution.
+     *
+     * @param nanos the execution time in nanoseconds
+     */
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BUCKET_LIMITS_MILLIS.length && millis >= BUCKET_LIMITS_MILLIS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getAverageMillis() {
+        long executions = count.get();
+        return executions == 0 ? 0 : totalNanos.get() / 1e6 / executions;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * @return the number of executions per bucket, see {@link #toString()} for the bucket limits
+     */
+    public long[] getBuckets() {
+        long[] result = new long[buckets.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("count=%d, avg=%.2fms, max=%.2fms, [", getCount(), getAverageMillis(),
+                getMaxMillis()));
+        for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+            builder.append("<").append(BUCKET_LIMITS_MILLIS[i]).append("ms: ").append(buckets.get(i)).append(", ");
+        }
+        builder.append(">=").append(BUCKET_LIMITS_MILLIS[BUCKET_LIMITS_MILLIS.length - 1]).append("ms: ")
+                .append(buckets.get(BUCKET_LIMITS_MILLIS.length)).append("]");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link JavaScriptConsoleCommandExtension} prints the execution times of the cached JavaScript transformations.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class JavaScriptConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_STATS = "stats";
+
+    private @NonNullByDefault({}) JavaScriptEngineManager manager;
+
+    public JavaScriptConsoleCommandExtension() {
+        super("jstransform", "Diagnostics of the JavaScript transformation service.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && SUBCMD_STATS.equals(args[0])) {
+            printStatistics(console);
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void printStatistics(Console console) {
+        List<CompiledScriptPool> pools = new ArrayList<>(manager.getScriptPools());
+        if (pools.isEmpty()) {
+            console.println("No JavaScript transformation has been used yet.");
+            return;
+        }
+        pools.sort(Comparator.comparing(CompiledScriptPool::getFilename));
+        for (CompiledScriptPool pool : pools) {
+            console.println(String.format("%s (%d/%d engines): %s", pool.getFilename(), pool.getSize(),
+                    pool.getMaxSize(), pool.getExecutionTimes()));
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(
+                buildCommandUsage(SUBCMD_STATS, "lists the execution times of every cached script"));
+    }
+
+    @Reference
+    public void setJavaScriptEngineManager(JavaScriptEngineManager manager) {
+        this.manager = manager;
+    }
+
+    public void unsetJavaScriptEngineManager(JavaScriptEngineManager manager) {
+        this.manager = null;
+    }
+}
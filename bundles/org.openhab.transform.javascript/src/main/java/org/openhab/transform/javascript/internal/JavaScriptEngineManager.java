@@ -13,10 +13,12 @@
 package org.openhab.transform.javascript.internal;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -24,57 +26,95 @@ import javax.script.Compilable;
 import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Simple cache for compiled JavaScript files.
+ * Simple cache for compiled JavaScript files. Every script is held in a {@link CompiledScriptPool}, so that
+ * transformations using the same script can run in parallel on separate script engines.
  *
  * @author Thomas Kordelle - pre compiled scripts
  *
  */
 @NonNullByDefault
-@Component(service = JavaScriptEngineManager.class)
+@Component(service = JavaScriptEngineManager.class, configurationPid = "org.openhab.transform.javascript")
 public class JavaScriptEngineManager {
 
+    private static final String CONFIG_POOL_SIZE = "poolSize";
+
+    /** by default allow as many parallel executions of one script as there are processors, but at most 4 */
+    private static final int DEFAULT_POOL_SIZE = Math.min(4, Runtime.getRuntime().availableProcessors());
+
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    private final Map<String, CompiledScriptPool> scriptPoolMap = new ConcurrentHashMap<>();
+
+    private int poolSize = DEFAULT_POOL_SIZE;
+
+    @Activate
+    @Modified
+    protected void activate(@Nullable Map<String, Object> config) {
+        int newPoolSize = DEFAULT_POOL_SIZE;
+        Object value = config == null ? null : config.get(CONFIG_POOL_SIZE);
+        if (value != null) {
+            try {
+                newPoolSize = Math.max(1, Integer.parseInt(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid JavaScript pool size '{}', using {}", value, DEFAULT_POOL_SIZE);
+            }
+        }
+        if (newPoolSize != poolSize) {
+            poolSize = newPoolSize;
+            scriptPoolMap.clear();
+        }
+        logger.debug("JavaScript transformation uses up to {} engines per script", poolSize);
+    }
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
-     * storage and put a pre compiled version into the cache.
+     * Get the pool of pre compiled scripts {@link CompiledScript} of a file from cache. If it is not in the cache,
+     * then load it from storage, compile it and put the pool into the cache.
      *
      * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
-     * @throws TransformationException if compile of JavaScript failed
+     * @return the pool of pre compiled scripts
+     * @throws TransformationException if loading or compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
-                }
-            }
+    protected CompiledScriptPool getScriptPool(final String filename) throws TransformationException {
+        CompiledScriptPool pool = scriptPoolMap.get(filename);
+        if (pool != null) {
+            logger.debug("Loading JavaScript {} from cache.", filename);
+            return pool;
         }
+
+        final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+        logger.debug("Loading script {} from storage ", path);
+        final String script;
+        try {
+            script = new String(Files.readAllBytes(Paths.get(path)), Charset.defaultCharset());
+        } catch (IOException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+
+        pool = new CompiledScriptPool(filename, () -> {
+            final ScriptEngine engine = manager.getEngineByName("javascript");
+            final CompiledScript cScript = ((Compilable) engine).compile(script);
+            logger.debug("Compiled JavaScript {} on engine {}.", filename, engine);
+            return cScript;
+        }, poolSize);
+        pool.prepare();
+
+        CompiledScriptPool existing = scriptPoolMap.putIfAbsent(filename, pool);
+        if (existing != null) {
+            return existing;
+        }
+        logger.debug("Putting compiled JavaScript {} to cache.", filename);
+        return pool;
     }
 
     /**
@@ -84,6 +124,15 @@ public class JavaScriptEngineManager {
      */
     protected void removeFromCache(String fileName) {
         logger.debug("Removing JavaScript {} from cache.", fileName);
-        compiledScriptMap.remove(fileName);
+        scriptPoolMap.remove(fileName);
+    }
+
+    /**
+     * Returns the pools of all cached scripts, used by the console to list their execution times.
+     *
+     * @return the cached script pools
+     */
+    public Collection<CompiledScriptPool> getScriptPools() {
+        return Collections.unmodifiableCollection(scriptPoolMap.values());
     }
 }
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the {@link CompiledScriptPool} with scripts which are not bound to a script engine.
+ *
+ * @author agent - Initial contribution
+ */
+public class CompiledScriptPoolTest {
+
+    private final AtomicInteger compilations = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void releasedScriptsShouldBeReused() throws TransformationException {
+        CompiledScriptPool pool = createPool(2);
+
+        CompiledScript first = pool.borrow();
+        pool.release(first);
+        CompiledScript second = pool.borrow();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(compilations.get(), is(1));
+        assertThat(pool.getSize(), is(1));
+    }
+
+    @Test
+    public void poolShouldNotCompileMoreScriptsThanItsMaximumSize() throws Exception {
+        CompiledScriptPool pool = createPool(2);
+        CompiledScript first = pool.borrow();
+        CompiledScript second = pool.borrow();
+        assertThat(second, is(not(sameInstance(first))));
+
+        Future<CompiledScript> third = executor.submit(pool::borrow);
+        try {
+            third.get(300, TimeUnit.MILLISECONDS);
+            fail("A third script was borrowed from a pool of two");
+        } catch (TimeoutException e) {
+            // expected, the caller waits for a script to be returned
+        }
+
+        pool.release(second);
+
+        assertThat(third.get(5, TimeUnit.SECONDS), is(sameInstance(second)));
+        assertThat(compilations.get(), is(2));
+        assertThat(pool.getSize(), is(2));
+    }
+
+    @Test
+    public void scriptsShouldNotBeSharedUnderContention() throws Exception {
+        CompiledScriptPool pool = createPool(3);
+        Set<CompiledScript> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger sharedScripts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int k = 0; k < 1000; k++) {
+                    CompiledScript script = pool.borrow();
+                    if (!inUse.add(script)) {
+                        sharedScripts.incrementAndGet();
+                    }
+                    Thread.yield();
+                    inUse.remove(script);
+                    pool.release(script);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(sharedScripts.get(), is(0));
+        assertTrue(compilations.get() <= 3);
+        assertThat(pool.getSize(), is(compilations.get()));
+    }
+
+    @Test
+    public void failedCompilationShouldNotCountAgainstTheMaximumSize() throws TransformationException {
+        AtomicInteger failures = new AtomicInteger(1);
+        CompiledScriptPool pool = new CompiledScriptPool("test.js", () -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new ScriptException("syntax error");
+            }
+            return new TestScript();
+        }, 1);
+
+        try {
+            pool.borrow();
+            fail("The script was compiled");
+        } catch (TransformationException e) {
+            assertThat(pool.getSize(), is(0));
+        }
+
+        pool.borrow();
+        assertThat(pool.getSize(), is(1));
+    }
+
+    private CompiledScriptPool createPool(int maxSize) {
+        return new CompiledScriptPool("test.js", () -> {
+            compilations.incrementAndGet();
+            return new TestScript();
+        }, maxSize);
+    }
+
+    private static class TestScript extends CompiledScript {
+        @Override
+        public Object eval(ScriptContext context) throws ScriptException {
+            return "";
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
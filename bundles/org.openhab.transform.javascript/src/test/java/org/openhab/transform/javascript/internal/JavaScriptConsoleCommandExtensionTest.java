@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link JavaScriptConsoleCommandExtension}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JavaScriptConsoleCommandExtensionTest {
+
+    private final JavaScriptEngineManager manager = mock(JavaScriptEngineManager.class);
+    private final Console console = mock(Console.class);
+    private final List<String> lines = new ArrayList<>();
+    private final JavaScriptConsoleCommandExtension extension = new JavaScriptConsoleCommandExtension();
+
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> lines.add(invocation.getArgument(0))).when(console).println(anyString());
+        extension.setJavaScriptEngineManager(manager);
+    }
+
+    @Test
+    public void statsShouldListTheExecutionTimesOfEveryScript() {
+        CompiledScriptPool second = createPool("second.js");
+        CompiledScriptPool first = createPool("first.js");
+        first.getExecutionTimes().record(2_000_000);
+        when(manager.getScriptPools()).thenReturn(Arrays.asList(second, first));
+
+        extension.execute(new String[] { "stats" }, console);
+
+        assertThat(lines.size(), is(2));
+        assertThat(lines.get(0), startsWith("first.js (0/2 engines): " + first.getExecutionTimes()));
+        assertThat(lines.get(0), containsString("count=1"));
+        assertThat(lines.get(1), startsWith("second.js (0/2 engines): count=0"));
+    }
+
+    @Test
+    public void unknownSubCommandShouldPrintTheUsage() {
+        extension.execute(new String[] { "unknown" }, console);
+
+        verify(manager, never()).getScriptPools();
+        verify(console).printUsage(anyString());
+    }
+
+    private static CompiledScriptPool createPool(String filename) {
+        return new CompiledScriptPool(filename, () -> new CompiledScript() {
+            @Override
+            public Object eval(ScriptContext context) {
+                return "";
+            }
+
+            @Override
+            public ScriptEngine getEngine() {
+                throw new UnsupportedOperationException();
+            }
+        }, 2);
+    }
+}
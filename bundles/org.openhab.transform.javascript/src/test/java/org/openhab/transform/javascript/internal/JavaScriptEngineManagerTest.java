@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the caching of compiled scripts by the {@link JavaScriptEngineManager}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JavaScriptEngineManagerTest {
+
+    private static final String SCRIPT_NAME = "javascript-engine-manager-test.js";
+
+    private final Path scriptFile = Paths.get(TransformationScriptWatcher.TRANSFORM_FOLDER, SCRIPT_NAME);
+
+    private JavaScriptEngineManager manager;
+    private JavaScriptTransformationService service;
+
+    @Before
+    public void setUp() throws IOException {
+        Files.createDirectories(scriptFile.getParent());
+        manager = new JavaScriptEngineManager();
+        manager.activate(null);
+        service = new JavaScriptTransformationService();
+        service.setJavaScriptEngineManager(manager);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(scriptFile);
+    }
+
+    @Test
+    public void scriptShouldBeRecompiledWhenTheFileChanges() throws IOException, TransformationException {
+        writeScript("'first ' + input");
+        assertThat(service.transform(SCRIPT_NAME, "a"), is("first a"));
+
+        writeScript("'second ' + input");
+        // the compiled script is used until the watcher reports the change
+        assertThat(service.transform(SCRIPT_NAME, "a"), is("first a"));
+
+        manager.removeFromCache(SCRIPT_NAME);
+        assertThat(service.transform(SCRIPT_NAME, "a"), is("second a"));
+    }
+
+    @Test
+    public void poolShouldBeBoundedByTheConfiguredSize() throws IOException, TransformationException {
+        writeScript("input");
+        manager.activate(Collections.singletonMap("poolSize", "2"));
+        CompiledScriptPool pool = manager.getScriptPool(SCRIPT_NAME);
+
+        assertThat(pool.getMaxSize(), is(2));
+        assertThat(pool.getSize(), is(1));
+        assertThat(manager.getScriptPool(SCRIPT_NAME), is(sameInstance(pool)));
+
+        manager.activate(Collections.singletonMap("poolSize", "3"));
+        CompiledScriptPool resizedPool = manager.getScriptPool(SCRIPT_NAME);
+
+        assertThat(resizedPool, is(not(sameInstance(pool))));
+        assertThat(resizedPool.getMaxSize(), is(3));
+    }
+
+    private void writeScript(String script) throws IOException {
+        Files.write(scriptFile, script.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -12,7 +12,9 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -23,6 +25,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -40,8 +43,24 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /** the maximum number of compiled JsonPath expressions kept in the cache */
+    private static final int PATH_CACHE_SIZE = 200;
+
+    /**
+     * the maximum number of parsed documents kept in the cache. Several channels usually apply their expressions to
+     * the same payload right after each other, so only a few recent documents need to be kept.
+     */
+    private static final int DOCUMENT_CACHE_SIZE = 8;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+
+    private final Map<String, JsonPath> compiledPaths = createCache(PATH_CACHE_SIZE);
+
+    /* parsed documents are only read by JsonPath, so they can be shared by all threads */
+    private final Map<String, Object> parsedDocuments = createCache(DOCUMENT_CACHE_SIZE);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -59,7 +78,8 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath jsonPath = getCompiledPath(jsonPathExpression);
+            Object transformationResult = jsonPath.read(getParsedDocument(source), configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -75,6 +95,46 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getCompiledPath(String jsonPathExpression) {
+        synchronized (compiledPaths) {
+            JsonPath jsonPath = compiledPaths.get(jsonPathExpression);
+            if (jsonPath == null) {
+                jsonPath = JsonPath.compile(jsonPathExpression);
+                compiledPaths.put(jsonPathExpression, jsonPath);
+            }
+            return jsonPath;
+        }
+    }
+
+    /**
+     * Returns the parsed form of the given JSON source. The same payload is usually transformed by several
+     * expressions (e.g. one per channel), so it is only parsed once.
+     */
+    private Object getParsedDocument(String source) {
+        synchronized (parsedDocuments) {
+            Object document = parsedDocuments.get(source);
+            if (document != null) {
+                return document;
+            }
+        }
+        Object document = configuration.jsonProvider().parse(source);
+        synchronized (parsedDocuments) {
+            parsedDocuments.put(source, document);
+        }
+        return document;
+    }
+
+    private static <V> Map<String, V> createCache(final int maxSize) {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Measures the transformation of one payload by N different expressions, as done by things with many channels on
+ * one JSON topic, with the caching {@link JSonPathTransformationService} and with plain {@link JsonPath#read}. This
+ * is not run as part of the unit tests, start it with <code>java ... JSonPathTransformationBenchmark [messages]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class JSonPathTransformationBenchmark {
+
+    private static final int PATHS = 20;
+
+    public static void main(String[] args) throws TransformationException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        JSonPathTransformationService service = new JSonPathTransformationService();
+
+        String[] paths = new String[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            paths[i] = "$.sensor" + i + ".value";
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int sink = 0;
+            for (int m = 0; m < messages; m++) {
+                String payload = createPayload(m);
+                for (String path : paths) {
+                    sink += service.transform(path, payload).length();
+                }
+            }
+            long cached = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int m = 0; m < messages; m++) {
+                String payload = createPayload(m);
+                for (String path : paths) {
+                    sink += JsonPath.read(payload, path).toString().length();
+                }
+            }
+            long uncached = System.nanoTime() - start;
+
+            System.out.printf(
+                    "round %d: 1 payload x %d paths, cached %6d ms (%.0f msg/s), plain %6d ms (%.0f msg/s) [%d]%n",
+                    round, PATHS, TimeUnit.NANOSECONDS.toMillis(cached), messages * 1e9 / cached,
+                    TimeUnit.NANOSECONDS.toMillis(uncached), messages * 1e9 / uncached, sink);
+        }
+    }
+
+    private static String createPayload(int message) {
+        StringBuilder payload = new StringBuilder("{");
+        for (int i = 0; i < PATHS; i++) {
+            if (i > 0) {
+                payload.append(',');
+            }
+            payload.append("\"sensor").append(i).append("\":{\"value\":").append(message + i * 0.5)
+                    .append(",\"unit\":\"W\",\"time\":\"2019-01-01T00:00:00Z\"}");
+        }
+        return payload.append('}').toString();
+    }
+}
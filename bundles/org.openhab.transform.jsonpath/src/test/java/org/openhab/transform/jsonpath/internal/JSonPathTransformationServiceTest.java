@@ -99,4 +99,22 @@ public class JSonPathTransformationServiceTest {
         assertEquals("NULL", transformedResponse);
     }
 
+    @Test
+    public void testMultiplePathsOnSamePayload() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("1", processor.transform("$[0].id", jsonArray));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testInvalidJsonIsNotCached() throws TransformationException {
+        try {
+            processor.transform("$", "{id:");
+        } catch (TransformationException e) {
+            // ignore, the second call has to fail as well
+        }
+        processor.transform("$", "{id:");
+    }
+
 }
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+
+/**
+ * Compares the throughput of the {@link RegExTransformationService} using its compiled pattern cache with compiling
+ * the expression on every call. This is not run as part of the unit tests, start it with
+ * <code>java ... RegExTransformationBenchmark [iterations]</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class RegExTransformationBenchmark {
+
+    private static final String[] EXPRESSIONS = { ".*?\"temperature\":([0-9.]+).*", ".*?\"humidity\":([0-9.]+).*",
+            "s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "s/^OP:(.*?),ARG:(.*)$/$1($2)/" };
+
+    private static final String[] SOURCES = { "{\"temperature\":21.5,\"humidity\":45}",
+            "{\"temperature\":21.5,\"humidity\":45}", "X12,Y54", "OP:SetMode,ARG:42" };
+
+    public static void main(String[] args) throws TransformationException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        RegExTransformationService service = new RegExTransformationService();
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int sink = 0;
+            for (int i = 0; i < iterations; i++) {
+                int index = i % EXPRESSIONS.length;
+                String result = service.transform(EXPRESSIONS[index], SOURCES[index]);
+                sink += result == null ? 0 : result.length();
+            }
+            long cached = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                int index = i % EXPRESSIONS.length;
+                sink += Pattern.compile("^" + EXPRESSIONS[index] + "$", Pattern.DOTALL).matcher(SOURCES[index])
+                        .groupCount();
+            }
+            long uncached = System.nanoTime() - start;
+
+            System.out.printf("round %d: cached %6d ms (%.0f ops/s), compile per call %6d ms (%.0f ops/s) [%d]%n",
+                    round, TimeUnit.NANOSECONDS.toMillis(cached), iterations * 1e9 / cached,
+                    TimeUnit.NANOSECONDS.toMillis(uncached), iterations * 1e9 / uncached, sink);
+        }
+        System.out.printf("cache hits: %d, misses: %d%n", service.getPatternCacheHits(),
+                service.getPatternCacheMisses());
+    }
+}
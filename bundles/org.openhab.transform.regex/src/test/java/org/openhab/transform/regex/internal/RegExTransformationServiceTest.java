@@ -79,4 +79,32 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_compiledPatternIsCached() throws TransformationException {
+        // method under test
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+        String transformedResponse = processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "A1,B2");
+
+        // Asserts
+        assertEquals("varA=1 varB=2 ", transformedResponse);
+        assertEquals(1, processor.getPatternCacheMisses());
+        assertEquals(1, processor.getPatternCacheHits());
+    }
+
+    @Test
+    public void testPatternCache_evictsLeastRecentlyUsed() {
+        RegExPatternCache cache = new RegExPatternCache(2);
+        cache.get("a(.*)");
+        cache.get("b(.*)");
+        cache.get("a(.*)");
+        cache.get("c(.*)");
+
+        // Asserts
+        assertEquals(2, cache.size());
+        cache.get("a(.*)");
+        assertEquals(2, cache.getHits());
+        cache.get("b(.*)");
+        assertEquals(4, cache.getMisses());
+    }
 }
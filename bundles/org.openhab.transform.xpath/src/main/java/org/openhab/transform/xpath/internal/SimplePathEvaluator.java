@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple absolute XPath expressions like <code>/root/node</code> or <code>/root/node/@attribute</code>
+ * (no namespaces, predicates, wildcards or axes) on a StAX stream, so that the document does not need to be parsed
+ * into a DOM. The result is the string value of the first matching node in document order, which is the same as
+ * evaluating the expression with {@link javax.xml.xpath.XPathConstants#STRING}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SimplePathEvaluator {
+
+    private static final Pattern SIMPLE_PATH = Pattern
+            .compile("^(/[A-Za-z_][A-Za-z0-9_.-]*)+(/@[A-Za-z_][A-Za-z0-9_.-]*)?$");
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final String[] elements;
+    private final @Nullable String attribute;
+
+    private SimplePathEvaluator(String[] elements, @Nullable String attribute) {
+        this.elements = elements;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Creates an evaluator for the given expression.
+     *
+     * @param xpathExpression the XPath expression
+     * @return the evaluator or null if the expression is not a simple absolute path
+     */
+    public static @Nullable SimplePathEvaluator create(String xpathExpression) {
+        if (!SIMPLE_PATH.matcher(xpathExpression).matches()) {
+            return null;
+        }
+        String[] steps = xpathExpression.substring(1).split("/");
+        String attribute = null;
+        int elementCount = steps.length;
+        if (steps[steps.length - 1].startsWith("@")) {
+            attribute = steps[steps.length - 1].substring(1);
+            elementCount--;
+        }
+        String[] elements = new String[elementCount];
+        System.arraycopy(steps, 0, elements, 0, elementCount);
+        return new SimplePathEvaluator(elements, attribute);
+    }
+
+    /**
+     * Evaluates the path on the given document.
+     *
+     * @param source the XML document
+     * @return the string value of the first matching node or an empty string if no node matches
+     * @throws XMLStreamException if the document cannot be parsed up to the matching node
+     */
+    public String evaluate(String source) throws XMLStreamException {
+        XMLStreamReader reader;
+        synchronized (INPUT_FACTORY) {
+            reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(source));
+        }
+        try {
+            return evaluate(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private String evaluate(XMLStreamReader reader) throws XMLStreamException {
+        // number of path steps matched by the current element and its ancestors
+        int matched = 0;
+        int depth = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (matched == depth - 1 && matched < elements.length && matches(reader, matched)) {
+                    matched++;
+                    if (matched == elements.length) {
+                        String attributeName = attribute;
+                        if (attributeName == null) {
+                            return readText(reader);
+                        }
+                        String value = reader.getAttributeValue("", attributeName);
+                        if (value != null) {
+                            return value;
+                        }
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (matched == depth) {
+                    matched--;
+                }
+                depth--;
+            }
+        }
+        return "";
+    }
+
+    private boolean matches(XMLStreamReader reader, int step) {
+        String namespace = reader.getNamespaceURI();
+        return (namespace == null || namespace.isEmpty()) && elements[step].equals(reader.getLocalName());
+    }
+
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
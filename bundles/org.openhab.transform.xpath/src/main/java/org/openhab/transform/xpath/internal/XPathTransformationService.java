@@ -13,12 +13,16 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +45,34 @@ import org.xml.sax.InputSource;
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /** the maximum number of expressions kept in each expression cache */
+    private static final int EXPRESSION_CACHE_SIZE = 50;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    /*
+     * DocumentBuilder, XPath and XPathExpression are not thread-safe, so every thread gets its own instances which are
+     * reused for all transformations of that thread.
+     */
+    private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(() -> {
+        DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+        try {
+            return domFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Cannot create XML document builder", e);
+        }
+    });
+
+    private final ThreadLocal<XPath> xpath = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+    private final ThreadLocal<Map<String, XPathExpression>> compiledExpressions = ThreadLocal
+            .withInitial(XPathTransformationService::createExpressionCache);
+
+    /* simple path evaluators are immutable and shared by all threads, null marks expressions needing a DOM */
+    private final Map<String, @Nullable SimplePathEvaluator> simplePathEvaluators = createExpressionCache();
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,35 +81,68 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            String transformationResult;
+            SimplePathEvaluator simplePath = getSimplePathEvaluator(xpathExpression);
+            if (simplePath != null) {
+                // simple absolute paths are evaluated on a StAX stream without building a DOM
+                transformationResult = simplePath.evaluate(source);
+            } else {
+                transformationResult = evaluate(xpathExpression, source);
+            }
+
+            logger.debug("transformation resulted in '{}'", transformationResult);
 
-            stringReader = new StringReader(source);
+            return transformationResult;
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    private String evaluate(String xpathExpression, String source) throws Exception {
+        DocumentBuilder builder = documentBuilder.get();
+        builder.reset();
+
+        try (StringReader stringReader = new StringReader(source)) {
             InputSource inputSource = new InputSource(stringReader);
             inputSource.setEncoding("UTF-8");
 
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            return (String) getExpression(xpathExpression).evaluate(doc, XPathConstants.STRING);
+        }
+    }
 
-            logger.debug("transformation resulted in '{}'", transformationResult);
+    private XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+        Map<String, XPathExpression> expressions = compiledExpressions.get();
+        XPathExpression expr = expressions.get(xpathExpression);
+        if (expr == null) {
+            expr = xpath.get().compile(xpathExpression);
+            expressions.put(xpathExpression, expr);
+        }
+        return expr;
+    }
 
-            return transformationResult;
-        } catch (Exception e) {
-            throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+    private @Nullable SimplePathEvaluator getSimplePathEvaluator(String xpathExpression) {
+        synchronized (simplePathEvaluators) {
+            if (simplePathEvaluators.containsKey(xpathExpression)) {
+                return simplePathEvaluators.get(xpathExpression);
             }
+            SimplePathEvaluator evaluator = SimplePathEvaluator.create(xpathExpression);
+            simplePathEvaluators.put(xpathExpression, evaluator);
+            return evaluator;
         }
     }
 
+    private static <V> Map<String, V> createExpressionCache() {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, V> eldest) {
+                return size() > EXPRESSION_CACHE_SIZE;
+            }
+        };
+    }
+
 }
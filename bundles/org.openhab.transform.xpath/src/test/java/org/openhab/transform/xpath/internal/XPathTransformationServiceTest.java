@@ -41,4 +41,46 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformByXPath_cachedExpression() throws TransformationException {
+
+        // method under test
+        processor.transform("//current_conditions/temp_c/@data", source);
+        String transformedResponse = processor.transform("//current_conditions/temp_c/@data", source);
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+    }
+
+    @Test
+    public void testTransformBySimplePath_attribute() throws TransformationException {
+
+        // method under test
+        String transformedResponse = processor
+                .transform("/xml_api_reply/weather/current_conditions/temp_c/@data", source);
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+    }
+
+    @Test
+    public void testTransformBySimplePath_element() throws TransformationException {
+
+        // method under test
+        String transformedResponse = processor.transform("/root/node", "<root><node>hello <b>world</b></node></root>");
+
+        // Asserts
+        assertEquals("hello world", transformedResponse);
+    }
+
+    @Test
+    public void testTransformBySimplePath_noMatch() throws TransformationException {
+
+        // method under test
+        String transformedResponse = processor.transform("/root/other/@val", "<root><node val='hello'/></root>");
+
+        // Asserts
+        assertEquals("", transformedResponse);
+    }
+
 }
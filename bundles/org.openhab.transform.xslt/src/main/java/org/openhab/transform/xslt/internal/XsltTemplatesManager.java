@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache for compiled XSLT stylesheets. The compiled {@link Templates} are shared, every thread gets its own
+ * {@link Transformer} created from them. Entries are removed by the {@link XsltTransformationWatcher} when the
+ * stylesheet file changes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = XsltTemplatesManager.class)
+public class XsltTemplatesManager {
+
+    public static final String TRANSFORM_FOLDER = ConfigConstants.getConfigFolder() + File.separator
+            + TransformationService.TRANSFORM_FOLDER_NAME;
+
+    private final Logger logger = LoggerFactory.getLogger(XsltTemplatesManager.class);
+
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    private final Map<Path, CompiledStylesheet> templatesMap = new ConcurrentHashMap<>();
+
+    /**
+     * A compiled stylesheet together with the {@link Transformer}s of the threads using it.
+     */
+    private static class CompiledStylesheet {
+        private final Templates templates;
+        private final ThreadLocal<@Nullable Transformer> transformers = new ThreadLocal<>();
+
+        CompiledStylesheet(Templates templates) {
+            this.templates = templates;
+        }
+
+        Transformer getTransformer() throws TransformerConfigurationException {
+            Transformer transformer = transformers.get();
+            if (transformer == null) {
+                transformer = templates.newTransformer();
+                transformers.set(transformer);
+            }
+            return transformer;
+        }
+    }
+
+    /**
+     * Returns a {@link Transformer} for the given stylesheet which may only be used by the calling thread. The
+     * stylesheet is compiled on first use.
+     *
+     * @param filename the name of the stylesheet file relative to the transform folder
+     * @return the transformer for the calling thread
+     * @throws TransformationException if the stylesheet cannot be compiled
+     */
+    protected Transformer getTransformer(String filename) throws TransformationException {
+        Path path = resolve(filename);
+        try {
+            CompiledStylesheet stylesheet = templatesMap.get(path);
+            if (stylesheet == null) {
+                stylesheet = compile(path);
+            }
+            Transformer transformer = stylesheet.getTransformer();
+            transformer.reset();
+            return transformer;
+        } catch (TransformerConfigurationException e) {
+            String message = "compiling file '" + filename + "' throws exception";
+            logger.error("{}", message, e);
+            throw new TransformationException(message, e);
+        }
+    }
+
+    private synchronized CompiledStylesheet compile(Path path) throws TransformerConfigurationException {
+        CompiledStylesheet stylesheet = templatesMap.get(path);
+        if (stylesheet == null) {
+            logger.debug("Compiling XSLT stylesheet {}", path);
+            stylesheet = new CompiledStylesheet(transformerFactory.newTemplates(new StreamSource(path.toFile())));
+            templatesMap.put(path, stylesheet);
+        }
+        return stylesheet;
+    }
+
+    /**
+     * Removes a compiled stylesheet from the cache.
+     *
+     * @param path the path of the changed stylesheet file
+     */
+    protected void removeFromCache(Path path) {
+        Path normalized = path.toAbsolutePath().normalize();
+        if (templatesMap.remove(normalized) != null) {
+            logger.debug("Removed XSLT stylesheet {} from cache.", normalized);
+        }
+    }
+
+    private static Path resolve(String filename) {
+        return Paths.get(TRANSFORM_FOLDER, filename).toAbsolutePath().normalize();
+    }
+}
@@ -29,6 +29,7 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
     @Before
     public void init() {
         processor = new XsltTransformationService();
+        processor.setXsltTemplatesManager(new XsltTemplatesManager());
     }
 
     @Test
@@ -41,4 +42,15 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformByXSLT_cachedTemplates() throws TransformationException {
+
+        // method under test
+        processor.transform("http/google_weather.xsl", source);
+        String transformedResponse = processor.transform("http/google_weather.xsl", source);
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+    }
+
 }